@@ -3,6 +3,7 @@ package cucumber.api;
 import cucumber.runtime.CucumberException;
 import cucumber.runtime.ParameterInfo;
 import cucumber.runtime.table.DiffableRow;
+import cucumber.runtime.table.TableCells;
 import cucumber.runtime.table.TableConverter;
 import cucumber.runtime.table.TableDiffException;
 import cucumber.runtime.table.TableDiffer;
@@ -11,11 +12,15 @@ import gherkin.formatter.PrettyFormatter;
 import gherkin.formatter.model.DataTableRow;
 import gherkin.formatter.model.Row;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Represents the data from a <a href="http://cucumber.info/gherkin.html#data-tables">Gherkin DataTable</a>. Cucumber will convert the table in Gherkin
@@ -23,9 +28,14 @@ import java.util.Map;
  */
 public class DataTable {
 
-    private final List<List<String>> raw;
+    private static final List<Class<?>> IMMUTABLE_TYPES = Arrays.<Class<?>>asList(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+            Float.class, Double.class, BigInteger.class, BigDecimal.class);
+
+    private final TableCells cells;
     private final List<DataTableRow> gherkinRows;
     private final TableConverter tableConverter;
+    private final Map<List<Object>, Object> conversions = new ConcurrentHashMap<List<Object>, Object>();
 
     public static DataTable create(List<?> raw) {
         return create(raw, Locale.getDefault(), null, new String[0]);
@@ -55,49 +65,65 @@ public class DataTable {
         this.gherkinRows = gherkinRows;
         this.tableConverter = tableConverter;
         int columns = gherkinRows.get(0).getCells().size();
-        List<List<String>> raw = new ArrayList<List<String>>();
+        List<List<String>> raw = new ArrayList<List<String>>(gherkinRows.size());
         for (Row row : gherkinRows) {
-            List<String> list = new ArrayList<String>();
-            list.addAll(row.getCells());
             if (columns != row.getCells().size()) {
                 throw new CucumberException(String.format("Table is unbalanced: expected %s column(s) but found %s.", columns, row.getCells().size()));
             }
-            raw.add(Collections.unmodifiableList(list));
+            raw.add(row.getCells());
         }
-        this.raw = Collections.unmodifiableList(raw);
+        this.cells = new TableCells(raw);
     }
 
-    private DataTable(List<DataTableRow> gherkinRows, List<List<String>> raw, TableConverter tableConverter) {
+    private DataTable(List<DataTableRow> gherkinRows, TableCells cells, TableConverter tableConverter) {
         this.gherkinRows = gherkinRows;
         this.tableConverter = tableConverter;
-        this.raw = Collections.unmodifiableList(raw);
+        this.cells = cells;
     }
 
     /**
-     * @return a List of List of String.
+     * @return a List of List of String. The same unmodifiable list is returned every time.
      */
     public List<List<String>> raw() {
-        return this.raw;
+        return cells.rows();
     }
 
     /**
      * Converts the table to a List of Map. The top row is used as keys in the maps,
      * and the rows below are used as values.
      *
-     * @return a List of Map.
+     * @return a List of Map. Converting to the same immutable types (such as String) again returns the same List.
      */
     public <K, V> List<Map<K, V>> asMaps(Class<K> keyType, Class<V> valueType) {
-        return tableConverter.toMaps(this, keyType, valueType);
+        if (!isImmutable(keyType) || !isImmutable(valueType)) {
+            return tableConverter.toMaps(this, keyType, valueType);
+        }
+        List<Object> key = Arrays.<Object>asList("asMaps", keyType, valueType);
+        List<Map<K, V>> maps = (List<Map<K, V>>) conversions.get(key);
+        if (maps == null) {
+            maps = tableConverter.toMaps(this, keyType, valueType);
+            conversions.put(key, maps);
+        }
+        return maps;
     }
 
     /**
      * Converts the table to a single Map. The left column is used as keys, the right column as values.
      *
-     * @return a Map.
+     * @return a Map. Converting to the same immutable types (such as String) again returns the same Map.
      * @throws cucumber.runtime.CucumberException if the table doesn't have 2 columns.
      */
     public <K, V> Map<K, V> asMap(Class<K> keyType, Class<V> valueType) {
-        return tableConverter.toMap(this, keyType, valueType);
+        if (!isImmutable(keyType) || !isImmutable(valueType)) {
+            return tableConverter.toMap(this, keyType, valueType);
+        }
+        List<Object> key = Arrays.<Object>asList("asMap", keyType, valueType);
+        Map<K, V> map = (Map<K, V>) conversions.get(key);
+        if (map == null) {
+            map = tableConverter.toMap(this, keyType, valueType);
+            conversions.put(key, map);
+        }
+        return map;
     }
 
     /**
@@ -110,10 +136,20 @@ public class DataTable {
      *
      * @param itemType the type of the list items
      * @param <T>      the type of the list items
-     * @return a List of objects
+     * @return a List of objects. Converting to the same immutable type (such as String) again returns the same List.
+     *         Other types, which step definitions may modify, are converted to new objects every time.
      */
     public <T> List<T> asList(Class<T> itemType) {
-        return tableConverter.toList(this, itemType);
+        if (!isImmutable(itemType)) {
+            return tableConverter.toList(this, itemType);
+        }
+        List<Object> key = Arrays.<Object>asList("asList", itemType);
+        List<T> list = (List<T>) conversions.get(key);
+        if (list == null) {
+            list = tableConverter.toList(this, itemType);
+            conversions.put(key, list);
+        }
+        return list;
     }
 
     /**
@@ -121,18 +157,34 @@ public class DataTable {
      *
      * @param itemType the type of the list items
      * @param <T>      the type of the list items
-     * @return a List of List of objects
+     * @return a List of List of objects. Converting to the same immutable type (such as String) again returns the same List.
      */
     public <T> List<List<T>> asLists(Class<T> itemType) {
-        return tableConverter.toLists(this, itemType);
+        if (!isImmutable(itemType)) {
+            return tableConverter.toLists(this, itemType);
+        }
+        List<Object> key = Arrays.<Object>asList("asLists", itemType);
+        List<List<T>> lists = (List<List<T>>) conversions.get(key);
+        if (lists == null) {
+            lists = tableConverter.toLists(this, itemType);
+            conversions.put(key, lists);
+        }
+        return lists;
+    }
+
+    /**
+     * @return true if converted values of this type can be shared, because they can't be changed.
+     */
+    private static boolean isImmutable(Class<?> type) {
+        return type.isPrimitive() || type.isEnum() || IMMUTABLE_TYPES.contains(type);
     }
 
     public List<String> topCells() {
-        return raw.get(0);
+        return raw().get(0);
     }
 
     public List<List<String>> cells(int firstRow) {
-        return raw.subList(firstRow, raw.size());
+        return cells.from(firstRow).rows();
     }
 
     /**
@@ -154,9 +206,7 @@ public class DataTable {
      * @throws cucumber.runtime.table.TableDiffException if the tables are different.
      */
     public void diff(List<?> other) throws TableDiffException {
-        List<String> topCells = topCells();
-        DataTable otherTable = toTable(other, topCells.toArray(new String[topCells.size()]));
-        diff(otherTable);
+        diff(toTableWithSameColumns(other));
     }
 
     /**
@@ -169,6 +219,57 @@ public class DataTable {
         new TableDiffer(this, other).calculateDiffs();
     }
 
+    /**
+     * Diffs this table with {@code other} like {@link #diff(List)}, but the order of the rows doesn't matter.
+     *
+     * @param other the other table to diff with.
+     * @throws TableDiffException if the tables don't have the same rows.
+     */
+    public void unorderedDiff(List<?> other) throws TableDiffException {
+        unorderedDiff(toTableWithSameColumns(other));
+    }
+
+    /**
+     * Diffs this table with {@code other} like {@link #diff(DataTable)}, but the order of the rows below the top row
+     * doesn't matter. Rows are matched by hashing, which is much faster for large tables.
+     *
+     * @param other the other table to diff with.
+     * @throws TableDiffException if the tables don't have the same rows.
+     */
+    public void unorderedDiff(DataTable other) throws TableDiffException {
+        new TableDiffer(this, other).calculateUnorderedDiffs();
+    }
+
+    /**
+     * Diffs this table with {@code other} like {@link #diff(List)}, matching rows by their key columns.
+     *
+     * @param other      the other table to diff with.
+     * @param keyColumns the names of the columns that identify a row.
+     * @throws TableDiffException if the tables are different.
+     */
+    public void keyedDiff(List<?> other, String... keyColumns) throws TableDiffException {
+        keyedDiff(toTableWithSameColumns(other), keyColumns);
+    }
+
+    /**
+     * Diffs this table with {@code other} like {@link #diff(DataTable)}, but rows are matched by the cells in their
+     * key columns, whatever their order. Matched rows with other differences are reported as changed.
+     *
+     * @param other      the other table to diff with.
+     * @param keyColumns the names of the columns that identify a row, looked up in the top row of each table.
+     * @throws TableDiffException if the tables are different.
+     * @throws IllegalArgumentException if a key column is missing from either table, or if two rows of either table
+     *                                  have the same key.
+     */
+    public void keyedDiff(DataTable other, String... keyColumns) throws TableDiffException {
+        new TableDiffer(this, other).calculateDiffsByKey(keyColumns);
+    }
+
+    private DataTable toTableWithSameColumns(List<?> other) {
+        List<String> topCells = topCells();
+        return toTable(other, topCells.toArray(new String[topCells.size()]));
+    }
+
     /**
      * Internal method. Do not use.
      *
@@ -200,23 +301,11 @@ public class DataTable {
         return tableConverter;
     }
 
+    /**
+     * @return a table with rows and columns swapped. It shares the cells of this table.
+     */
     public DataTable transpose() {
-        List<List<String>> transposed = new ArrayList<List<String>>();
-        for (int i = 0; i < gherkinRows.size(); i++) {
-            Row gherkinRow = gherkinRows.get(i);
-            for (int j = 0; j < gherkinRow.getCells().size(); j++) {
-                List<String> row = null;
-                if (j < transposed.size()) {
-                    row = transposed.get(j);
-                }
-                if (row == null) {
-                    row = new ArrayList<String>();
-                    transposed.add(row);
-                }
-                row.add(gherkinRow.getCells().get(j));
-            }
-        }
-        return new DataTable(this.gherkinRows, transposed, this.tableConverter);
+        return new DataTable(this.gherkinRows, cells.transpose(), this.tableConverter);
     }
 
     @Override
@@ -226,13 +315,13 @@ public class DataTable {
 
         DataTable dataTable = (DataTable) o;
 
-        if (!raw.equals(dataTable.raw)) return false;
+        if (!raw().equals(dataTable.raw())) return false;
 
         return true;
     }
 
     @Override
     public int hashCode() {
-        return raw.hashCode();
+        return raw().hashCode();
     }
 }
@@ -0,0 +1,34 @@
+package cucumber.api;
+
+import java.io.File;
+import java.io.InputStream;
+
+/**
+ * A {@link Scenario} that can embed files and streams without reading them into memory. Hooks still declare a
+ * parameter of type {@link Scenario}; the one Cucumber passes in implements this interface, so cast it:
+ *
+ * <pre>
+ * {@code
+ * ((FileEmbeddingScenario) scenario).embed(videoFile, "video/mp4");
+ * }
+ * </pre>
+ */
+public interface FileEmbeddingScenario extends Scenario {
+    /**
+     * Embeds a file into the report(s). Reporters that support it (such as html and ndjson) copy or encode the file
+     * without reading all of it into memory, which matters for videos and other large files.
+     *
+     * @param file     what to embed. It must not be changed or deleted before the run has finished.
+     * @param mimeType what is the data?
+     */
+    void embed(File file, String mimeType);
+
+    /**
+     * Embeds the contents of a stream into the report(s). The stream is copied to a temporary file, which is
+     * embedded like {@link #embed(java.io.File, String)}.
+     *
+     * @param data     what to embed. It is read to the end and closed.
+     * @param mimeType what is the data?
+     */
+    void embed(InputStream data, String mimeType);
+}
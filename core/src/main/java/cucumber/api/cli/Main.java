@@ -4,7 +4,6 @@ import cucumber.runtime.ClassFinder;
 import cucumber.runtime.Runtime;
 import cucumber.runtime.RuntimeOptions;
 import cucumber.runtime.io.MultiLoader;
-import cucumber.runtime.io.ResourceLoader;
 import cucumber.runtime.io.ResourceLoaderClassFinder;
 
 import java.io.IOException;
@@ -21,10 +20,14 @@ public class Main {
     public static void run(String[] argv, ClassLoader classLoader) throws IOException {
         RuntimeOptions runtimeOptions = new RuntimeOptions(new ArrayList<String>(asList(argv)));
 
-        ResourceLoader resourceLoader = new MultiLoader(classLoader);
+        MultiLoader resourceLoader = new MultiLoader(classLoader);
         ClassFinder classFinder = new ResourceLoaderClassFinder(resourceLoader, classLoader);
         Runtime runtime = new Runtime(resourceLoader, classFinder, classLoader, runtimeOptions);
-        runtime.run();
+        try {
+            runtime.run();
+        } finally {
+            resourceLoader.close();
+        }
         System.exit(runtime.exitStatus());
     }
 }
@@ -0,0 +1,41 @@
+package cucumber.api.cli;
+
+import cucumber.runtime.CucumberException;
+import cucumber.runtime.RuntimeOptions;
+import cucumber.runtime.formatter.EventLogReader;
+import gherkin.formatter.Formatter;
+import gherkin.formatter.Reporter;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Sends the events of logs written with {@code --format eventlog:PATH} to formatters, as if the run was happening
+ * again. Takes the same --format, --strict and --monochrome options as {@link Main}, followed by one or more logs:
+ * <pre>{@code java cucumber.api.cli.Replay --format html:target/cucumber target/cucumber.log}</pre>
+ * Several logs are reported as one run.
+ */
+public class Replay {
+
+    public static void main(String[] argv) throws Throwable {
+        run(argv, Thread.currentThread().getContextClassLoader());
+    }
+
+    public static void run(String[] argv, ClassLoader classLoader) throws IOException {
+        RuntimeOptions runtimeOptions = new RuntimeOptions(new ArrayList<String>(asList(argv)));
+        if (runtimeOptions.getFeaturePaths().isEmpty()) {
+            throw new CucumberException("Usage: java cucumber.api.cli.Replay [--format FORMAT[:PATH_OR_URL]]* EVENT_LOG+");
+        }
+
+        Formatter formatter = runtimeOptions.formatter(classLoader);
+        Reporter reporter = runtimeOptions.reporter(classLoader);
+        for (String eventLog : runtimeOptions.getFeaturePaths()) {
+            new EventLogReader(new FileInputStream(eventLog)).replay(formatter, reporter);
+        }
+        formatter.done();
+        formatter.close();
+    }
+}
@@ -1,5 +1,6 @@
 package cucumber.runtime;
 
+import cucumber.runtime.io.BytesResource;
 import cucumber.runtime.io.Resource;
 import cucumber.runtime.model.CucumberFeature;
 import gherkin.I18n;
@@ -13,24 +14,34 @@ import gherkin.formatter.model.ScenarioOutline;
 import gherkin.formatter.model.Step;
 import gherkin.lexer.Encoding;
 import gherkin.parser.Parser;
-import gherkin.util.FixJava;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
 import java.math.BigInteger;
 import java.nio.charset.Charset;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class FeatureBuilder implements Formatter {
     private static final Charset UTF8 = Charset.forName("UTF-8");
     private final List<CucumberFeature> cucumberFeatures;
     private final char fileSeparatorChar;
     private final MessageDigest md5;
+    private final FeatureCache featureCache;
     private final Map<String, String> pathsByChecksum = new HashMap<String, String>();
     private CucumberFeature currentCucumberFeature;
     private String featurePath;
@@ -39,9 +50,22 @@ public class FeatureBuilder implements Formatter {
         this(cucumberFeatures, File.separatorChar);
     }
 
+    /**
+     * @param cucumberFeatures where parsed features are added.
+     * @param featureCache     where parsed features are cached between runs, or null.
+     */
+    public FeatureBuilder(List<CucumberFeature> cucumberFeatures, FeatureCache featureCache) {
+        this(cucumberFeatures, File.separatorChar, featureCache);
+    }
+
     FeatureBuilder(List<CucumberFeature> cucumberFeatures, char fileSeparatorChar) {
+        this(cucumberFeatures, fileSeparatorChar, null);
+    }
+
+    FeatureBuilder(List<CucumberFeature> cucumberFeatures, char fileSeparatorChar, FeatureCache featureCache) {
         this.cucumberFeatures = cucumberFeatures;
         this.fileSeparatorChar = fileSeparatorChar;
+        this.featureCache = featureCache;
         try {
             this.md5 = MessageDigest.getInstance("MD5");
         } catch (NoSuchAlgorithmException e) {
@@ -112,27 +136,97 @@ public class FeatureBuilder implements Formatter {
     }
 
     public void parse(Resource resource, List<Object> filters) {
-        String gherkin = read(resource);
+        byte[] source = read(resource);
 
-        String checksum = checksum(gherkin);
+        String checksum = checksum(source);
         String path = pathsByChecksum.get(checksum);
         if (path != null) {
             return;
         }
         pathsByChecksum.put(checksum, resource.getPath());
 
+        parse(resource, decode(resource, source), checksum, filters);
+    }
+
+    /**
+     * Parses the resources on several threads, each with its own builder, and adds the features in the
+     * same order as {@link #parse(Resource, java.util.List)} would have for each resource in turn. A resource
+     * with the same contents as an earlier one is ignored.
+     *
+     * @param resources the resources to parse.
+     * @param filters   the filters to apply.
+     * @param threads   the maximum number of threads to parse on.
+     */
+    public void parse(List<Resource> resources, final List<Object> filters, int threads) {
+        if (threads <= 1 || resources.size() <= 1) {
+            for (Resource resource : resources) {
+                parse(resource, filters);
+            }
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, resources.size()), new ParserThreadFactory());
+        try {
+            List<Future<ParsedResource>> parsedResources = new ArrayList<Future<ParsedResource>>();
+            for (final Resource resource : resources) {
+                parsedResources.add(executor.submit(new Callable<ParsedResource>() {
+                    @Override
+                    public ParsedResource call() {
+                        ParsedResource parsedResource = new ParsedResource(resource.getPath());
+                        FeatureBuilder builder = new FeatureBuilder(parsedResource.cucumberFeatures, fileSeparatorChar, featureCache);
+                        byte[] source = builder.read(resource);
+                        parsedResource.checksum = builder.checksum(source);
+                        builder.parse(resource, builder.decode(resource, source), parsedResource.checksum, filters);
+                        return parsedResource;
+                    }
+                }));
+            }
+            for (Future<ParsedResource> future : parsedResources) {
+                ParsedResource parsedResource = await(future);
+                if (pathsByChecksum.containsKey(parsedResource.checksum)) {
+                    continue;
+                }
+                pathsByChecksum.put(parsedResource.checksum, parsedResource.path);
+                cucumberFeatures.addAll(parsedResource.cucumberFeatures);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ParsedResource await(Future<ParsedResource> parsedResource) {
+        try {
+            return parsedResource.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CucumberException("Interrupted while parsing features", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CucumberException) {
+                throw (CucumberException) e.getCause();
+            }
+            throw new CucumberException(e.getCause());
+        }
+    }
+
+    private void parse(Resource resource, String gherkin, String checksum, List<Object> filters) {
         Formatter formatter = this;
         if (!filters.isEmpty()) {
             formatter = new FilterFormatter(this, filters);
         }
-        Parser parser = new Parser(formatter);
-
-        try {
-            parser.parse(gherkin, convertFileSeparatorToForwardSlash(resource.getPath()), 0);
-        } catch (Exception e) {
-            throw new CucumberException(String.format("Error parsing feature file %s", convertFileSeparatorToForwardSlash(resource.getPath())), e);
+        String uri = convertFileSeparatorToForwardSlash(resource.getPath());
+        I18n i18n;
+        if (featureCache != null) {
+            FeatureCache.ParsedFeature parsedFeature = featureCache.parse(checksum, gherkin, uri);
+            parsedFeature.replay(uri, formatter);
+            i18n = parsedFeature.getI18n();
+        } else {
+            Parser parser = new Parser(formatter);
+            try {
+                parser.parse(gherkin, uri, 0);
+            } catch (Exception e) {
+                throw new CucumberException(String.format("Error parsing feature file %s", uri), e);
+            }
+            i18n = parser.getI18nLanguage();
         }
-        I18n i18n = parser.getI18nLanguage();
         if (currentCucumberFeature != null) {
             // The current feature may be null if we used a very restrictive filter, say a tag that isn't used.
             // Might also happen if the feature file itself is empty.
@@ -140,24 +234,70 @@ public class FeatureBuilder implements Formatter {
         }
     }
 
+    private static class ParsedResource {
+        private final String path;
+        private final List<CucumberFeature> cucumberFeatures = new ArrayList<CucumberFeature>();
+        private String checksum;
+
+        ParsedResource(String path) {
+            this.path = path;
+        }
+    }
+
+    private static class ParserThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "cucumber-parser-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
     private String convertFileSeparatorToForwardSlash(String path) {
         return path.replace(fileSeparatorChar, '/');
     }
 
-    private String checksum(String gherkin) {
-        return new BigInteger(1, md5.digest(gherkin.getBytes(UTF8))).toString(16);
+    private String checksum(byte[] source) {
+        return new BigInteger(1, md5.digest(source)).toString(16);
     }
 
-    private String read(Resource resource) {
+    /**
+     * Reads the whole resource once. Encoding detection and the checksum both work on the result.
+     */
+    private byte[] read(Resource resource) {
         try {
-            String source = FixJava.readReader(new InputStreamReader(resource.getInputStream(), "UTF-8"));
-            String encoding = new Encoding().encoding(source);
-            if (!"UTF-8".equals(encoding)) {
-                source = FixJava.readReader(new InputStreamReader(resource.getInputStream(), encoding));
+            if (resource instanceof BytesResource) {
+                return ((BytesResource) resource).getBytes();
+            }
+            InputStream in = resource.getInputStream();
+            try {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+                return out.toByteArray();
+            } finally {
+                in.close();
             }
-            return source;
         } catch (IOException e) {
             throw new CucumberException("Failed to read resource:" + resource.getPath(), e);
         }
     }
+
+    private String decode(Resource resource, byte[] source) {
+        String gherkin = new String(source, UTF8);
+        String encoding = new Encoding().encoding(gherkin);
+        if (!"UTF-8".equals(encoding)) {
+            try {
+                gherkin = new String(source, encoding);
+            } catch (UnsupportedEncodingException e) {
+                throw new CucumberException("Failed to read resource:" + resource.getPath(), e);
+            }
+        }
+        return gherkin;
+    }
 }
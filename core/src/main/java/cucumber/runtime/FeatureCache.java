@@ -0,0 +1,262 @@
+package cucumber.runtime;
+
+import gherkin.I18n;
+import gherkin.formatter.Formatter;
+import gherkin.formatter.model.Background;
+import gherkin.formatter.model.BasicStatement;
+import gherkin.formatter.model.Examples;
+import gherkin.formatter.model.Feature;
+import gherkin.formatter.model.Scenario;
+import gherkin.formatter.model.ScenarioOutline;
+import gherkin.formatter.model.Step;
+import gherkin.parser.Parser;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps parsed features in a directory, one file per feature source checksum, so that unchanged
+ * feature files don't have to be parsed again by later runs.
+ * <p/>
+ * Files are written to a temporary file first and then renamed, so several runs can share the
+ * same directory. A file that can't be read (corrupt, or written by another version) is ignored
+ * and the feature is parsed again. So is a file holding any class outside the gherkin model,
+ * since the directory may be shared and must not be able to make Cucumber deserialize arbitrary classes.
+ */
+public class FeatureCache {
+    private static final String SUFFIX = ".feature.ser";
+    private static final String MODEL_PACKAGE = "gherkin.formatter.model.";
+    private static final Set<String> ALLOWED_CLASSES = new HashSet<String>(Arrays.asList(
+            ParsedFeature.class.getName(),
+            "java.lang.Enum",
+            "java.lang.Number",
+            "java.lang.Integer",
+            "java.lang.Long",
+            "java.lang.String",
+            "java.util.ArrayList",
+            "java.util.Arrays$ArrayList",
+            "java.util.Collections$EmptyList",
+            "java.util.Collections$SingletonList",
+            "java.util.Collections$UnmodifiableCollection",
+            "java.util.Collections$UnmodifiableList",
+            "java.util.Collections$UnmodifiableRandomAccessList",
+            "[Ljava.lang.Object;",
+            "[Ljava.lang.String;"
+    ));
+    private final File dir;
+
+    public FeatureCache(File dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * @param checksum the checksum of the feature source.
+     * @param gherkin  the feature source.
+     * @param uri      the uri of the feature.
+     * @return the parsed feature, from the cache if possible.
+     */
+    public ParsedFeature parse(String checksum, String gherkin, String uri) {
+        ParsedFeature parsedFeature = read(checksum);
+        if (parsedFeature == null) {
+            parsedFeature = ParsedFeature.parse(gherkin, uri);
+            write(checksum, parsedFeature);
+        }
+        return parsedFeature;
+    }
+
+    ParsedFeature read(String checksum) {
+        File file = new File(dir, checksum + SUFFIX);
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            ObjectInputStream in = new ModelInputStream(new BufferedInputStream(new FileInputStream(file)));
+            try {
+                return (ParsedFeature) in.readObject();
+            } finally {
+                in.close();
+            }
+        } catch (IOException e) {
+            return null;
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ClassCastException e) {
+            return null;
+        }
+    }
+
+    private void write(String checksum, ParsedFeature parsedFeature) {
+        File temp = null;
+        try {
+            if (!dir.isDirectory() && !dir.mkdirs() && !dir.isDirectory()) {
+                return;
+            }
+            temp = File.createTempFile(checksum, ".tmp", dir);
+            ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(temp)));
+            try {
+                out.writeObject(parsedFeature);
+            } finally {
+                out.close();
+            }
+            if (temp.renameTo(new File(dir, checksum + SUFFIX))) {
+                temp = null;
+            }
+        } catch (IOException e) {
+            // The cache is only an optimisation. The feature has been parsed anyway.
+        } finally {
+            if (temp != null) {
+                temp.delete();
+            }
+        }
+    }
+
+    /**
+     * Only resolves the classes a {@link ParsedFeature} is made of.
+     */
+    private static class ModelInputStream extends ObjectInputStream {
+        ModelInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            String name = desc.getName();
+            if (!name.startsWith(MODEL_PACKAGE) && !ALLOWED_CLASSES.contains(name)) {
+                throw new InvalidClassException(name, "Not part of a parsed feature");
+            }
+            return super.resolveClass(desc);
+        }
+
+        @Override
+        protected Class<?> resolveProxyClass(String[] interfaces) throws IOException {
+            throw new InvalidClassException("Proxies aren't part of a parsed feature");
+        }
+    }
+
+    /**
+     * The statements of a feature file in the order the parser sent them, and its language.
+     */
+    public static class ParsedFeature implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final List<BasicStatement> statements = new ArrayList<BasicStatement>();
+        private String isoCode;
+
+        static ParsedFeature parse(String gherkin, String uri) {
+            ParsedFeature parsedFeature = new ParsedFeature();
+            Parser parser = new Parser(parsedFeature.new Recorder());
+            try {
+                parser.parse(gherkin, uri, 0);
+            } catch (Exception e) {
+                throw new CucumberException(String.format("Error parsing feature file %s", uri), e);
+            }
+            parsedFeature.isoCode = parser.getI18nLanguage().getIsoCode();
+            return parsedFeature;
+        }
+
+        /**
+         * Sends the statements to a formatter, as if the feature was being parsed.
+         *
+         * @param uri       the uri of the feature.
+         * @param formatter the formatter to send statements to.
+         */
+        public void replay(String uri, Formatter formatter) {
+            formatter.uri(uri);
+            for (BasicStatement statement : statements) {
+                if (statement instanceof Feature) {
+                    formatter.feature((Feature) statement);
+                } else if (statement instanceof Background) {
+                    formatter.background((Background) statement);
+                } else if (statement instanceof ScenarioOutline) {
+                    formatter.scenarioOutline((ScenarioOutline) statement);
+                } else if (statement instanceof Examples) {
+                    formatter.examples((Examples) statement);
+                } else if (statement instanceof Scenario) {
+                    formatter.scenario((Scenario) statement);
+                } else if (statement instanceof Step) {
+                    formatter.step((Step) statement);
+                }
+            }
+            formatter.eof();
+        }
+
+        public I18n getI18n() {
+            return new I18n(isoCode);
+        }
+
+        private class Recorder implements Formatter {
+            @Override
+            public void syntaxError(String state, String event, List<String> legalEvents, String uri, Integer line) {
+            }
+
+            @Override
+            public void uri(String uri) {
+            }
+
+            @Override
+            public void feature(Feature feature) {
+                statements.add(feature);
+            }
+
+            @Override
+            public void scenarioOutline(ScenarioOutline scenarioOutline) {
+                statements.add(scenarioOutline);
+            }
+
+            @Override
+            public void examples(Examples examples) {
+                statements.add(examples);
+            }
+
+            @Override
+            public void startOfScenarioLifeCycle(Scenario scenario) {
+            }
+
+            @Override
+            public void background(Background background) {
+                statements.add(background);
+            }
+
+            @Override
+            public void scenario(Scenario scenario) {
+                statements.add(scenario);
+            }
+
+            @Override
+            public void step(Step step) {
+                statements.add(step);
+            }
+
+            @Override
+            public void endOfScenarioLifeCycle(Scenario scenario) {
+            }
+
+            @Override
+            public void done() {
+            }
+
+            @Override
+            public void close() {
+            }
+
+            @Override
+            public void eof() {
+            }
+        }
+    }
+}
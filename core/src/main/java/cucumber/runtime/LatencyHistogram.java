@@ -0,0 +1,141 @@
+package cucumber.runtime;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts durations in buckets whose width grows with the duration, so percentiles can be estimated in a
+ * fixed amount of memory however many durations are added. Durations below {@value #LINEAR_BUCKETS} nanoseconds
+ * are counted exactly. Larger ones fall in one of {@value #SUB_BUCKETS} buckets per power of two, so an estimate
+ * is never more than about 3% too high.
+ * <p/>
+ * Not thread safe.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_BUCKETS = 2 * SUB_BUCKETS;
+    private static final int BUCKETS = bucket(Long.MAX_VALUE) + 1;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count = 0;
+    private long total = 0;
+    private long min = Long.MAX_VALUE;
+    private long max = 0;
+
+    /**
+     * @param nanos a duration. Negative durations are counted as 0.
+     */
+    public void add(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[bucket(value)]++;
+        count++;
+        total += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        total += other.total;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public long getMean() {
+        return count == 0 ? 0 : total / count;
+    }
+
+    /**
+     * @param percentile between 0 and 100.
+     * @return a duration that at least the given percentage of durations are shorter than or equal to,
+     *         or 0 if nothing was added.
+     */
+    public long getPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        return valueAtRank(rank);
+    }
+
+    /**
+     * @return the middle duration, or the mean of the two middle ones if an even number of durations
+     *         was added, or 0 if nothing was added.
+     */
+    public long getMedian() {
+        if (count == 0) {
+            return 0;
+        }
+        if (count % 2 == 1) {
+            return valueAtRank(count / 2 + 1);
+        }
+        long lower = valueAtRank(count / 2);
+        return lower + (valueAtRank(count / 2 + 1) - lower) / 2;
+    }
+
+    /**
+     * @param rank between 1 and the count.
+     * @return the estimate of the rank-th shortest duration.
+     */
+    private long valueAtRank(long rank) {
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.max(getMin(), Math.min(max, highestValueIn(i)));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * @return count, mean, p50, p90, p99 and max, in nanoseconds.
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<String, Object>();
+        map.put("count", count);
+        map.put("mean", getMean());
+        map.put("p50", getPercentile(50));
+        map.put("p90", getPercentile(90));
+        map.put("p99", getPercentile(99));
+        map.put("max", max);
+        return map;
+    }
+
+    private static int bucket(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS - 1;
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    private static long highestValueIn(int bucket) {
+        if (bucket < LINEAR_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long subBucket = bucket % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,27 @@
+package cucumber.runtime;
+
+import java.lang.reflect.Method;
+
+/**
+ * Invokes a method that is known up front, such as a step definition or hook method.
+ * Access checks are suppressed once, when the invoker is created, and calls without a
+ * timeout go straight to the method without allocating a {@link Timeout.Callback}.
+ */
+public class MethodInvoker {
+    private final Method method;
+    private final long timeoutMillis;
+
+    public MethodInvoker(Method method, long timeoutMillis) {
+        this.method = method;
+        this.timeoutMillis = timeoutMillis;
+        try {
+            method.setAccessible(true);
+        } catch (SecurityException ignore) {
+            // We'll just have to pay for the access checks on every call.
+        }
+    }
+
+    public Object invoke(Object target, Object... args) throws Throwable {
+        return Utils.invoke(target, method, timeoutMillis, args);
+    }
+}
@@ -118,41 +118,84 @@ public class ParameterInfo {
         return type.toString();
     }
 
+    /**
+     * Converts a value of this parameter. The converter is looked up the first time the given xStream is used, and
+     * kept by the xStream for the next values. Since every thread has its own xStreams, so do converters.
+     */
     public Object convert(String value, LocalizedXStreams.LocalizedXStream xStream) {
+        SingleValueConverter converter = xStream.getParameterConverter(this);
+        if (converter == null) {
+            converter = compileConverter(value, xStream);
+            xStream.putParameterConverter(this, converter);
+        }
+        return converter.fromString(value);
+    }
+
+    private SingleValueConverter compileConverter(String value, LocalizedXStreams.LocalizedXStream xStream) {
+        if (transformer != null) {
+            return compileTransformer(xStream);
+        }
+        xStream.processAnnotations(getRawType());
+        xStream.autodetectAnnotations(true); // Needed to unlock annotation processing
+
+        SingleValueConverter converter;
+        if (List.class.isAssignableFrom(getRawType())) {
+            converter = getListConverter(type, xStream);
+        } else {
+            converter = xStream.getParameterConverter(getRawType(), this);
+        }
+        if (converter == null) {
+            throw new CucumberException(String.format(
+                    "Don't know how to convert \"%s\" into %s.\n" +
+                            "Try writing your own converter:\n" +
+                            "\n" +
+                            "@%s(%sConverter.class)\n" +
+                            "public class %s {}\n",
+                    value,
+                    getRawType().getName(),
+                    XStreamConverter.class.getName(),
+                    getRawType().getSimpleName(),
+                    getRawType().getSimpleName()
+            ));
+        }
+        return converter;
+    }
+
+    private SingleValueConverter compileTransformer(LocalizedXStreams.LocalizedXStream xStream) {
         try {
-            xStream.setParameterInfo(this);
-            SingleValueConverter converter;
-            xStream.processAnnotations(getRawType());
-            xStream.autodetectAnnotations(true); // Needed to unlock annotation processing
-
-            if (transformer != null) {
-                transformer.setParameterInfoAndLocale(this, xStream.getLocale());
-                converter = transformer;
-            } else {
-                if (List.class.isAssignableFrom(getRawType())) {
-                    converter = getListConverter(type, xStream);
-                } else {
-                    converter = getConverter(getRawType(), xStream);
-                }
-                if (converter == null) {
-                    throw new CucumberException(String.format(
-                            "Don't know how to convert \"%s\" into %s.\n" +
-                                    "Try writing your own converter:\n" +
-                                    "\n" +
-                                    "@%s(%sConverter.class)\n" +
-                                    "public class %s {}\n",
-                            value,
-                            getRawType().getName(),
-                            XStreamConverter.class.getName(),
-                            getRawType().getSimpleName(),
-                            getRawType().getSimpleName()
-                    ));
+            Transformer<?> copy = transformer.getClass().newInstance();
+            copy.setParameterInfoAndLocale(this, xStream.getLocale());
+            return copy;
+        } catch (InstantiationException e) {
+            return sharedTransformer(xStream);
+        } catch (IllegalAccessException e) {
+            return sharedTransformer(xStream);
+        }
+    }
+
+    /**
+     * Transformers that can't be copied are shared by all xStreams, so their locale is set for every value.
+     */
+    private SingleValueConverter sharedTransformer(final LocalizedXStreams.LocalizedXStream xStream) {
+        return new SingleValueConverter() {
+            @Override
+            public String toString(Object obj) {
+                return transformer.toString(obj);
+            }
+
+            @Override
+            public Object fromString(String str) {
+                synchronized (transformer) {
+                    transformer.setParameterInfoAndLocale(ParameterInfo.this, xStream.getLocale());
+                    return transformer.fromString(str);
                 }
             }
-            return converter.fromString(value);
-        } finally {
-            xStream.unsetParameterInfo();
-        }
+
+            @Override
+            public boolean canConvert(Class type) {
+                return transformer.canConvert(type);
+            }
+        };
     }
 
     private SingleValueConverter getListConverter(Type type, LocalizedXStreams.LocalizedXStream xStream) {
@@ -160,7 +203,7 @@ public class ParameterInfo {
                 ? getRawType(((ParameterizedType) type).getActualTypeArguments()[0])
                 : Object.class;
 
-        SingleValueConverter elementConverter = getConverter(elementType, xStream);
+        SingleValueConverter elementConverter = xStream.getParameterConverter(elementType, this);
         if (elementConverter == null) {
             return null;
         } else {
@@ -168,14 +211,6 @@ public class ParameterInfo {
         }
     }
 
-    private SingleValueConverter getConverter(Class<?> type, LocalizedXStreams.LocalizedXStream xStream) {
-        if (type.isEnum()) {
-            return xStream.createEnumConverter((Class<? extends Enum>) type);
-        } else {
-            return xStream.getSingleValueConverter(type);
-        }
-    }
-
     public String getFormat() {
         return format;
     }
@@ -1,8 +1,17 @@
 package cucumber.runtime;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
 import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Enumeration;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 public class Reflections {
     private final ClassFinder classFinder;
@@ -32,6 +41,62 @@ public class Reflections {
         return result;
     }
 
+    /**
+     * Instantiates the classes listed in {@code META-INF/services/<parentType>} resources. This is much faster
+     * than scanning for subclasses. Unlike {@link java.util.ServiceLoader}, the classes may take constructor arguments.
+     *
+     * @param parentType        the type listed classes must implement.
+     * @param classLoader       where to look for the resources and classes.
+     * @param constructorParams the parameter types of the constructor to use.
+     * @param constructorArgs   the constructor arguments.
+     * @return an instance of every listed class, or an empty collection if none are listed.
+     */
+    public <T> Collection<? extends T> instantiateServices(Class<T> parentType, ClassLoader classLoader, Class[] constructorParams, Object[] constructorArgs) {
+        List<T> result = new ArrayList<T>();
+        for (String className : serviceClassNames(parentType, classLoader)) {
+            Class<?> clazz;
+            try {
+                clazz = Class.forName(className, true, classLoader);
+            } catch (ClassNotFoundException e) {
+                throw new CucumberException(String.format("%s is registered as a %s, but it isn't on the classpath", className, parentType.getName()), e);
+            }
+            if (!parentType.isAssignableFrom(clazz)) {
+                throw new CucumberException(String.format("%s is registered as a %s, but isn't one", className, parentType.getName()));
+            }
+            result.add(newInstance(constructorParams, constructorArgs, clazz.asSubclass(parentType)));
+        }
+        return result;
+    }
+
+    private Set<String> serviceClassNames(Class<?> parentType, ClassLoader classLoader) {
+        String resourceName = "META-INF/services/" + parentType.getName();
+        Set<String> classNames = new LinkedHashSet<String>();
+        try {
+            Enumeration<URL> resources = classLoader.getResources(resourceName);
+            while (resources.hasMoreElements()) {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(resources.nextElement().openStream(), "UTF-8"));
+                try {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        int comment = line.indexOf('#');
+                        if (comment != -1) {
+                            line = line.substring(0, comment);
+                        }
+                        line = line.trim();
+                        if (line.length() > 0) {
+                            classNames.add(line);
+                        }
+                    }
+                } finally {
+                    reader.close();
+                }
+            }
+        } catch (IOException e) {
+            throw new CucumberException("Failed to read " + resourceName, e);
+        }
+        return classNames;
+    }
+
     public <T> T newInstance(Class[] constructorParams, Object[] constructorArgs, Class<? extends T> clazz) {
         try {
             return clazz.getConstructor(constructorParams).newInstance(constructorArgs);
@@ -54,6 +119,4 @@ public class Reflections {
             return false;
         }
     }
-
-
 }
@@ -1,10 +1,15 @@
 package cucumber.runtime;
 
 import cucumber.api.Pending;
+import cucumber.runtime.formatter.RecordingFormatter;
 import cucumber.runtime.io.ResourceLoader;
+import cucumber.runtime.io.URLOutputStream;
+import cucumber.runtime.io.UTF8OutputStreamWriter;
 import cucumber.runtime.model.CucumberFeature;
+import cucumber.runtime.model.CucumberTagStatement;
 import cucumber.runtime.xstream.LocalizedXStreams;
 import gherkin.I18n;
+import gherkin.deps.com.google.gson.GsonBuilder;
 import gherkin.formatter.Argument;
 import gherkin.formatter.Formatter;
 import gherkin.formatter.Reporter;
@@ -18,12 +23,25 @@ import gherkin.formatter.model.Tag;
 
 import java.io.IOException;
 import java.io.PrintStream;
+import java.io.Writer;
+import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This is the main entry point for running Cucumber features.
@@ -47,19 +65,22 @@ public class Runtime implements UnreportedStepExecutor {
     private final Glue glue;
     private final RuntimeOptions runtimeOptions;
 
-    private final List<Throwable> errors = new ArrayList<Throwable>();
+    private final List<Throwable> errors;
     private final Collection<? extends Backend> backends;
     private final ResourceLoader resourceLoader;
     private final ClassLoader classLoader;
     private final StopWatch stopWatch;
 
-    //TODO: These are really state machine variables, and I'm not sure the runtime is the best place for this state machine
-    //They really should be created each time a scenario is run, not in here
-    private boolean skipNextStep = false;
-    private ScenarioImpl scenarioResult = null;
+    // Only set when backends are discovered, so that worker threads can get their own backends.
+    private ClassFinder classFinder;
+    private final List<Runtime> workers = new CopyOnWriteArrayList<Runtime>();
+    private final ThreadLocal<Runtime> worker = new ThreadLocal<Runtime>();
+
+    private ScenarioExecution scenarioExecution = null;
 
     public Runtime(ResourceLoader resourceLoader, ClassFinder classFinder, ClassLoader classLoader, RuntimeOptions runtimeOptions) {
-        this(resourceLoader, classLoader, loadBackends(resourceLoader, classFinder), runtimeOptions);
+        this(resourceLoader, classLoader, loadBackends(resourceLoader, classLoader, classFinder), runtimeOptions);
+        this.classFinder = classFinder;
     }
 
     public Runtime(ResourceLoader resourceLoader, ClassLoader classLoader, Collection<? extends Backend> backends, RuntimeOptions runtimeOptions) {
@@ -83,16 +104,49 @@ public class Runtime implements UnreportedStepExecutor {
         this.stopWatch = stopWatch;
         this.glue = optionalGlue != null ? optionalGlue : new RuntimeGlue(undefinedStepsTracker, new LocalizedXStreams(classLoader));
         this.stats = new Stats(runtimeOptions.isMonochrome());
+        this.errors = Collections.synchronizedList(new ArrayList<Throwable>());
+
+        loadGlue();
+    }
+
+    /**
+     * Creates a worker that runs scenarios on its own thread. It has its own backends (and therefore worlds)
+     * and glue, but shares stats and errors with the parent.
+     */
+    private Runtime(Runtime parent, Collection<? extends Backend> backends) {
+        this.resourceLoader = parent.resourceLoader;
+        this.classLoader = parent.classLoader;
+        this.backends = backends;
+        this.runtimeOptions = parent.runtimeOptions;
+        this.stopWatch = parent.stopWatch;
+        this.glue = new RuntimeGlue(undefinedStepsTracker, new LocalizedXStreams(classLoader));
+        this.stats = parent.stats;
+        this.errors = parent.errors;
 
+        loadGlue();
+    }
+
+    private void loadGlue() {
         for (Backend backend : backends) {
             backend.loadGlue(glue, runtimeOptions.getGlue());
             backend.setUnreportedStepExecutor(this);
         }
     }
 
-    private static Collection<? extends Backend> loadBackends(ResourceLoader resourceLoader, ClassFinder classFinder) {
+    /**
+     * Instantiates the backends registered in {@code META-INF/services/cucumber.runtime.Backend}. The
+     * {@code cucumber.runtime} package is only scanned when no backend is registered at all, so a custom
+     * backend must be registered to be used alongside the shipped ones.
+     */
+    private static Collection<? extends Backend> loadBackends(ResourceLoader resourceLoader, ClassLoader classLoader, ClassFinder classFinder) {
         Reflections reflections = new Reflections(classFinder);
-        return reflections.instantiateSubclasses(Backend.class, "cucumber.runtime", new Class[]{ResourceLoader.class}, new Object[]{resourceLoader});
+        Class[] constructorParams = {ResourceLoader.class};
+        Object[] constructorArgs = {resourceLoader};
+        Collection<? extends Backend> backends = reflections.instantiateServices(Backend.class, classLoader, constructorParams, constructorArgs);
+        if (backends.isEmpty()) {
+            backends = reflections.instantiateSubclasses(Backend.class, "cucumber.runtime", constructorParams, constructorArgs);
+        }
+        return backends;
     }
 
     public void addError(Throwable error) {
@@ -103,26 +157,106 @@ public class Runtime implements UnreportedStepExecutor {
      * This is the main entry point. Used from CLI, but not from JUnit.
      */
     public void run() throws IOException {
-        for (CucumberFeature cucumberFeature : runtimeOptions.cucumberFeatures(resourceLoader)) {
-            run(cucumberFeature);
-        }
+        List<CucumberFeature> cucumberFeatures = runtimeOptions.cucumberFeatures(resourceLoader);
         Formatter formatter = runtimeOptions.formatter(classLoader);
+        Reporter reporter = runtimeOptions.reporter(classLoader);
+        if (runtimeOptions.getThreads() > 1) {
+            runInParallel(cucumberFeatures, formatter, reporter);
+        } else {
+            for (CucumberFeature cucumberFeature : cucumberFeatures) {
+                cucumberFeature.run(formatter, reporter, this);
+            }
+        }
 
         formatter.done();
         formatter.close();
         printSummary();
     }
 
-    private void run(CucumberFeature cucumberFeature) {
-        Formatter formatter = runtimeOptions.formatter(classLoader);
-        Reporter reporter = runtimeOptions.reporter(classLoader);
-        cucumberFeature.run(formatter, reporter, this);
+    /**
+     * Runs each scenario (or scenario outline) on a pool of worker threads. The formatter and reporter
+     * events of each scenario are recorded and replayed in feature file order once it has finished.
+     */
+    private void runInParallel(List<CucumberFeature> cucumberFeatures, Formatter formatter, Reporter reporter) {
+        if (classFinder == null) {
+            throw new CucumberException("Running with --threads requires the backends to be discovered from the CLASSPATH.");
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(runtimeOptions.getThreads(), new WorkerThreadFactory());
+        try {
+            List<List<Future<RecordingFormatter>>> featureScenarios = new ArrayList<List<Future<RecordingFormatter>>>();
+            for (CucumberFeature cucumberFeature : cucumberFeatures) {
+                List<Future<RecordingFormatter>> scenarios = new ArrayList<Future<RecordingFormatter>>();
+                for (CucumberTagStatement cucumberTagStatement : cucumberFeature.getFeatureElements()) {
+                    scenarios.add(executor.submit(new ScenarioTask(cucumberTagStatement)));
+                }
+                featureScenarios.add(scenarios);
+            }
+            for (int i = 0; i < cucumberFeatures.size(); i++) {
+                CucumberFeature cucumberFeature = cucumberFeatures.get(i);
+                formatter.uri(cucumberFeature.getPath());
+                formatter.feature(cucumberFeature.getGherkinFeature());
+                for (Future<RecordingFormatter> scenario : featureScenarios.get(i)) {
+                    await(scenario).replay(formatter, reporter);
+                }
+                formatter.eof();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static RecordingFormatter await(Future<RecordingFormatter> scenario) {
+        try {
+            return scenario.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CucumberException("Interrupted while waiting for a scenario to finish", e);
+        } catch (ExecutionException e) {
+            throw new CucumberException(e.getCause());
+        }
+    }
+
+    private Runtime worker() {
+        Runtime runtime = worker.get();
+        if (runtime == null) {
+            runtime = new Runtime(this, loadBackends(resourceLoader, classLoader, classFinder));
+            worker.set(runtime);
+            workers.add(runtime);
+        }
+        return runtime;
+    }
+
+    private class ScenarioTask implements Callable<RecordingFormatter> {
+        private final CucumberTagStatement cucumberTagStatement;
+
+        ScenarioTask(CucumberTagStatement cucumberTagStatement) {
+            this.cucumberTagStatement = cucumberTagStatement;
+        }
+
+        @Override
+        public RecordingFormatter call() {
+            RecordingFormatter recorder = new RecordingFormatter();
+            cucumberTagStatement.run(recorder, recorder, worker());
+            return recorder;
+        }
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "cucumber-runner-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
     }
 
     public void printSummary() {
         // TODO: inject a SummaryPrinter in the ctor
         new SummaryPrinter(System.out).print(this);
         writeStepdefsJson();
+        writeStatsJson();
     }
 
     void printStats(PrintStream out) {
@@ -133,18 +267,56 @@ public class Runtime implements UnreportedStepExecutor {
         glue.writeStepdefsJson(resourceLoader, runtimeOptions.getFeaturePaths(), runtimeOptions.getDotCucumber());
     }
 
+    private void writeStatsJson() {
+        URL dotCucumber = runtimeOptions.getDotCucumber();
+        if (dotCucumber != null) {
+            String json = new GsonBuilder().setPrettyPrinting().create().toJson(statsToMap());
+            try {
+                Writer statsJson = new UTF8OutputStreamWriter(new URLOutputStream(new URL(dotCucumber, "stats.json")));
+                statsJson.append(json);
+                statsJson.close();
+            } catch (IOException e) {
+                throw new CucumberException("Failed to write stats.json", e);
+            }
+        }
+    }
+
+    Map<String, Object> statsToMap() {
+        Map<String, Object> map = stats.toMap();
+        map.put("step_match_cache", stepMatchCacheToMap());
+        return map;
+    }
+
+    private Map<String, Object> stepMatchCacheToMap() {
+        long hits = 0;
+        long misses = 0;
+        List<Glue> glues = new ArrayList<Glue>();
+        glues.add(glue);
+        for (Runtime worker : workers) {
+            glues.add(worker.glue);
+        }
+        for (Glue each : glues) {
+            if (each instanceof RuntimeGlue) {
+                hits += ((RuntimeGlue) each).getStepMatchCacheHits();
+                misses += ((RuntimeGlue) each).getStepMatchCacheMisses();
+            }
+        }
+        Map<String, Object> map = new LinkedHashMap<String, Object>();
+        map.put("hits", hits);
+        map.put("misses", misses);
+        return map;
+    }
+
     public void buildBackendWorlds(Reporter reporter, Set<Tag> tags, String scenarioName) {
         for (Backend backend : backends) {
             backend.buildWorld();
         }
         undefinedStepsTracker.reset();
-        //TODO: this is the initial state of the state machine, it should not go here, but into something else
-        skipNextStep = false;
-        scenarioResult = new ScenarioImpl(reporter, tags, scenarioName);
+        scenarioExecution = new ScenarioExecution(new ScenarioImpl(reporter, tags, scenarioName));
     }
 
     public void disposeBackendWorlds() {
-        stats.addScenario(scenarioResult.getStatus());
+        stats.addScenario(scenarioExecution.scenarioResult.getStatus(), scenarioExecution.duration);
         for (Backend backend : backends) {
             backend.disposeWorld();
         }
@@ -171,7 +343,15 @@ public class Runtime implements UnreportedStepExecutor {
     }
 
     private boolean hasUndefinedSteps() {
-        return undefinedStepsTracker.hasUndefinedSteps();
+        if (undefinedStepsTracker.hasUndefinedSteps()) {
+            return true;
+        }
+        for (Runtime worker : workers) {
+            if (worker.hasUndefinedSteps()) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private boolean hasPendingSteps() {
@@ -179,16 +359,22 @@ public class Runtime implements UnreportedStepExecutor {
     }
 
     private boolean hasErrors() {
-        for (Throwable error : errors) {
-            if (!isPending(error)) {
-                return true;
+        synchronized (errors) {
+            for (Throwable error : errors) {
+                if (!isPending(error)) {
+                    return true;
+                }
             }
         }
         return false;
     }
 
     public List<String> getSnippets() {
-        return undefinedStepsTracker.getSnippets(backends, runtimeOptions.getSnippetType().getFunctionNameGenerator());
+        Set<String> snippets = new LinkedHashSet<String>(undefinedStepsTracker.getSnippets(backends, runtimeOptions.getSnippetType().getFunctionNameGenerator()));
+        for (Runtime worker : workers) {
+            snippets.addAll(worker.getSnippets());
+        }
+        return new ArrayList<String>(snippets);
     }
 
     public Glue getGlue() {
@@ -218,12 +404,12 @@ public class Runtime implements UnreportedStepExecutor {
             Match match = new Match(Collections.<Argument>emptyList(), hook.getLocation(false));
             stopWatch.start();
             try {
-                hook.execute(scenarioResult);
+                hook.execute(scenarioExecution.scenarioResult);
             } catch (Throwable t) {
                 error = t;
                 status = isPending(t) ? "pending" : Result.FAILED;
                 addError(t);
-                skipNextStep = true;
+                scenarioExecution.skipNextStep = true;
             } finally {
                 long duration = stopWatch.stop();
                 Result result = new Result(status, duration, error, DUMMY_ARG);
@@ -268,7 +454,7 @@ public class Runtime implements UnreportedStepExecutor {
             reporter.result(result);
             addStepToCounterAndResult(result);
             addError(e);
-            skipNextStep = true;
+            scenarioExecution.skipNextStep = true;
             return;
         }
 
@@ -278,15 +464,15 @@ public class Runtime implements UnreportedStepExecutor {
             reporter.match(Match.UNDEFINED);
             reporter.result(Result.UNDEFINED);
             addStepToCounterAndResult(Result.UNDEFINED);
-            skipNextStep = true;
+            scenarioExecution.skipNextStep = true;
             return;
         }
 
         if (runtimeOptions.isDryRun()) {
-            skipNextStep = true;
+            scenarioExecution.skipNextStep = true;
         }
 
-        if (skipNextStep) {
+        if (scenarioExecution.skipNextStep) {
             addStepToCounterAndResult(Result.SKIPPED);
             reporter.result(Result.SKIPPED);
         } else {
@@ -299,7 +485,7 @@ public class Runtime implements UnreportedStepExecutor {
                 error = t;
                 status = isPending(t) ? "pending" : Result.FAILED;
                 addError(t);
-                skipNextStep = true;
+                scenarioExecution.skipNextStep = true;
             } finally {
                 long duration = stopWatch.stop();
                 Result result = new Result(status, duration, error, DUMMY_ARG);
@@ -317,12 +503,30 @@ public class Runtime implements UnreportedStepExecutor {
     }
 
     private void addStepToCounterAndResult(Result result) {
-        scenarioResult.add(result);
+        scenarioExecution.add(result);
         stats.addStep(result);
     }
 
     private void addHookToCounterAndResult(Result result) {
-        scenarioResult.add(result);
+        scenarioExecution.add(result);
         stats.addHookTime(result.getDuration());
     }
+
+    /**
+     * The state of the scenario that is currently running. A new one is created for every scenario.
+     */
+    private static class ScenarioExecution {
+        final ScenarioImpl scenarioResult;
+        boolean skipNextStep = false;
+        long duration = 0;
+
+        ScenarioExecution(ScenarioImpl scenarioResult) {
+            this.scenarioResult = scenarioResult;
+        }
+
+        void add(Result result) {
+            scenarioResult.add(result);
+            duration += result.getDuration() != null ? result.getDuration() : 0;
+        }
+    }
 }
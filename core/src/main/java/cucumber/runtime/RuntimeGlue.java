@@ -1,5 +1,6 @@
 package cucumber.runtime;
 
+import cucumber.runtime.StepMatchCache.MatchedStepDefinition;
 import cucumber.runtime.autocomplete.MetaStepdef;
 import cucumber.runtime.autocomplete.StepdefGenerator;
 import cucumber.runtime.io.ResourceLoader;
@@ -27,8 +28,11 @@ import static java.util.Collections.emptyList;
 
 public class RuntimeGlue implements Glue {
     private static final List<Object> NO_FILTERS = emptyList();
+    private static final int STEP_MATCH_CACHE_SIZE = 4096;
 
     private final Map<String, StepDefinition> stepDefinitionsByPattern = new TreeMap<String, StepDefinition>();
+    private final StepDefinitionIndex stepDefinitionIndex = new StepDefinitionIndex();
+    private final StepMatchCache stepMatchCache = new StepMatchCache(STEP_MATCH_CACHE_SIZE);
     private final List<HookDefinition> beforeHooks = new ArrayList<HookDefinition>();
     private final List<HookDefinition> afterHooks = new ArrayList<HookDefinition>();
 
@@ -47,6 +51,8 @@ public class RuntimeGlue implements Glue {
             throw new DuplicateStepDefinitionException(previous, stepDefinition);
         }
         stepDefinitionsByPattern.put(stepDefinition.getPattern(), stepDefinition);
+        stepDefinitionIndex.add(stepDefinition);
+        stepMatchCache.clear();
     }
 
     @Override
@@ -90,16 +96,43 @@ public class RuntimeGlue implements Glue {
     }
 
     private List<StepDefinitionMatch> stepDefinitionMatches(String featurePath, Step step) {
-        List<StepDefinitionMatch> result = new ArrayList<StepDefinitionMatch>();
-        for (StepDefinition stepDefinition : stepDefinitionsByPattern.values()) {
+        List<MatchedStepDefinition> matchedStepDefinitions = stepMatchCache.get(step.getName());
+        if (matchedStepDefinitions == null) {
+            matchedStepDefinitions = matchStepDefinitions(step);
+            stepMatchCache.put(step.getName(), matchedStepDefinitions);
+        }
+        List<StepDefinitionMatch> result = new ArrayList<StepDefinitionMatch>(matchedStepDefinitions.size());
+        for (MatchedStepDefinition matched : matchedStepDefinitions) {
+            result.add(new StepDefinitionMatch(matched.arguments, matched.stepDefinition, featurePath, step, localizedXStreams));
+        }
+        return result;
+    }
+
+    private List<MatchedStepDefinition> matchStepDefinitions(Step step) {
+        List<MatchedStepDefinition> result = new ArrayList<MatchedStepDefinition>();
+        for (StepDefinition stepDefinition : stepDefinitionIndex.candidates(step.getName())) {
             List<Argument> arguments = stepDefinition.matchedArguments(step);
             if (arguments != null) {
-                result.add(new StepDefinitionMatch(arguments, stepDefinition, featurePath, step, localizedXStreams));
+                result.add(new MatchedStepDefinition(stepDefinition, arguments));
             }
         }
         return result;
     }
 
+    /**
+     * @return how many steps were matched from the step match cache. Reported in {@code stats.json}.
+     */
+    public long getStepMatchCacheHits() {
+        return stepMatchCache.getHits();
+    }
+
+    /**
+     * @return how many steps had to be matched against the step definitions. Reported in {@code stats.json}.
+     */
+    public long getStepMatchCacheMisses() {
+        return stepMatchCache.getMisses();
+    }
+
     @Override
     public void writeStepdefsJson(ResourceLoader resourceLoader, List<String> featurePaths, URL dotCucumber) {
         if (dotCucumber != null) {
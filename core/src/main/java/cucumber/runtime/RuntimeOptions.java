@@ -1,7 +1,9 @@
 package cucumber.runtime;
 
 import cucumber.api.SnippetType;
+import cucumber.runtime.formatter.AsyncFormatter;
 import cucumber.runtime.formatter.ColorAware;
+import cucumber.runtime.formatter.CompositeFormatter;
 import cucumber.runtime.formatter.FormatterFactory;
 import cucumber.runtime.formatter.StrictAware;
 import cucumber.runtime.io.ResourceLoader;
@@ -10,9 +12,7 @@ import gherkin.formatter.Formatter;
 import gherkin.formatter.Reporter;
 import gherkin.util.FixJava;
 
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.Method;
-import java.lang.reflect.Proxy;
+import java.io.File;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
@@ -25,6 +25,7 @@ import static cucumber.runtime.model.CucumberFeature.load;
 public class RuntimeOptions {
     public static final String VERSION = ResourceBundle.getBundle("cucumber.version").getString("cucumber-jvm.version");
     public static final String USAGE = FixJava.readResource("/cucumber/runtime/USAGE.txt");
+    private static final int ASYNC_FORMATTER_BUFFER_SIZE = 8192;
 
     private final List<String> glue = new ArrayList<String>();
     private final List<Object> filters = new ArrayList<Object>();
@@ -38,7 +39,12 @@ public class RuntimeOptions {
     private boolean strict = false;
     private boolean monochrome = false;
     private SnippetType snippetType = SnippetType.UNDERSCORE;
+    private int threads = 1;
+    private boolean asyncFormatters = false;
+    private File featureCacheDir;
     private boolean formattersCreated = false;
+    private CompositeFormatter compositeFormatter;
+    private AsyncFormatter asyncFormatter;
 
     /**
      * Create a new instance from a string of options, for example:
@@ -118,9 +124,16 @@ public class RuntimeOptions {
                 strict = !arg.startsWith("--no-");
             } else if (arg.equals("--no-monochrome") || arg.equals("--monochrome") || arg.equals("-m")) {
                 monochrome = !arg.startsWith("--no-");
+            } else if (arg.equals("--no-async") || arg.equals("--async")) {
+                asyncFormatters = !arg.startsWith("--no-");
+            } else if (arg.equals("--feature-cache")) {
+                featureCacheDir = new File(args.remove(0));
             } else if (arg.equals("--snippets")) {
                 String nextArg = args.remove(0);
                 snippetType = SnippetType.fromString(nextArg);
+            } else if (arg.equals("--threads")) {
+                String threadsArg = args.remove(0);
+                threads = parseThreads(threadsArg);
             } else if (arg.equals("--name") || arg.equals("-n")) {
                 String nextArg = args.remove(0);
                 Pattern patternFilter = Pattern.compile(nextArg);
@@ -150,12 +163,25 @@ public class RuntimeOptions {
         }
     }
 
+    private int parseThreads(String threadsArg) {
+        try {
+            int parsedThreads = Integer.parseInt(threadsArg);
+            if (parsedThreads < 1) {
+                throw new CucumberException("--threads must be at least 1, but was " + threadsArg);
+            }
+            return parsedThreads;
+        } catch (NumberFormatException e) {
+            throw new CucumberException("--threads must be a number, but was " + threadsArg, e);
+        }
+    }
+
     private void printUsage() {
         System.out.println(USAGE);
     }
 
     public List<CucumberFeature> cucumberFeatures(ResourceLoader resourceLoader) {
-        return load(resourceLoader, featurePaths, filters, System.out);
+        FeatureCache featureCache = featureCacheDir == null ? null : new FeatureCache(featureCacheDir);
+        return load(resourceLoader, featurePaths, filters, System.out, featureCache);
     }
     
     List<Formatter> getFormatters() {
@@ -172,29 +198,25 @@ public class RuntimeOptions {
     }
 
     public Formatter formatter(ClassLoader classLoader) {
-        return (Formatter) Proxy.newProxyInstance(classLoader, new Class<?>[]{Formatter.class}, new InvocationHandler() {
-            @Override
-            public Object invoke(Object target, Method method, Object[] args) throws Throwable {
-                for (Formatter formatter : getFormatters()) {
-                    Utils.invoke(formatter, method, 0, args);
-                }
-                return null;
-            }
-        });
+        return asyncFormatters ? asyncFormatter() : compositeFormatter();
     }
 
     public Reporter reporter(ClassLoader classLoader) {
-        return (Reporter) Proxy.newProxyInstance(classLoader, new Class<?>[]{Reporter.class}, new InvocationHandler() {
-            @Override
-            public Object invoke(Object target, Method method, Object[] args) throws Throwable {
-                for (Formatter formatter : formatters) {
-                    if (formatter instanceof Reporter) {
-                        Utils.invoke(formatter, method, 0, args);
-                    }
-                }
-                return null;
-            }
-        });
+        return asyncFormatters ? asyncFormatter() : compositeFormatter();
+    }
+
+    private AsyncFormatter asyncFormatter() {
+        if (asyncFormatter == null) {
+            asyncFormatter = new AsyncFormatter(compositeFormatter(), ASYNC_FORMATTER_BUFFER_SIZE);
+        }
+        return asyncFormatter;
+    }
+
+    private CompositeFormatter compositeFormatter() {
+        if (compositeFormatter == null) {
+            compositeFormatter = new CompositeFormatter(getFormatters());
+        }
+        return compositeFormatter;
     }
 
     private void setMonochromeOnColorAwareFormatters(Formatter formatter) {
@@ -233,6 +255,9 @@ public class RuntimeOptions {
 
     public void addFormatter(Formatter formatter) {
         formatters.add(formatter);
+        if (compositeFormatter != null) {
+            compositeFormatter.add(formatter);
+        }
     }
 
     public List<Object> getFilters() {
@@ -246,4 +271,16 @@ public class RuntimeOptions {
     public SnippetType getSnippetType() {
         return snippetType;
     }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public File getFeatureCacheDir() {
+        return featureCacheDir;
+    }
+
+    public boolean isAsyncFormatters() {
+        return asyncFormatters;
+    }
 }
@@ -1,10 +1,13 @@
 package cucumber.runtime;
 
-import cucumber.api.Scenario;
+import cucumber.api.FileEmbeddingScenario;
+import cucumber.runtime.formatter.Embeddings;
 import gherkin.formatter.Reporter;
 import gherkin.formatter.model.Result;
 import gherkin.formatter.model.Tag;
 
+import java.io.File;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
@@ -13,7 +16,7 @@ import java.util.Set;
 
 import static java.util.Arrays.asList;
 
-public class ScenarioImpl implements Scenario {
+public class ScenarioImpl implements FileEmbeddingScenario {
     private static final List<String> SEVERITY = asList("passed", "skipped", "undefined", "pending", "failed");
     private final List<Result> stepResults = new ArrayList<Result>();
     private final Reporter reporter;
@@ -59,6 +62,16 @@ public class ScenarioImpl implements Scenario {
         reporter.embedding(mimeType, data);
     }
 
+    @Override
+    public void embed(File file, String mimeType) {
+        Embeddings.embed(reporter, mimeType, file);
+    }
+
+    @Override
+    public void embed(InputStream data, String mimeType) {
+        embed(Embeddings.spool(data), mimeType);
+    }
+
     @Override
     public void write(String text) {
         reporter.write(text);
@@ -9,8 +9,17 @@ import gherkin.formatter.model.Result;
 import java.io.PrintStream;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
+import java.util.LinkedHashMap;
 import java.util.Locale;
-
+import java.util.Map;
+
+/**
+ * Collects the counts and durations printed in the summary. Scenarios running on different threads
+ * share one instance, so all public methods are synchronized.
+ * <p/>
+ * The durations of steps, hooks and scenarios are also kept in {@link LatencyHistogram}s, for the percentiles
+ * in the summary and in {@link #toMap()}.
+ */
 class Stats {
     public static final long ONE_SECOND = 1000000000;
     public static final long ONE_MINUTE = 60 * ONE_SECOND;
@@ -18,6 +27,9 @@ class Stats {
     private SubCounts scenarioSubCounts = new SubCounts();
     private SubCounts stepSubCounts = new SubCounts();
     private long totalDuration = 0;
+    private final LatencyHistogram stepDurations = new LatencyHistogram();
+    private final LatencyHistogram hookDurations = new LatencyHistogram();
+    private final LatencyHistogram scenarioDurations = new LatencyHistogram();
     private Formats formats;
     private Locale locale;
 
@@ -34,7 +46,7 @@ class Stats {
         }
     }
 
-    public void printStats(PrintStream out) {
+    public synchronized void printStats(PrintStream out) {
         if (stepSubCounts.getTotal() == 0) {
             out.println("0 Scenarios");
             out.println("0 Steps");
@@ -42,6 +54,9 @@ class Stats {
             printScenarioCounts(out);
             printStepCounts(out);
         }
+        printPercentiles(out, "Scenario", scenarioDurations);
+        printPercentiles(out, "Step", stepDurations);
+        printPercentiles(out, "Hook", hookDurations);
         printDuration(out);
     }
 
@@ -80,23 +95,82 @@ class Stats {
         return addComma;
     }
 
+    private void printPercentiles(PrintStream out, String name, LatencyHistogram durations) {
+        if (durations.getCount() == 0) {
+            return;
+        }
+        out.print(name);
+        out.print(" durations: p50 ");
+        out.print(formatSeconds(durations.getPercentile(50)));
+        out.print(", p90 ");
+        out.print(formatSeconds(durations.getPercentile(90)));
+        out.print(", p99 ");
+        out.print(formatSeconds(durations.getPercentile(99)));
+        out.print(", max ");
+        out.println(formatSeconds(durations.getMax()));
+    }
+
+    private String formatSeconds(long nanos) {
+        DecimalFormat format = new DecimalFormat("0.000", new DecimalFormatSymbols(locale));
+        return format.format(((double) nanos) / ONE_SECOND) + "s";
+    }
+
     private void printDuration(PrintStream out) {
         out.print(String.format("%dm", (totalDuration / ONE_MINUTE)));
-        DecimalFormat format = new DecimalFormat("0.000", new DecimalFormatSymbols(locale));
-        out.println(format.format(((double) (totalDuration % ONE_MINUTE)) / ONE_SECOND) + "s");
+        out.println(formatSeconds(totalDuration % ONE_MINUTE));
     }
 
-    public void addStep(Result result) {
+    /**
+     * @return the counts by status and the duration percentiles (in nanoseconds) of scenarios, steps and hooks.
+     */
+    public synchronized Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<String, Object>();
+        map.put("scenarios", subCountsToMap(scenarioSubCounts));
+        map.put("steps", subCountsToMap(stepSubCounts));
+        map.put("scenario_durations", scenarioDurations.toMap());
+        map.put("step_durations", stepDurations.toMap());
+        map.put("hook_durations", hookDurations.toMap());
+        map.put("total_duration", totalDuration);
+        return map;
+    }
+
+    private Map<String, Object> subCountsToMap(SubCounts subCounts) {
+        Map<String, Object> map = new LinkedHashMap<String, Object>();
+        map.put("total", subCounts.getTotal());
+        map.put(Result.FAILED, subCounts.failed);
+        map.put(Result.SKIPPED.getStatus(), subCounts.skipped);
+        map.put(PENDING, subCounts.pending);
+        map.put(Result.UNDEFINED.getStatus(), subCounts.undefined);
+        map.put(Result.PASSED, subCounts.passed);
+        return map;
+    }
+
+    public synchronized void addStep(Result result) {
         addResultToSubCount(stepSubCounts, result.getStatus());
         addTime(result.getDuration());
+        if (result.getDuration() != null) {
+            stepDurations.add(result.getDuration());
+        }
     }
 
-    public void addScenario(String resultStatus) {
+    public synchronized void addScenario(String resultStatus) {
         addResultToSubCount(scenarioSubCounts, resultStatus);
     }
 
-    public void addHookTime(Long duration) {
+    /**
+     * @param resultStatus the status of the scenario.
+     * @param duration     the time spent in the steps and hooks of the scenario, in nanoseconds.
+     */
+    public synchronized void addScenario(String resultStatus, long duration) {
+        addScenario(resultStatus);
+        scenarioDurations.add(duration);
+    }
+
+    public synchronized void addHookTime(Long duration) {
         addTime(duration);
+        if (duration != null) {
+            hookDurations.add(duration);
+        }
     }
 
     private void addTime(Long duration) {
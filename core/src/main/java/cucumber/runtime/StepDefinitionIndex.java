@@ -0,0 +1,116 @@
+package cucumber.runtime;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A trie of the literal prefixes of step definition patterns. It is used to narrow down the step definitions
+ * that could possibly match a step, so that only their regular expressions have to be run.
+ * <p/>
+ * Only patterns anchored with {@code ^} get a literal prefix. Everything else (including patterns in the
+ * syntax of other languages, like Ruby's {@code /^foo$/}) is stored at the root and is always a candidate.
+ */
+class StepDefinitionIndex {
+    private static final Comparator<StepDefinition> PATTERN_ORDER = new Comparator<StepDefinition>() {
+        @Override
+        public int compare(StepDefinition a, StepDefinition b) {
+            return a.getPattern().compareTo(b.getPattern());
+        }
+    };
+    private static final String QUANTIFIERS = "?*+{";
+    private static final String LITERAL_PUNCTUATION = " '\",:;!=/-_@%<>~";
+
+    private final Node root = new Node();
+
+    public void add(StepDefinition stepDefinition) {
+        String prefix = literalPrefix(stepDefinition.getPattern());
+        Node node = root;
+        for (int i = 0; i < prefix.length(); i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        node.stepDefinitions.add(stepDefinition);
+    }
+
+    /**
+     * @param stepName the name of the step.
+     * @return the step definitions whose literal prefix is a prefix of the step name, in pattern order.
+     */
+    public List<StepDefinition> candidates(String stepName) {
+        List<StepDefinition> result = new ArrayList<StepDefinition>(root.stepDefinitions);
+        Node node = root;
+        for (int i = 0; i < stepName.length(); i++) {
+            node = node.children.get(stepName.charAt(i));
+            if (node == null) {
+                break;
+            }
+            result.addAll(node.stepDefinitions);
+        }
+        Collections.sort(result, PATTERN_ORDER);
+        return result;
+    }
+
+    static String literalPrefix(String pattern) {
+        if (!pattern.startsWith("^") || hasTopLevelAlternation(pattern)) {
+            return "";
+        }
+        StringBuilder prefix = new StringBuilder();
+        for (int i = 1; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (!isLiteral(c)) {
+                break;
+            }
+            if (i + 1 < pattern.length() && QUANTIFIERS.indexOf(pattern.charAt(i + 1)) != -1) {
+                // The character is optional or repeated, so it can't be part of the prefix.
+                break;
+            }
+            prefix.append(c);
+        }
+        return prefix.toString();
+    }
+
+    private static boolean isLiteral(char c) {
+        return Character.isLetterOrDigit(c) || LITERAL_PUNCTUATION.indexOf(c) != -1;
+    }
+
+    private static boolean hasTopLevelAlternation(String pattern) {
+        int depth = 0;
+        boolean inCharacterClass = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (inCharacterClass) {
+                if (c == ']') {
+                    inCharacterClass = false;
+                }
+            } else if (c == '[') {
+                inCharacterClass = true;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '|' && depth == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<Character, Node>();
+        private final List<StepDefinition> stepDefinitions = new ArrayList<StepDefinition>();
+
+        Node child(char c) {
+            Node child = children.get(c);
+            if (child == null) {
+                child = new Node();
+                children.put(c, child);
+            }
+            return child;
+        }
+    }
+}
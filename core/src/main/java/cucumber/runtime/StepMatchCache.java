@@ -0,0 +1,69 @@
+package cucumber.runtime;
+
+import gherkin.formatter.Argument;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded, least recently used cache from step text to the step definitions that matched it and
+ * the arguments they matched. Scenario outlines and backgrounds send the same step text over and over,
+ * so this saves running the regular expressions again. The cache must be cleared whenever glue changes.
+ */
+class StepMatchCache {
+    private final Map<String, List<MatchedStepDefinition>> matchesByStepName;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    StepMatchCache(final int maxSize) {
+        this.matchesByStepName = Collections.synchronizedMap(new LinkedHashMap<String, List<MatchedStepDefinition>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<MatchedStepDefinition>> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * @param stepName the step text.
+     * @return the cached matches, or null if the step text hasn't been matched yet.
+     */
+    public List<MatchedStepDefinition> get(String stepName) {
+        List<MatchedStepDefinition> matches = matchesByStepName.get(stepName);
+        if (matches == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return matches;
+    }
+
+    public void put(String stepName, List<MatchedStepDefinition> matches) {
+        matchesByStepName.put(stepName, matches);
+    }
+
+    public void clear() {
+        matchesByStepName.clear();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    static class MatchedStepDefinition {
+        final StepDefinition stepDefinition;
+        final List<Argument> arguments;
+
+        MatchedStepDefinition(StepDefinition stepDefinition, List<Argument> arguments) {
+            this.stepDefinition = stepDefinition;
+            this.arguments = arguments;
+        }
+    }
+}
@@ -1,43 +1,74 @@
 package cucumber.runtime;
 
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 public class Timeout {
     public static <T> T timeout(Callback<T> callback, long timeoutMillis) throws Throwable {
         if (timeoutMillis == 0) {
             return callback.call();
         } else {
-            final Thread executionThread = Thread.currentThread();
-            final AtomicBoolean done = new AtomicBoolean();
-
-            ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor();
-            ScheduledFuture<?> timer = executorService.schedule(new Runnable() {
-                @Override
-                public void run() {
-                    if (!done.get()) {
-                        executionThread.interrupt();
-                    }
-                }
-            }, timeoutMillis, TimeUnit.MILLISECONDS);
+            final Interruption interruption = new Interruption(Thread.currentThread());
+            ScheduledFuture<?> timer = Watchdog.EXECUTOR.schedule(interruption, timeoutMillis, TimeUnit.MILLISECONDS);
             try {
                 return callback.call();
             } catch (InterruptedException timeout) {
                 throw new TimeoutException("Timed out after " + timeoutMillis + "ms.");
             } finally {
-                done.set(true);
-                timer.cancel(true);
-                executorService.shutdownNow();
+                timer.cancel(false);
+                Watchdog.EXECUTOR.remove((Runnable) timer);
+                interruption.done();
             }
-
         }
     }
 
     public interface Callback<T> {
         T call() throws Throwable;
     }
+
+    /**
+     * Interrupts the thread running a callback, unless the callback has finished.
+     */
+    private static class Interruption implements Runnable {
+        private final Thread executionThread;
+        private boolean done = false;
+        private boolean interrupted = false;
+
+        Interruption(Thread executionThread) {
+            this.executionThread = executionThread;
+        }
+
+        @Override
+        public synchronized void run() {
+            if (!done) {
+                interrupted = true;
+                executionThread.interrupt();
+            }
+        }
+
+        synchronized void done() {
+            done = true;
+            if (interrupted) {
+                // Don't leave the interrupt behind if the callback finished (or failed) before noticing it.
+                Thread.interrupted();
+            }
+        }
+    }
+
+    /**
+     * A single watchdog thread for all timeouts in the JVM. It is only started the first time a timeout is used.
+     */
+    private static class Watchdog {
+        static final ScheduledThreadPoolExecutor EXECUTOR = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "cucumber-timeout-watchdog");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
 }
@@ -27,22 +27,29 @@ public class Utils {
     }
 
     public static Object invoke(final Object target, final Method method, long timeoutMillis, final Object... args) throws Throwable {
+        if (timeoutMillis == 0) {
+            return invokeNow(target, method, args);
+        }
         return Timeout.timeout(new Timeout.Callback<Object>() {
             @Override
             public Object call() throws Throwable {
-                try {
-                    return method.invoke(target, args);
-                } catch (IllegalArgumentException e) {
-                    throw new CucumberException("Failed to invoke " + MethodFormat.FULL.format(method), e);
-                } catch (InvocationTargetException e) {
-                    throw e.getTargetException();
-                } catch (IllegalAccessException e) {
-                    throw new CucumberException("Failed to invoke " + MethodFormat.FULL.format(method), e);
-                }
+                return invokeNow(target, method, args);
             }
         }, timeoutMillis);
     }
 
+    private static Object invokeNow(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (IllegalArgumentException e) {
+            throw new CucumberException("Failed to invoke " + MethodFormat.FULL.format(method), e);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        } catch (IllegalAccessException e) {
+            throw new CucumberException("Failed to invoke " + MethodFormat.FULL.format(method), e);
+        }
+    }
+
     public static Type listItemType(Type type) {
         return typeArg(type, List.class, 0);
     }
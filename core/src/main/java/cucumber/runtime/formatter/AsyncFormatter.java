@@ -0,0 +1,205 @@
+package cucumber.runtime.formatter;
+
+import cucumber.runtime.CucumberException;
+import gherkin.formatter.Formatter;
+import gherkin.formatter.Reporter;
+
+import java.io.PrintStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands {@link Formatter} and {@link Reporter} events to a dedicated thread that passes them on,
+ * in order, to a delegate. This keeps slow formatters (serialization, file I/O) off the thread
+ * that runs the steps.
+ * <p/>
+ * Events go into a bounded buffer. When it is full the step thread waits for room, so no events
+ * are ever dropped; the number of events that had to wait is available from {@link #getDelayedEventCount()}.
+ * Should the dispatcher thread stop early, the waiting thread passes the buffered
+ * events on itself. {@link #done()} and {@link #close()} wait until every event before them has been
+ * handled, and events after {@link #close()} are rejected. If the delegate throws, the first error is
+ * rethrown from {@link #close()}. When events were delayed or failed, {@link #close()} prints one line
+ * with both counts.
+ */
+public class AsyncFormatter extends EventCapturingFormatter {
+    private static final long POLL_MILLIS = 100;
+
+    private final Formatter formatter;
+    private final Reporter reporter;
+    private final BlockingQueue<Event> events;
+    private final Thread dispatcher;
+    private final PrintStream out;
+    private final AtomicLong delayedEvents = new AtomicLong();
+    private final AtomicLong failedEvents = new AtomicLong();
+    private volatile Throwable firstFailure;
+    private volatile boolean closed = false;
+
+    public <T extends Formatter & Reporter> AsyncFormatter(T delegate, int bufferSize) {
+        this(delegate, bufferSize, System.err);
+    }
+
+    public <T extends Formatter & Reporter> AsyncFormatter(T delegate, int bufferSize, PrintStream out) {
+        this.out = out;
+        this.formatter = delegate;
+        this.reporter = delegate;
+        this.events = new ArrayBlockingQueue<Event>(bufferSize);
+        this.dispatcher = new Thread(new Dispatcher(), "cucumber-async-formatter");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    @Override
+    public void done() {
+        super.done();
+        flush();
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        super.close();
+        closed = true;
+        enqueue(new Stop());
+        try {
+            dispatcher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CucumberException("Interrupted while waiting for formatters to finish", e);
+        }
+        if (delayedEvents.get() > 0 || failedEvents.get() > 0) {
+            out.println(String.format("Asynchronous formatters: %d event(s) waited for room in the buffer, %d event(s) failed",
+                    delayedEvents.get(), failedEvents.get()));
+        }
+        if (firstFailure != null) {
+            throw new CucumberException(failedEvents.get() + " formatter event(s) failed", firstFailure);
+        }
+    }
+
+    /**
+     * Waits until all events recorded so far have been passed on to the delegate.
+     */
+    public void flush() {
+        if (closed) {
+            return;
+        }
+        Flush flush = new Flush();
+        record(flush);
+        try {
+            while (!flush.latch.await(POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (!dispatcher.isAlive()) {
+                    drain();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CucumberException("Interrupted while waiting for formatters to catch up", e);
+        }
+    }
+
+    /**
+     * @return how many events had to wait for room in the buffer.
+     */
+    public long getDelayedEventCount() {
+        return delayedEvents.get();
+    }
+
+    /**
+     * @return how many events the delegate failed to handle.
+     */
+    public long getFailedEventCount() {
+        return failedEvents.get();
+    }
+
+    @Override
+    void record(Event event) {
+        if (closed) {
+            throw new CucumberException("The formatter is closed");
+        }
+        enqueue(event);
+    }
+
+    private void enqueue(Event event) {
+        if (!events.offer(event)) {
+            delayedEvents.incrementAndGet();
+            try {
+                while (!events.offer(event, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if (!dispatcher.isAlive()) {
+                        drain();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CucumberException("Interrupted while waiting for room in the formatter buffer", e);
+            }
+        }
+        if (!dispatcher.isAlive()) {
+            drain();
+        }
+    }
+
+    /**
+     * Passes the buffered events on from the calling thread, once the dispatcher has stopped.
+     */
+    private synchronized void drain() {
+        Event event;
+        while ((event = events.poll()) != null) {
+            dispatch(event);
+        }
+    }
+
+    private void dispatch(Event event) {
+        if (event instanceof Stop) {
+            return;
+        }
+        try {
+            event.replay(formatter, reporter);
+        } catch (Throwable t) {
+            failedEvents.incrementAndGet();
+            if (firstFailure == null) {
+                firstFailure = t;
+            }
+        }
+    }
+
+    private class Dispatcher implements Runnable {
+        @Override
+        public void run() {
+            while (true) {
+                Event event;
+                try {
+                    event = events.take();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (event instanceof Stop) {
+                    return;
+                }
+                dispatch(event);
+            }
+        }
+    }
+
+    private static class Flush extends Event {
+        private final CountDownLatch latch = new CountDownLatch(1);
+
+        Flush() {
+            super(null, new Object[0]);
+        }
+
+        @Override
+        void replay(Formatter formatter, Reporter reporter) {
+            latch.countDown();
+        }
+    }
+
+    private static class Stop extends Event {
+        Stop() {
+            super(null, new Object[0]);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package cucumber.runtime.formatter;
+
+import gherkin.formatter.Formatter;
+import gherkin.formatter.Reporter;
+import gherkin.formatter.model.Background;
+import gherkin.formatter.model.Examples;
+import gherkin.formatter.model.Feature;
+import gherkin.formatter.model.Match;
+import gherkin.formatter.model.Result;
+import gherkin.formatter.model.Scenario;
+import gherkin.formatter.model.ScenarioOutline;
+import gherkin.formatter.model.Step;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Dispatches every {@link Formatter} event to all formatters, and every {@link Reporter} event to
+ * the formatters that are also reporters. Which formatters are reporters is worked out when they are added.
+ */
+public class CompositeFormatter implements Formatter, FileEmbeddingReporter {
+    private volatile Formatter[] formatters = new Formatter[0];
+    private volatile Reporter[] reporters = new Reporter[0];
+
+    public CompositeFormatter(List<Formatter> formatters) {
+        for (Formatter formatter : formatters) {
+            add(formatter);
+        }
+    }
+
+    public synchronized void add(Formatter formatter) {
+        Formatter[] newFormatters = new Formatter[formatters.length + 1];
+        System.arraycopy(formatters, 0, newFormatters, 0, formatters.length);
+        newFormatters[formatters.length] = formatter;
+        formatters = newFormatters;
+
+        if (formatter instanceof Reporter) {
+            Reporter[] newReporters = new Reporter[reporters.length + 1];
+            System.arraycopy(reporters, 0, newReporters, 0, reporters.length);
+            newReporters[reporters.length] = (Reporter) formatter;
+            reporters = newReporters;
+        }
+    }
+
+    @Override
+    public void syntaxError(String state, String event, List<String> legalEvents, String uri, Integer line) {
+        for (Formatter formatter : formatters) {
+            formatter.syntaxError(state, event, legalEvents, uri, line);
+        }
+    }
+
+    @Override
+    public void uri(String uri) {
+        for (Formatter formatter : formatters) {
+            formatter.uri(uri);
+        }
+    }
+
+    @Override
+    public void feature(Feature feature) {
+        for (Formatter formatter : formatters) {
+            formatter.feature(feature);
+        }
+    }
+
+    @Override
+    public void scenarioOutline(ScenarioOutline scenarioOutline) {
+        for (Formatter formatter : formatters) {
+            formatter.scenarioOutline(scenarioOutline);
+        }
+    }
+
+    @Override
+    public void examples(Examples examples) {
+        for (Formatter formatter : formatters) {
+            formatter.examples(examples);
+        }
+    }
+
+    @Override
+    public void startOfScenarioLifeCycle(Scenario scenario) {
+        for (Formatter formatter : formatters) {
+            formatter.startOfScenarioLifeCycle(scenario);
+        }
+    }
+
+    @Override
+    public void background(Background background) {
+        for (Formatter formatter : formatters) {
+            formatter.background(background);
+        }
+    }
+
+    @Override
+    public void scenario(Scenario scenario) {
+        for (Formatter formatter : formatters) {
+            formatter.scenario(scenario);
+        }
+    }
+
+    @Override
+    public void step(Step step) {
+        for (Formatter formatter : formatters) {
+            formatter.step(step);
+        }
+    }
+
+    @Override
+    public void endOfScenarioLifeCycle(Scenario scenario) {
+        for (Formatter formatter : formatters) {
+            formatter.endOfScenarioLifeCycle(scenario);
+        }
+    }
+
+    @Override
+    public void done() {
+        for (Formatter formatter : formatters) {
+            formatter.done();
+        }
+    }
+
+    @Override
+    public void close() {
+        for (Formatter formatter : formatters) {
+            formatter.close();
+        }
+    }
+
+    @Override
+    public void eof() {
+        for (Formatter formatter : formatters) {
+            formatter.eof();
+        }
+    }
+
+    @Override
+    public void before(Match match, Result result) {
+        for (Reporter reporter : reporters) {
+            reporter.before(match, result);
+        }
+    }
+
+    @Override
+    public void result(Result result) {
+        for (Reporter reporter : reporters) {
+            reporter.result(result);
+        }
+    }
+
+    @Override
+    public void after(Match match, Result result) {
+        for (Reporter reporter : reporters) {
+            reporter.after(match, result);
+        }
+    }
+
+    @Override
+    public void match(Match match) {
+        for (Reporter reporter : reporters) {
+            reporter.match(match);
+        }
+    }
+
+    @Override
+    public void embedding(String mimeType, byte[] data) {
+        for (Reporter reporter : reporters) {
+            reporter.embedding(mimeType, data);
+        }
+    }
+
+    /**
+     * Reporters that can't embed files by reference get the contents, read only once for all of them.
+     */
+    @Override
+    public void embedding(String mimeType, File file) {
+        byte[] data = null;
+        for (Reporter reporter : reporters) {
+            if (reporter instanceof FileEmbeddingReporter) {
+                ((FileEmbeddingReporter) reporter).embedding(mimeType, file);
+            } else {
+                if (data == null) {
+                    data = Embeddings.read(file);
+                }
+                reporter.embedding(mimeType, data);
+            }
+        }
+    }
+
+    @Override
+    public void write(String text) {
+        for (Reporter reporter : reporters) {
+            reporter.write(text);
+        }
+    }
+}
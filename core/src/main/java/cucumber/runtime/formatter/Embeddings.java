@@ -0,0 +1,87 @@
+package cucumber.runtime.formatter;
+
+import cucumber.runtime.CucumberException;
+import gherkin.formatter.Reporter;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Embeds files with reporters that may or may not be {@link FileEmbeddingReporter}s.
+ */
+public class Embeddings {
+    private Embeddings() {
+    }
+
+    /**
+     * Embeds the file by reference if the reporter supports it, and reads it into memory otherwise.
+     *
+     * @param reporter where to embed the file.
+     * @param mimeType what the file contains.
+     * @param file     the file to embed.
+     */
+    public static void embed(Reporter reporter, String mimeType, File file) {
+        if (reporter instanceof FileEmbeddingReporter) {
+            ((FileEmbeddingReporter) reporter).embedding(mimeType, file);
+        } else {
+            reporter.embedding(mimeType, read(file));
+        }
+    }
+
+    public static byte[] read(File file) {
+        try {
+            InputStream in = new FileInputStream(file);
+            try {
+                byte[] data = new byte[(int) file.length()];
+                int offset = 0;
+                int read;
+                while (offset < data.length && (read = in.read(data, offset, data.length - offset)) != -1) {
+                    offset += read;
+                }
+                return data;
+            } finally {
+                in.close();
+            }
+        } catch (IOException e) {
+            throw new CucumberException("Failed to read embedding " + file, e);
+        }
+    }
+
+    /**
+     * Copies a stream to a temporary file that is deleted when the JVM exits. The stream is closed.
+     *
+     * @param in the stream to copy.
+     * @return the temporary file.
+     */
+    public static File spool(InputStream in) {
+        try {
+            try {
+                File file = File.createTempFile("cucumber-embedding", ".tmp");
+                file.deleteOnExit();
+                OutputStream out = new FileOutputStream(file);
+                try {
+                    copy(in, out);
+                } finally {
+                    out.close();
+                }
+                return file;
+            } finally {
+                in.close();
+            }
+        } catch (IOException e) {
+            throw new CucumberException("Failed to write embedding", e);
+        }
+    }
+
+    static void copy(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[16 * 1024];
+        int len;
+        while ((len = in.read(buffer)) != -1) {
+            out.write(buffer, 0, len);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package cucumber.runtime.formatter;
+
+import gherkin.formatter.Formatter;
+import gherkin.formatter.Reporter;
+import gherkin.formatter.model.Background;
+import gherkin.formatter.model.Examples;
+import gherkin.formatter.model.Feature;
+import gherkin.formatter.model.Match;
+import gherkin.formatter.model.Result;
+import gherkin.formatter.model.Scenario;
+import gherkin.formatter.model.ScenarioOutline;
+import gherkin.formatter.model.Step;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Turns every {@link Formatter} and {@link Reporter} event into an {@link Event} that can be replayed later.
+ */
+abstract class EventCapturingFormatter implements Formatter, FileEmbeddingReporter {
+    @Override
+    public void syntaxError(String state, String event, List<String> legalEvents, String uri, Integer line) {
+        record(EventType.SYNTAX_ERROR, state, event, legalEvents, uri, line);
+    }
+
+    @Override
+    public void uri(String uri) {
+        record(EventType.URI, uri);
+    }
+
+    @Override
+    public void feature(Feature feature) {
+        record(EventType.FEATURE, feature);
+    }
+
+    @Override
+    public void scenarioOutline(ScenarioOutline scenarioOutline) {
+        record(EventType.SCENARIO_OUTLINE, scenarioOutline);
+    }
+
+    @Override
+    public void examples(Examples examples) {
+        record(EventType.EXAMPLES, examples);
+    }
+
+    @Override
+    public void startOfScenarioLifeCycle(Scenario scenario) {
+        record(EventType.START_OF_SCENARIO_LIFE_CYCLE, scenario);
+    }
+
+    @Override
+    public void background(Background background) {
+        record(EventType.BACKGROUND, background);
+    }
+
+    @Override
+    public void scenario(Scenario scenario) {
+        record(EventType.SCENARIO, scenario);
+    }
+
+    @Override
+    public void step(Step step) {
+        record(EventType.STEP, step);
+    }
+
+    @Override
+    public void endOfScenarioLifeCycle(Scenario scenario) {
+        record(EventType.END_OF_SCENARIO_LIFE_CYCLE, scenario);
+    }
+
+    @Override
+    public void done() {
+        record(EventType.DONE);
+    }
+
+    @Override
+    public void close() {
+        record(EventType.CLOSE);
+    }
+
+    @Override
+    public void eof() {
+        record(EventType.EOF);
+    }
+
+    @Override
+    public void before(Match match, Result result) {
+        record(EventType.BEFORE, match, result);
+    }
+
+    @Override
+    public void result(Result result) {
+        record(EventType.RESULT, result);
+    }
+
+    @Override
+    public void after(Match match, Result result) {
+        record(EventType.AFTER, match, result);
+    }
+
+    @Override
+    public void match(Match match) {
+        record(EventType.MATCH, match);
+    }
+
+    @Override
+    public void embedding(String mimeType, byte[] data) {
+        record(EventType.EMBEDDING, mimeType, data);
+    }
+
+    @Override
+    public void embedding(String mimeType, File file) {
+        record(EventType.EMBEDDING_FILE, mimeType, file);
+    }
+
+    @Override
+    public void write(String text) {
+        record(EventType.WRITE, text);
+    }
+
+    private void record(EventType type, Object... args) {
+        record(new Event(type, args));
+    }
+
+    abstract void record(Event event);
+
+    enum EventType {
+        SYNTAX_ERROR, URI, FEATURE, SCENARIO_OUTLINE, EXAMPLES, START_OF_SCENARIO_LIFE_CYCLE, BACKGROUND, SCENARIO, STEP,
+        END_OF_SCENARIO_LIFE_CYCLE, DONE, CLOSE, EOF, BEFORE, RESULT, AFTER, MATCH, EMBEDDING, EMBEDDING_FILE, WRITE
+    }
+
+    static class Event {
+        private final EventType type;
+        private final Object[] args;
+
+        Event(EventType type, Object[] args) {
+            this.type = type;
+            this.args = args;
+        }
+
+        @SuppressWarnings("unchecked")
+        void replay(Formatter formatter, Reporter reporter) {
+            switch (type) {
+                case SYNTAX_ERROR:
+                    formatter.syntaxError((String) args[0], (String) args[1], (List<String>) args[2], (String) args[3], (Integer) args[4]);
+                    break;
+                case URI:
+                    formatter.uri((String) args[0]);
+                    break;
+                case FEATURE:
+                    formatter.feature((Feature) args[0]);
+                    break;
+                case SCENARIO_OUTLINE:
+                    formatter.scenarioOutline((ScenarioOutline) args[0]);
+                    break;
+                case EXAMPLES:
+                    formatter.examples((Examples) args[0]);
+                    break;
+                case START_OF_SCENARIO_LIFE_CYCLE:
+                    formatter.startOfScenarioLifeCycle((Scenario) args[0]);
+                    break;
+                case BACKGROUND:
+                    formatter.background((Background) args[0]);
+                    break;
+                case SCENARIO:
+                    formatter.scenario((Scenario) args[0]);
+                    break;
+                case STEP:
+                    formatter.step((Step) args[0]);
+                    break;
+                case END_OF_SCENARIO_LIFE_CYCLE:
+                    formatter.endOfScenarioLifeCycle((Scenario) args[0]);
+                    break;
+                case DONE:
+                    formatter.done();
+                    break;
+                case CLOSE:
+                    formatter.close();
+                    break;
+                case EOF:
+                    formatter.eof();
+                    break;
+                case BEFORE:
+                    reporter.before((Match) args[0], (Result) args[1]);
+                    break;
+                case RESULT:
+                    reporter.result((Result) args[0]);
+                    break;
+                case AFTER:
+                    reporter.after((Match) args[0], (Result) args[1]);
+                    break;
+                case MATCH:
+                    reporter.match((Match) args[0]);
+                    break;
+                case EMBEDDING:
+                    reporter.embedding((String) args[0], (byte[]) args[1]);
+                    break;
+                case EMBEDDING_FILE:
+                    Embeddings.embed(reporter, (String) args[0], (File) args[1]);
+                    break;
+                case WRITE:
+                    reporter.write((String) args[0]);
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown event: " + type);
+            }
+        }
+    }
+}
@@ -0,0 +1,414 @@
+package cucumber.runtime.formatter;
+
+import cucumber.runtime.CucumberException;
+import cucumber.runtime.io.URLOutputStream;
+import gherkin.formatter.Formatter;
+import gherkin.formatter.Reporter;
+import gherkin.formatter.model.Argument;
+import gherkin.formatter.model.Background;
+import gherkin.formatter.model.Comment;
+import gherkin.formatter.model.DataTableRow;
+import gherkin.formatter.model.DocString;
+import gherkin.formatter.model.Examples;
+import gherkin.formatter.model.ExamplesTableRow;
+import gherkin.formatter.model.Feature;
+import gherkin.formatter.model.Match;
+import gherkin.formatter.model.Result;
+import gherkin.formatter.model.Scenario;
+import gherkin.formatter.model.ScenarioOutline;
+import gherkin.formatter.model.Step;
+import gherkin.formatter.model.Tag;
+import gherkin.formatter.model.TagStatement;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes every event to a compact binary log that {@link EventLogReader} can replay into other formatters
+ * later, for example with {@link cucumber.api.cli.Replay}.
+ * <p/>
+ * The log starts with {@link #MAGIC} and is followed by records that are only ever appended. Each record is
+ * the length of the rest of the record as an int, a type byte and the payload. Short strings such as step names,
+ * uris and locations are written once in a {@link #STRING} record and referred to by number afterwards.
+ */
+class EventLogFormatter implements Formatter, Reporter {
+    static final byte[] MAGIC = {'C', 'U', 'K', 'E', 'L', 'O', 'G', 1};
+    static final Charset UTF8 = Charset.forName("UTF-8");
+    /**
+     * Longer strings are written where they are used, so that error messages and output don't fill the string table.
+     */
+    static final int MAX_INTERNED_LENGTH = 256;
+
+    static final byte STRING = 0;
+    static final byte SYNTAX_ERROR = 1;
+    static final byte URI = 2;
+    static final byte FEATURE = 3;
+    static final byte SCENARIO_OUTLINE = 4;
+    static final byte EXAMPLES = 5;
+    static final byte START_OF_SCENARIO_LIFE_CYCLE = 6;
+    static final byte BACKGROUND = 7;
+    static final byte SCENARIO = 8;
+    static final byte STEP = 9;
+    static final byte END_OF_SCENARIO_LIFE_CYCLE = 10;
+    static final byte EOF = 11;
+    static final byte DONE = 12;
+    static final byte BEFORE = 13;
+    static final byte RESULT = 14;
+    static final byte AFTER = 15;
+    static final byte MATCH = 16;
+    static final byte EMBEDDING = 17;
+    static final byte WRITE = 18;
+
+    static final int NULL_STRING = 0;
+    static final int INLINE_STRING = 1;
+    static final int FIRST_STRING_ID = 2;
+
+    private final DataOutputStream out;
+    private final ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+    private final Map<String, Integer> stringIds = new HashMap<String, Integer>();
+    private final List<String> newStrings = new ArrayList<String>();
+
+    public EventLogFormatter(URL out) throws IOException {
+        this(new URLOutputStream(out));
+    }
+
+    EventLogFormatter(OutputStream out) {
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+        try {
+            this.out.write(MAGIC);
+        } catch (IOException e) {
+            throw new CucumberException("Error while writing event log", e);
+        }
+    }
+
+    @Override
+    public void syntaxError(String state, String event, List<String> legalEvents, String uri, Integer line) {
+        writeString(state);
+        writeString(event);
+        writeVarInt(legalEvents.size());
+        for (String legalEvent : legalEvents) {
+            writeString(legalEvent);
+        }
+        writeString(uri);
+        writeInteger(line);
+        write(SYNTAX_ERROR);
+    }
+
+    @Override
+    public void uri(String uri) {
+        writeString(uri);
+        write(URI);
+    }
+
+    @Override
+    public void feature(Feature feature) {
+        writeTagStatement(feature);
+        write(FEATURE);
+    }
+
+    @Override
+    public void scenarioOutline(ScenarioOutline scenarioOutline) {
+        writeTagStatement(scenarioOutline);
+        write(SCENARIO_OUTLINE);
+    }
+
+    @Override
+    public void examples(Examples examples) {
+        writeTagStatement(examples);
+        writeVarInt(examples.getRows().size());
+        for (ExamplesTableRow row : examples.getRows()) {
+            writeComments(row.getComments());
+            writeCells(row.getCells());
+            writeInteger(row.getLine());
+            writeString(row.getId());
+        }
+        write(EXAMPLES);
+    }
+
+    @Override
+    public void startOfScenarioLifeCycle(Scenario scenario) {
+        writeTagStatement(scenario);
+        write(START_OF_SCENARIO_LIFE_CYCLE);
+    }
+
+    @Override
+    public void background(Background background) {
+        writeComments(background.getComments());
+        writeString(background.getKeyword());
+        writeString(background.getName());
+        writeText(background.getDescription());
+        writeInteger(background.getLine());
+        write(BACKGROUND);
+    }
+
+    @Override
+    public void scenario(Scenario scenario) {
+        writeTagStatement(scenario);
+        write(SCENARIO);
+    }
+
+    @Override
+    public void step(Step step) {
+        writeComments(step.getComments());
+        writeString(step.getKeyword());
+        writeString(step.getName());
+        writeInteger(step.getLine());
+        List<DataTableRow> rows = step.getRows();
+        if (rows == null) {
+            writeVarInt(0);
+        } else {
+            writeVarInt(rows.size() + 1);
+            for (DataTableRow row : rows) {
+                writeComments(row.getComments());
+                writeCells(row.getCells());
+                writeInteger(row.getLine());
+            }
+        }
+        DocString docString = step.getDocString();
+        writeBoolean(docString != null);
+        if (docString != null) {
+            writeString(docString.getContentType());
+            writeText(docString.getValue());
+            writeInteger(docString.getLine());
+        }
+        write(STEP);
+    }
+
+    @Override
+    public void endOfScenarioLifeCycle(Scenario scenario) {
+        writeTagStatement(scenario);
+        // A log that is cut short, say because the JVM was killed, can still be replayed up to here.
+        write(END_OF_SCENARIO_LIFE_CYCLE, true);
+    }
+
+    @Override
+    public void eof() {
+        write(EOF);
+    }
+
+    @Override
+    public void done() {
+        write(DONE, true);
+    }
+
+    @Override
+    public void close() {
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw new CucumberException("Error while closing event log", e);
+        }
+    }
+
+    @Override
+    public void before(Match match, Result result) {
+        writeMatch(match);
+        writeResult(result);
+        write(BEFORE);
+    }
+
+    @Override
+    public void result(Result result) {
+        writeResult(result);
+        write(RESULT);
+    }
+
+    @Override
+    public void after(Match match, Result result) {
+        writeMatch(match);
+        writeResult(result);
+        write(AFTER);
+    }
+
+    @Override
+    public void match(Match match) {
+        writeMatch(match);
+        write(MATCH);
+    }
+
+    @Override
+    public void embedding(String mimeType, byte[] data) {
+        writeString(mimeType);
+        writeVarInt(data.length);
+        recordBytes.write(data, 0, data.length);
+        write(EMBEDDING);
+    }
+
+    @Override
+    public void write(String text) {
+        writeText(text);
+        write(WRITE);
+    }
+
+    private void writeTagStatement(TagStatement statement) {
+        writeComments(statement.getComments());
+        List<Tag> tags = statement.getTags();
+        writeVarInt(tags.size());
+        for (Tag tag : tags) {
+            writeString(tag.getName());
+            writeInteger(tag.getLine());
+        }
+        writeString(statement.getKeyword());
+        writeString(statement.getName());
+        writeText(statement.getDescription());
+        writeInteger(statement.getLine());
+        writeString(statement.getId());
+    }
+
+    private void writeComments(List<Comment> comments) {
+        if (comments == null) {
+            writeVarInt(0);
+            return;
+        }
+        writeVarInt(comments.size() + 1);
+        for (Comment comment : comments) {
+            writeString(comment.getValue());
+            writeInteger(comment.getLine());
+        }
+    }
+
+    private void writeCells(List<String> cells) {
+        writeVarInt(cells.size());
+        for (String cell : cells) {
+            writeString(cell);
+        }
+    }
+
+    private void writeMatch(Match match) {
+        writeBoolean(match != null);
+        if (match == null) {
+            return;
+        }
+        List<Argument> arguments = match.getArguments();
+        if (arguments == null) {
+            writeVarInt(0);
+        } else {
+            writeVarInt(arguments.size() + 1);
+            for (Argument argument : arguments) {
+                writeInteger(argument.getOffset());
+                writeString(argument.getVal());
+            }
+        }
+        writeString(match.getLocation());
+    }
+
+    private void writeResult(Result result) {
+        writeString(result.getStatus());
+        Long duration = result.getDuration();
+        writeBoolean(duration != null);
+        if (duration != null) {
+            writeLong(duration);
+        }
+        writeBoolean(result.getError() != null);
+        writeText(result.getErrorMessage());
+    }
+
+    /**
+     * Writes a nullable non-negative int.
+     */
+    private void writeInteger(Integer value) {
+        writeVarInt(value == null ? 0 : value + 1);
+    }
+
+    private void writeString(String value) {
+        if (value == null) {
+            writeVarInt(NULL_STRING);
+        } else if (value.length() > MAX_INTERNED_LENGTH) {
+            writeInlineString(value);
+        } else {
+            Integer id = stringIds.get(value);
+            if (id == null) {
+                id = stringIds.size();
+                stringIds.put(value, id);
+                newStrings.add(value);
+            }
+            writeVarInt(FIRST_STRING_ID + id);
+        }
+    }
+
+    /**
+     * Writes a string that is unlikely to be repeated, without adding it to the string table.
+     */
+    private void writeText(String value) {
+        if (value == null) {
+            writeVarInt(NULL_STRING);
+        } else {
+            writeInlineString(value);
+        }
+    }
+
+    private void writeInlineString(String value) {
+        byte[] bytes = value.getBytes(UTF8);
+        writeVarInt(INLINE_STRING);
+        writeVarInt(bytes.length);
+        recordBytes.write(bytes, 0, bytes.length);
+    }
+
+    private void writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            recordBytes.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        recordBytes.write(value);
+    }
+
+    private void writeBoolean(boolean value) {
+        recordBytes.write(value ? 1 : 0);
+    }
+
+    /**
+     * Writes a long like {@link DataOutputStream#writeLong(long)}.
+     */
+    private void writeLong(long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            recordBytes.write((int) (value >>> shift) & 0xFF);
+        }
+    }
+
+    private void write(byte type) {
+        write(type, false);
+    }
+
+    /**
+     * Writes the current record like {@link #writeRecord(byte)}, turning failures into a {@link CucumberException}.
+     *
+     * @param type  the type of the record.
+     * @param flush whether to flush the log afterwards.
+     */
+    private void write(byte type, boolean flush) {
+        try {
+            writeRecord(type);
+            if (flush) {
+                out.flush();
+            }
+        } catch (IOException e) {
+            throw new CucumberException("Error while writing event log", e);
+        }
+    }
+
+    /**
+     * Writes the strings first seen in the current record, each in a record of its own, and then the current record.
+     */
+    private void writeRecord(byte type) throws IOException {
+        for (String newString : newStrings) {
+            byte[] bytes = newString.getBytes(UTF8);
+            out.writeInt(1 + bytes.length);
+            out.writeByte(STRING);
+            out.write(bytes);
+        }
+        newStrings.clear();
+        out.writeInt(1 + recordBytes.size());
+        out.writeByte(type);
+        recordBytes.writeTo(out);
+        recordBytes.reset();
+    }
+}
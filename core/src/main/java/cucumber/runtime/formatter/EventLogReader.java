@@ -0,0 +1,341 @@
+package cucumber.runtime.formatter;
+
+import cucumber.runtime.CucumberException;
+import gherkin.formatter.Formatter;
+import gherkin.formatter.Reporter;
+import gherkin.formatter.model.Argument;
+import gherkin.formatter.model.Background;
+import gherkin.formatter.model.Comment;
+import gherkin.formatter.model.DataTableRow;
+import gherkin.formatter.model.DocString;
+import gherkin.formatter.model.Examples;
+import gherkin.formatter.model.ExamplesTableRow;
+import gherkin.formatter.model.Feature;
+import gherkin.formatter.model.Match;
+import gherkin.formatter.model.Result;
+import gherkin.formatter.model.Scenario;
+import gherkin.formatter.model.ScenarioOutline;
+import gherkin.formatter.model.Step;
+import gherkin.formatter.model.Tag;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads a log written by {@link EventLogFormatter} and sends its events to a formatter and reporter.
+ * <p/>
+ * A log that ends in the middle of a record, because the run that wrote it was killed, is replayed up to the
+ * last complete record. Records of unknown types are skipped.
+ * <p/>
+ * Errors can't be recreated, so the results of failed steps carry an error whose stack trace is the recorded one.
+ * Matches are plain {@link Match} instances, so formatters that need to know about step definitions, like
+ * {@link UsageFormatter}, have nothing to report.
+ */
+public class EventLogReader {
+    private static final Object DUMMY_ARG = new Object();
+
+    private final DataInputStream in;
+    private final List<String> strings = new ArrayList<String>();
+    private DataInputStream record;
+
+    public EventLogReader(InputStream in) {
+        this.in = new DataInputStream(new BufferedInputStream(in));
+    }
+
+    /**
+     * Sends all events in the log, except {@link Formatter#done()}, which is left to the caller so that several
+     * logs can be replayed into one report. The stream is closed afterwards.
+     *
+     * @param formatter where to send formatter events.
+     * @param reporter  where to send reporter events.
+     * @return true if the log was complete, that is it ended with the run being done.
+     */
+    public boolean replay(Formatter formatter, Reporter reporter) {
+        try {
+            try {
+                readMagic();
+                boolean done = false;
+                byte[] bytes;
+                while ((bytes = readRecord()) != null) {
+                    record = new DataInputStream(new ByteArrayInputStream(bytes, 1, bytes.length - 1));
+                    done = bytes[0] == EventLogFormatter.DONE;
+                    replay(bytes[0], bytes.length - 1, formatter, reporter);
+                }
+                return done;
+            } finally {
+                in.close();
+            }
+        } catch (IOException e) {
+            throw new CucumberException("Error while reading event log", e);
+        }
+    }
+
+    private void readMagic() throws IOException {
+        byte[] magic = new byte[EventLogFormatter.MAGIC.length];
+        try {
+            in.readFully(magic);
+        } catch (EOFException e) {
+            throw new CucumberException("Not an event log");
+        }
+        if (!Arrays.equals(magic, EventLogFormatter.MAGIC)) {
+            throw new CucumberException("Not an event log, or written by another version of Cucumber");
+        }
+    }
+
+    /**
+     * @return the type and payload of the next record, or null if there are no more complete records.
+     */
+    private byte[] readRecord() throws IOException {
+        try {
+            int length = in.readInt();
+            if (length < 1) {
+                throw new CucumberException("Corrupt event log: record of length " + length);
+            }
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            return bytes;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    private void replay(byte type, int length, Formatter formatter, Reporter reporter) throws IOException {
+        switch (type) {
+            case EventLogFormatter.STRING:
+                byte[] bytes = new byte[length];
+                record.readFully(bytes);
+                strings.add(new String(bytes, EventLogFormatter.UTF8));
+                break;
+            case EventLogFormatter.SYNTAX_ERROR:
+                String state = readString();
+                String event = readString();
+                int legalEventCount = readVarInt();
+                List<String> legalEvents = new ArrayList<String>(legalEventCount);
+                for (int i = 0; i < legalEventCount; i++) {
+                    legalEvents.add(readString());
+                }
+                formatter.syntaxError(state, event, legalEvents, readString(), readInteger());
+                break;
+            case EventLogFormatter.URI:
+                formatter.uri(readString());
+                break;
+            case EventLogFormatter.FEATURE:
+                formatter.feature(new Feature(readComments(), readTags(), readString(), readString(), readString(), readInteger(), readString()));
+                break;
+            case EventLogFormatter.SCENARIO_OUTLINE:
+                formatter.scenarioOutline(new ScenarioOutline(readComments(), readTags(), readString(), readString(), readString(), readInteger(), readString()));
+                break;
+            case EventLogFormatter.EXAMPLES:
+                formatter.examples(readExamples());
+                break;
+            case EventLogFormatter.START_OF_SCENARIO_LIFE_CYCLE:
+                formatter.startOfScenarioLifeCycle(readScenario());
+                break;
+            case EventLogFormatter.BACKGROUND:
+                formatter.background(new Background(readComments(), readString(), readString(), readString(), readInteger()));
+                break;
+            case EventLogFormatter.SCENARIO:
+                formatter.scenario(readScenario());
+                break;
+            case EventLogFormatter.STEP:
+                formatter.step(readStep());
+                break;
+            case EventLogFormatter.END_OF_SCENARIO_LIFE_CYCLE:
+                formatter.endOfScenarioLifeCycle(readScenario());
+                break;
+            case EventLogFormatter.EOF:
+                formatter.eof();
+                break;
+            case EventLogFormatter.DONE:
+                break;
+            case EventLogFormatter.BEFORE:
+                reporter.before(readMatch(), readResult());
+                break;
+            case EventLogFormatter.RESULT:
+                reporter.result(readResult());
+                break;
+            case EventLogFormatter.AFTER:
+                reporter.after(readMatch(), readResult());
+                break;
+            case EventLogFormatter.MATCH:
+                reporter.match(readMatch());
+                break;
+            case EventLogFormatter.EMBEDDING:
+                String mimeType = readString();
+                byte[] data = new byte[readVarInt()];
+                record.readFully(data);
+                reporter.embedding(mimeType, data);
+                break;
+            case EventLogFormatter.WRITE:
+                reporter.write(readString());
+                break;
+            default:
+                // Written by a later version. The length prefix lets us carry on with the next record.
+        }
+    }
+
+    private Scenario readScenario() throws IOException {
+        return new Scenario(readComments(), readTags(), readString(), readString(), readString(), readInteger(), readString());
+    }
+
+    private Examples readExamples() throws IOException {
+        List<Comment> comments = readComments();
+        List<Tag> tags = readTags();
+        String keyword = readString();
+        String name = readString();
+        String description = readString();
+        Integer line = readInteger();
+        String id = readString();
+        int rowCount = readVarInt();
+        List<ExamplesTableRow> rows = new ArrayList<ExamplesTableRow>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            rows.add(new ExamplesTableRow(readComments(), readCells(), readInteger(), readString()));
+        }
+        return new Examples(comments, tags, keyword, name, description, line, id, rows);
+    }
+
+    private Step readStep() throws IOException {
+        List<Comment> comments = readComments();
+        String keyword = readString();
+        String name = readString();
+        Integer line = readInteger();
+        List<DataTableRow> rows = null;
+        int rowCount = readVarInt() - 1;
+        if (rowCount >= 0) {
+            rows = new ArrayList<DataTableRow>(rowCount);
+            for (int i = 0; i < rowCount; i++) {
+                rows.add(new DataTableRow(readComments(), readCells(), readInteger()));
+            }
+        }
+        DocString docString = null;
+        if (record.readBoolean()) {
+            docString = new DocString(readString(), readString(), readInteger());
+        }
+        return new Step(comments, keyword, name, line, rows, docString);
+    }
+
+    private List<Comment> readComments() throws IOException {
+        int count = readVarInt() - 1;
+        if (count < 0) {
+            return null;
+        }
+        List<Comment> comments = new ArrayList<Comment>(count);
+        for (int i = 0; i < count; i++) {
+            comments.add(new Comment(readString(), readInteger()));
+        }
+        return comments;
+    }
+
+    private List<Tag> readTags() throws IOException {
+        int count = readVarInt();
+        List<Tag> tags = new ArrayList<Tag>(count);
+        for (int i = 0; i < count; i++) {
+            tags.add(new Tag(readString(), readInteger()));
+        }
+        return tags;
+    }
+
+    private List<String> readCells() throws IOException {
+        int count = readVarInt();
+        List<String> cells = new ArrayList<String>(count);
+        for (int i = 0; i < count; i++) {
+            cells.add(readString());
+        }
+        return cells;
+    }
+
+    private Match readMatch() throws IOException {
+        if (!record.readBoolean()) {
+            return null;
+        }
+        List<Argument> arguments = null;
+        int count = readVarInt() - 1;
+        if (count >= 0) {
+            arguments = new ArrayList<Argument>(count);
+            for (int i = 0; i < count; i++) {
+                arguments.add(new Argument(readInteger(), readString()));
+            }
+        }
+        return new Match(arguments, readString());
+    }
+
+    private Result readResult() throws IOException {
+        String status = readString();
+        Long duration = record.readBoolean() ? record.readLong() : null;
+        boolean hasError = record.readBoolean();
+        String errorMessage = readString();
+        if (hasError) {
+            return new Result(status, duration, new RecordedError(errorMessage), DUMMY_ARG);
+        }
+        return new Result(status, duration, errorMessage);
+    }
+
+    private Integer readInteger() throws IOException {
+        int value = readVarInt();
+        return value == 0 ? null : value - 1;
+    }
+
+    private String readString() throws IOException {
+        int value = readVarInt();
+        if (value == EventLogFormatter.NULL_STRING) {
+            return null;
+        } else if (value == EventLogFormatter.INLINE_STRING) {
+            byte[] bytes = new byte[readVarInt()];
+            record.readFully(bytes);
+            return new String(bytes, EventLogFormatter.UTF8);
+        } else {
+            int id = value - EventLogFormatter.FIRST_STRING_ID;
+            if (id >= strings.size()) {
+                throw new CucumberException("Corrupt event log: unknown string " + id);
+            }
+            return strings.get(id);
+        }
+    }
+
+    private int readVarInt() throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = record.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    /**
+     * Stands in for the error of a failed result. It prints the stack trace that was recorded.
+     */
+    private static class RecordedError extends Throwable {
+        private final String stackTrace;
+
+        RecordedError(String stackTrace) {
+            this.stackTrace = stackTrace;
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+
+        @Override
+        public void printStackTrace(PrintStream s) {
+            s.print(stackTrace);
+        }
+
+        @Override
+        public void printStackTrace(PrintWriter s) {
+            s.print(stackTrace);
+        }
+    }
+}
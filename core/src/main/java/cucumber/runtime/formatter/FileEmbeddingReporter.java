@@ -0,0 +1,18 @@
+package cucumber.runtime.formatter;
+
+import gherkin.formatter.Reporter;
+
+import java.io.File;
+
+/**
+ * A {@link Reporter} that can embed a file without reading all of it into memory first. Use
+ * {@link Embeddings#embed(Reporter, String, File)} to embed a file with any reporter.
+ */
+public interface FileEmbeddingReporter extends Reporter {
+    /**
+     * @param mimeType what the file contains.
+     * @param file     the file to embed. It must not be changed or deleted before the run has finished,
+     *                 because reporters may read it later, or link to it.
+     */
+    void embedding(String mimeType, File file);
+}
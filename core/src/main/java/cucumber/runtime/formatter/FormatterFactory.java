@@ -34,10 +34,13 @@ public class FormatterFactory {
     private static final Map<String, Class<? extends Formatter>> FORMATTER_CLASSES = new HashMap<String, Class<? extends Formatter>>() {{
         put("null", NullFormatter.class);
         put("junit", JUnitFormatter.class);
+        put("junit-streaming", StreamingJUnitFormatter.class);
         put("html", HTMLFormatter.class);
         put("pretty", CucumberPrettyFormatter.class);
         put("progress", ProgressFormatter.class);
         put("json", JSONFormatter.class);
+        put("ndjson", NdjsonFormatter.class);
+        put("eventlog", EventLogFormatter.class);
         put("usage", UsageFormatter.class);
         put("rerun", RerunFormatter.class);
     }};
@@ -1,13 +1,12 @@
 package cucumber.runtime.formatter;
 
 import cucumber.runtime.CucumberException;
+import cucumber.runtime.Env;
 import cucumber.runtime.io.URLOutputStream;
 import gherkin.deps.com.google.gson.Gson;
-import gherkin.deps.com.google.gson.GsonBuilder;
 import gherkin.formatter.Formatter;
 import gherkin.formatter.Mappable;
 import gherkin.formatter.NiceAppendable;
-import gherkin.formatter.Reporter;
 import gherkin.formatter.model.Background;
 import gherkin.formatter.model.Examples;
 import gherkin.formatter.model.Feature;
@@ -17,18 +16,40 @@ import gherkin.formatter.model.Scenario;
 import gherkin.formatter.model.ScenarioOutline;
 import gherkin.formatter.model.Step;
 
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.math.BigInteger;
 import java.net.URL;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-
-class HTMLFormatter implements Formatter, Reporter {
-    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes report.js and the assets of the html report to a directory. Embedded images and videos are written
+ * to files of their own on a background thread, once for each distinct content. Embedded files are copied
+ * without reading them into memory.
+ * <p/>
+ * Embeddings can be limited in size with {@value #MAX_EMBEDDING_SIZE_KEY} (in bytes, as a system property or
+ * environment variable). Larger text is cut short in the report and written to a file in full. Larger images
+ * and videos are left out.
+ */
+class HTMLFormatter implements Formatter, FileEmbeddingReporter {
+    static final String MAX_EMBEDDING_SIZE_KEY = "cucumber.html.max_embedding_size";
+    private static final int EMBEDDING_WRITER_QUEUE_SIZE = 16;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final Gson gson = new Gson();
     private static final String JS_FORMATTER_VAR = "formatter";
     private static final String JS_REPORT_FILENAME = "report.js";
     private static final String[] TEXT_ASSETS = new String[]{"/cucumber/formatter/formatter.js", "/cucumber/formatter/index.html", "/cucumber/formatter/jquery-1.8.2.min.js", "/cucumber/formatter/style.css"};
@@ -44,13 +65,43 @@ class HTMLFormatter implements Formatter, Reporter {
     };
 
     private final URL htmlReportDir;
+    private final long maxEmbeddingSize;
+    private final MessageDigest sha1;
+    private final Map<String, String> embeddedFileNamesByDigest = new HashMap<String, String>();
     private NiceAppendable jsOut;
+    private ThreadPoolExecutor embeddingWriter;
+    private volatile CucumberException embeddingWriteFailure;
 
     private boolean firstFeature = true;
     private int embeddedIndex;
 
     public HTMLFormatter(URL htmlReportDir) {
+        this(htmlReportDir, parseMaxEmbeddingSize(new Env("cucumber-jvm").get(MAX_EMBEDDING_SIZE_KEY)));
+    }
+
+    /**
+     * @param htmlReportDir    where to write the report.
+     * @param maxEmbeddingSize the size in bytes above which embeddings are cut short or left out, or 0 for no limit.
+     */
+    HTMLFormatter(URL htmlReportDir, long maxEmbeddingSize) {
         this.htmlReportDir = htmlReportDir;
+        this.maxEmbeddingSize = maxEmbeddingSize;
+        try {
+            this.sha1 = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new CucumberException(e);
+        }
+    }
+
+    private static long parseMaxEmbeddingSize(String maxEmbeddingSize) {
+        if (maxEmbeddingSize == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(maxEmbeddingSize.trim());
+        } catch (NumberFormatException e) {
+            throw new CucumberException(MAX_EMBEDDING_SIZE_KEY + " must be a number of bytes, but was " + maxEmbeddingSize, e);
+        }
     }
 
     @Override
@@ -107,10 +158,12 @@ class HTMLFormatter implements Formatter, Reporter {
             jsOut().append("});");
             copyReportFiles();
         }
+        awaitEmbeddingWrites();
     }
 
     @Override
     public void close() {
+        awaitEmbeddingWrites();
         jsOut().close();
     }
 
@@ -146,18 +199,125 @@ class HTMLFormatter implements Formatter, Reporter {
 
     @Override
     public void embedding(String mimeType, byte[] data) {
+        embedding(mimeType, new BytesEmbedding(data));
+    }
+
+    @Override
+    public void embedding(String mimeType, File file) {
+        embedding(mimeType, new FileEmbedding(file));
+    }
+
+    private void embedding(String mimeType, Embedding embedding) {
         if(mimeType.startsWith("text/")) {
-            // just pass straight to the formatter to output in the html
-            jsFunctionCall("embedding", mimeType, new String(data));
+            if (isTooLarge(embedding.size())) {
+                String fileName = embeddedFileName(embedding, "txt");
+                byte[] head = embedding.head((int) maxEmbeddingSize);
+                int length = utf8Length(head);
+                String text = new String(head, 0, length, UTF_8);
+                jsFunctionCall("embedding", mimeType, String.format("%s\n... %d more bytes in %s", text, embedding.size() - length, fileName));
+            } else {
+                // just pass straight to the formatter to output in the html
+                jsFunctionCall("embedding", mimeType, new String(embedding.bytes()));
+            }
         } else {
             // Creating a file instead of using data urls to not clutter the js file
             String extension = MIME_TYPES_EXTENSIONS.get(mimeType);
             if (extension != null) {
-                StringBuilder fileName = new StringBuilder("embedded").append(embeddedIndex++).append(".").append(extension);
-                writeBytesAndClose(data, reportFileOutputStream(fileName.toString()));
-                jsFunctionCall("embedding", mimeType, fileName);
+                if (isTooLarge(embedding.size())) {
+                    jsFunctionCall("embedding", "text/plain", String.format("%s embedding of %d bytes left out, because it is larger than %d bytes", mimeType, embedding.size(), maxEmbeddingSize));
+                } else {
+                    jsFunctionCall("embedding", mimeType, embeddedFileName(embedding, extension));
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the length of the bytes up to the last complete UTF-8 character.
+     */
+    static int utf8Length(byte[] bytes) {
+        int start = bytes.length - 1;
+        while (start > 0 && bytes.length - start < 4 && (bytes[start] & 0xC0) == 0x80) {
+            // a continuation byte
+            start--;
+        }
+        if (start < 0) {
+            return 0;
+        }
+        int lead = bytes[start] & 0xFF;
+        int characterLength = lead >= 0xF0 ? 4 : lead >= 0xE0 ? 3 : lead >= 0xC0 ? 2 : 1;
+        return bytes.length - start < characterLength ? start : bytes.length;
+    }
+
+    private boolean isTooLarge(long size) {
+        return maxEmbeddingSize > 0 && size > maxEmbeddingSize;
+    }
+
+    /**
+     * @return the name of the file with the same content, or of a new file that the embedding is written to in the background.
+     */
+    private String embeddedFileName(Embedding embedding, String extension) {
+        String digest = new BigInteger(1, embedding.digest()).toString(16) + "." + extension;
+        String fileName = embeddedFileNamesByDigest.get(digest);
+        if (fileName == null) {
+            fileName = "embedded" + embeddedIndex++ + "." + extension;
+            embeddedFileNamesByDigest.put(digest, fileName);
+            final String name = fileName;
+            final Embedding queued = embedding.copy();
+            embeddingWriter().execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        queued.writeTo(reportFileOutputStream(name));
+                    } catch (CucumberException e) {
+                        embeddingWriteFailure = e;
+                    } catch (Throwable t) {
+                        embeddingWriteFailure = new CucumberException("Failed to write embedding " + name, t);
+                    }
+                }
+            });
+        }
+        return fileName;
+    }
+
+    /**
+     * Embeddings are written one at a time. When the queue is full the embedding is written on the calling
+     * thread, so no more than a few embeddings are held in memory.
+     */
+    private ThreadPoolExecutor embeddingWriter() {
+        if (embeddingWriter == null) {
+            embeddingWriter = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<Runnable>(EMBEDDING_WRITER_QUEUE_SIZE), new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "cucumber-html-embedding-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            }, new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+        return embeddingWriter;
+    }
+
+    private void awaitEmbeddingWrites() {
+        if (embeddingWriter != null) {
+            embeddingWriter.shutdown();
+            try {
+                while (!embeddingWriter.awaitTermination(1, TimeUnit.SECONDS)) {
+                    // Large embeddings can take a while.
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CucumberException("Interrupted while writing embeddings", e);
+            } finally {
+                embeddingWriter = null;
             }
         }
+        if (embeddingWriteFailure != null) {
+            CucumberException failure = embeddingWriteFailure;
+            embeddingWriteFailure = null;
+            throw failure;
+        }
     }
 
     @Override
@@ -207,7 +367,11 @@ class HTMLFormatter implements Formatter, Reporter {
 
     private void writeBytesAndClose(byte[] buf, OutputStream out) {
         try {
-            out.write(buf);
+            try {
+                out.write(buf);
+            } finally {
+                out.close();
+            }
         } catch (IOException e) {
             throw new CucumberException("Unable to write to report file item: ", e);
         }
@@ -216,7 +380,7 @@ class HTMLFormatter implements Formatter, Reporter {
     private NiceAppendable jsOut() {
         if (jsOut == null) {
             try {
-                jsOut = new NiceAppendable(new OutputStreamWriter(reportFileOutputStream(JS_REPORT_FILENAME), "UTF-8"));
+                jsOut = new NiceAppendable(new BufferedWriter(new OutputStreamWriter(reportFileOutputStream(JS_REPORT_FILENAME), "UTF-8")));
             } catch (IOException e) {
                 throw new CucumberException(e);
             }
@@ -232,4 +396,142 @@ class HTMLFormatter implements Formatter, Reporter {
         }
     }
 
-}
\ No newline at end of file
+    /**
+     * The content of an embedding, in memory or in a file.
+     */
+    private interface Embedding {
+        long size();
+
+        byte[] bytes();
+
+        byte[] head(int length);
+
+        byte[] digest();
+
+        /**
+         * @return an embedding whose content doesn't change when the caller reuses its buffer.
+         */
+        Embedding copy();
+
+        /**
+         * Writes the content and closes the stream.
+         */
+        void writeTo(OutputStream out);
+    }
+
+    private class BytesEmbedding implements Embedding {
+        private final byte[] data;
+
+        BytesEmbedding(byte[] data) {
+            this.data = data;
+        }
+
+        @Override
+        public long size() {
+            return data.length;
+        }
+
+        @Override
+        public byte[] bytes() {
+            return data;
+        }
+
+        @Override
+        public byte[] head(int length) {
+            byte[] head = new byte[length];
+            System.arraycopy(data, 0, head, 0, length);
+            return head;
+        }
+
+        @Override
+        public byte[] digest() {
+            return sha1.digest(data);
+        }
+
+        @Override
+        public Embedding copy() {
+            return new BytesEmbedding(data.clone());
+        }
+
+        @Override
+        public void writeTo(OutputStream out) {
+            writeBytesAndClose(data, out);
+        }
+    }
+
+    private class FileEmbedding implements Embedding {
+        private final File file;
+
+        FileEmbedding(File file) {
+            this.file = file;
+        }
+
+        @Override
+        public long size() {
+            return file.length();
+        }
+
+        @Override
+        public byte[] bytes() {
+            return Embeddings.read(file);
+        }
+
+        @Override
+        public byte[] head(int length) {
+            try {
+                InputStream in = new FileInputStream(file);
+                try {
+                    byte[] head = new byte[length];
+                    int offset = 0;
+                    int read;
+                    while (offset < length && (read = in.read(head, offset, length - offset)) != -1) {
+                        offset += read;
+                    }
+                    return head;
+                } finally {
+                    in.close();
+                }
+            } catch (IOException e) {
+                throw new CucumberException("Failed to read embedding " + file, e);
+            }
+        }
+
+        @Override
+        public byte[] digest() {
+            try {
+                InputStream in = new FileInputStream(file);
+                try {
+                    byte[] buffer = new byte[16 * 1024];
+                    int len;
+                    while ((len = in.read(buffer)) != -1) {
+                        sha1.update(buffer, 0, len);
+                    }
+                    return sha1.digest();
+                } finally {
+                    in.close();
+                }
+            } catch (IOException e) {
+                throw new CucumberException("Failed to read embedding " + file, e);
+            }
+        }
+
+        @Override
+        public Embedding copy() {
+            return this;
+        }
+
+        @Override
+        public void writeTo(OutputStream out) {
+            try {
+                InputStream in = new FileInputStream(file);
+                try {
+                    writeStreamAndClose(in, out);
+                } finally {
+                    in.close();
+                }
+            } catch (IOException e) {
+                throw new CucumberException("Failed to read embedding " + file, e);
+            }
+        }
+    }
+}
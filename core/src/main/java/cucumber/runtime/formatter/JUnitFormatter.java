@@ -27,13 +27,10 @@ import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.io.StringWriter;
 import java.io.Writer;
 import java.net.URL;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 
@@ -230,7 +227,7 @@ class JUnitFormatter implements Formatter, Reporter, StrictAware {
         TestCase.treatSkippedAsFailure = strict;
     }
 
-    private static class TestCase {
+    private static class TestCase extends JUnitTestCase {
         private static final DecimalFormat NUMBER_FORMAT = (DecimalFormat) NumberFormat.getNumberInstance(Locale.US);
 
         static {
@@ -248,9 +245,6 @@ class JUnitFormatter implements Formatter, Reporter, StrictAware {
         static Feature feature;
         static int examples = 0;
         static boolean treatSkippedAsFailure = false;
-        final List<Step> steps = new ArrayList<Step>();
-        final List<Result> results = new ArrayList<Result>();
-        final List<Result> hookResults = new ArrayList<Result>();
 
         private Element createElement(Document doc) {
             return doc.createElement("testcase");
@@ -266,14 +260,8 @@ class JUnitFormatter implements Formatter, Reporter, StrictAware {
 
             StringBuilder sb = new StringBuilder();
             addStepAndResultListing(sb);
-            Result skipped = null, failed = null;
-            for (Result result : results) {
-                if ("failed".equals(result.getStatus())) failed = result;
-                if ("undefined".equals(result.getStatus()) || "pending".equals(result.getStatus())) skipped = result;
-            }
-            for (Result result : hookResults) {
-                if (failed == null && "failed".equals(result.getStatus())) failed = result;
-            }
+            Result failed = failed();
+            Result skipped = skipped();
             Element child;
             if (failed != null) {
                 addStackTrace(sb, failed);
@@ -298,41 +286,10 @@ class JUnitFormatter implements Formatter, Reporter, StrictAware {
         }
 
         private String calculateTotalDurationString() {
-            long totalDurationNanos = 0;
-            for (Result r : results) {
-                totalDurationNanos += r.getDuration() == null ? 0 : r.getDuration();
-            }
-            for (Result r : hookResults) {
-                totalDurationNanos += r.getDuration() == null ? 0 : r.getDuration();
-            }
-            double totalDurationSeconds = ((double) totalDurationNanos) / 1000000000;
+            double totalDurationSeconds = ((double) durationNanos()) / 1000000000;
             return NUMBER_FORMAT.format(totalDurationSeconds);
         }
 
-        private void addStepAndResultListing(StringBuilder sb) {
-            for (int i = 0; i < steps.size(); i++) {
-                int length = sb.length();
-                String resultStatus = "not executed";
-                if (i < results.size()) {
-                    resultStatus = results.get(i).getStatus();
-                }
-                sb.append(steps.get(i).getKeyword());
-                sb.append(steps.get(i).getName());
-                do {
-                  sb.append(".");
-                } while (sb.length() - length < 76);
-                sb.append(resultStatus);
-                sb.append("\n");
-            }
-        }
-
-        private void addStackTrace(StringBuilder sb, Result failed) {
-            sb.append("\nStackTrace:\n");
-            StringWriter sw = new StringWriter();
-            failed.getError().printStackTrace(new PrintWriter(sw));
-            sb.append(sw.toString());
-        }
-
         private Element createElementWithMessage(Document doc, StringBuilder sb, String elementType, String message) {
             Element child = createElement(doc, sb, elementType);
             child.setAttribute("message", message);
@@ -0,0 +1,78 @@
+package cucumber.runtime.formatter;
+
+import gherkin.formatter.model.Result;
+import gherkin.formatter.model.Step;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The steps and results of one scenario, as reported by {@link JUnitFormatter} and {@link StreamingJUnitFormatter}.
+ */
+class JUnitTestCase {
+    final List<Step> steps = new ArrayList<Step>();
+    final List<Result> results = new ArrayList<Result>();
+    final List<Result> hookResults = new ArrayList<Result>();
+
+    /**
+     * @return the last failed step result, or the first failed hook result if no step failed, or null.
+     */
+    Result failed() {
+        Result failed = null;
+        for (Result result : results) {
+            if ("failed".equals(result.getStatus())) failed = result;
+        }
+        for (Result result : hookResults) {
+            if (failed == null && "failed".equals(result.getStatus())) failed = result;
+        }
+        return failed;
+    }
+
+    /**
+     * @return the last undefined or pending step result, or null.
+     */
+    Result skipped() {
+        Result skipped = null;
+        for (Result result : results) {
+            if ("undefined".equals(result.getStatus()) || "pending".equals(result.getStatus())) skipped = result;
+        }
+        return skipped;
+    }
+
+    long durationNanos() {
+        long totalDurationNanos = 0;
+        for (Result r : results) {
+            totalDurationNanos += r.getDuration() == null ? 0 : r.getDuration();
+        }
+        for (Result r : hookResults) {
+            totalDurationNanos += r.getDuration() == null ? 0 : r.getDuration();
+        }
+        return totalDurationNanos;
+    }
+
+    void addStepAndResultListing(StringBuilder sb) {
+        for (int i = 0; i < steps.size(); i++) {
+            int length = sb.length();
+            String resultStatus = "not executed";
+            if (i < results.size()) {
+                resultStatus = results.get(i).getStatus();
+            }
+            sb.append(steps.get(i).getKeyword());
+            sb.append(steps.get(i).getName());
+            do {
+                sb.append(".");
+            } while (sb.length() - length < 76);
+            sb.append(resultStatus);
+            sb.append("\n");
+        }
+    }
+
+    void addStackTrace(StringBuilder sb, Result failed) {
+        sb.append("\nStackTrace:\n");
+        StringWriter sw = new StringWriter();
+        failed.getError().printStackTrace(new PrintWriter(sw));
+        sb.append(sw.toString());
+    }
+}
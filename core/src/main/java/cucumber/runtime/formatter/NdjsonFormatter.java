@@ -0,0 +1,225 @@
+package cucumber.runtime.formatter;
+
+import cucumber.runtime.CucumberException;
+import gherkin.deps.com.google.gson.Gson;
+import gherkin.deps.net.iharder.Base64;
+import gherkin.formatter.Formatter;
+import gherkin.formatter.Mappable;
+import gherkin.formatter.model.Background;
+import gherkin.formatter.model.Examples;
+import gherkin.formatter.model.Feature;
+import gherkin.formatter.model.Match;
+import gherkin.formatter.model.Result;
+import gherkin.formatter.model.Scenario;
+import gherkin.formatter.model.ScenarioOutline;
+import gherkin.formatter.model.Step;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes every event as one line of compact JSON (newline delimited JSON), and flushes after each line
+ * so that other tools can follow the output while Cucumber runs. Each line has the name of the event and
+ * a timestamp in milliseconds since the epoch. Results carry their duration in nanoseconds.
+ * Embedded files are encoded as they are read.
+ */
+class NdjsonFormatter implements Formatter, FileEmbeddingReporter {
+    private static final Gson gson = new Gson();
+    /**
+     * A multiple of 3, so that the Base64 of each chunk can be written one after the other.
+     */
+    private static final int EMBEDDING_CHUNK_SIZE = 3 * 16 * 1024;
+    private final Appendable out;
+
+    public NdjsonFormatter(Appendable out) {
+        this.out = out;
+    }
+
+    @Override
+    public void syntaxError(String state, String event, List<String> legalEvents, String uri, Integer line) {
+        Map<String, Object> syntaxError = event("syntaxError");
+        syntaxError.put("state", state);
+        syntaxError.put("unexpected", event);
+        syntaxError.put("expected", legalEvents);
+        syntaxError.put("uri", uri);
+        syntaxError.put("line", line);
+        writeLine(syntaxError);
+    }
+
+    @Override
+    public void uri(String uri) {
+        Map<String, Object> event = event("uri");
+        event.put("uri", uri);
+        writeLine(event);
+    }
+
+    @Override
+    public void feature(Feature feature) {
+        writeLine(event("feature", "feature", feature));
+    }
+
+    @Override
+    public void scenarioOutline(ScenarioOutline scenarioOutline) {
+        writeLine(event("scenarioOutline", "scenarioOutline", scenarioOutline));
+    }
+
+    @Override
+    public void examples(Examples examples) {
+        writeLine(event("examples", "examples", examples));
+    }
+
+    @Override
+    public void startOfScenarioLifeCycle(Scenario scenario) {
+        writeLine(event("startOfScenarioLifeCycle", "scenario", scenario));
+    }
+
+    @Override
+    public void background(Background background) {
+        writeLine(event("background", "background", background));
+    }
+
+    @Override
+    public void scenario(Scenario scenario) {
+        writeLine(event("scenario", "scenario", scenario));
+    }
+
+    @Override
+    public void step(Step step) {
+        writeLine(event("step", "step", step));
+    }
+
+    @Override
+    public void endOfScenarioLifeCycle(Scenario scenario) {
+        writeLine(event("endOfScenarioLifeCycle", "scenario", scenario));
+    }
+
+    @Override
+    public void done() {
+        writeLine(event("done"));
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (out instanceof Closeable) {
+                ((Closeable) out).close();
+            }
+        } catch (IOException e) {
+            throw new CucumberException(e);
+        }
+    }
+
+    @Override
+    public void eof() {
+        writeLine(event("eof"));
+    }
+
+    @Override
+    public void before(Match match, Result result) {
+        Map<String, Object> event = event("before", "match", match);
+        event.put("result", result.toMap());
+        writeLine(event);
+    }
+
+    @Override
+    public void result(Result result) {
+        writeLine(event("result", "result", result));
+    }
+
+    @Override
+    public void after(Match match, Result result) {
+        Map<String, Object> event = event("after", "match", match);
+        event.put("result", result.toMap());
+        writeLine(event);
+    }
+
+    @Override
+    public void match(Match match) {
+        writeLine(event("match", "match", match));
+    }
+
+    @Override
+    public void embedding(String mimeType, byte[] data) {
+        Map<String, Object> event = event("embedding");
+        event.put("mime_type", mimeType);
+        event.put("data", Base64.encodeBytes(data));
+        writeLine(event);
+    }
+
+    /**
+     * Writes the same line as {@link #embedding(String, byte[])}, encoding the file a chunk at a time.
+     */
+    @Override
+    public void embedding(String mimeType, File file) {
+        Map<String, Object> event = event("embedding");
+        event.put("mime_type", mimeType);
+        String json = gson.toJson(event);
+        try {
+            out.append(json, 0, json.length() - 1).append(",\"data\":\"");
+            InputStream in = new FileInputStream(file);
+            try {
+                byte[] chunk = new byte[EMBEDDING_CHUNK_SIZE];
+                int length;
+                while ((length = readChunk(in, chunk)) > 0) {
+                    out.append(Base64.encodeBytes(length == chunk.length ? chunk : Arrays.copyOf(chunk, length)));
+                }
+            } finally {
+                in.close();
+            }
+            out.append("\"}\n");
+            if (out instanceof Flushable) {
+                ((Flushable) out).flush();
+            }
+        } catch (IOException e) {
+            throw new CucumberException(e);
+        }
+    }
+
+    private static int readChunk(InputStream in, byte[] chunk) throws IOException {
+        int offset = 0;
+        int read;
+        while (offset < chunk.length && (read = in.read(chunk, offset, chunk.length - offset)) != -1) {
+            offset += read;
+        }
+        return offset;
+    }
+
+    @Override
+    public void write(String text) {
+        Map<String, Object> event = event("write");
+        event.put("text", text);
+        writeLine(event);
+    }
+
+    private Map<String, Object> event(String name) {
+        Map<String, Object> event = new LinkedHashMap<String, Object>();
+        event.put("event", name);
+        event.put("timestamp", System.currentTimeMillis());
+        return event;
+    }
+
+    private Map<String, Object> event(String name, String key, Mappable value) {
+        Map<String, Object> event = event(name);
+        event.put(key, value.toMap());
+        return event;
+    }
+
+    private void writeLine(Map<String, Object> event) {
+        try {
+            out.append(gson.toJson(event)).append('\n');
+            if (out instanceof Flushable) {
+                ((Flushable) out).flush();
+            }
+        } catch (IOException e) {
+            throw new CucumberException(e);
+        }
+    }
+}
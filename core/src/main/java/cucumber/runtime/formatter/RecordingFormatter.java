@@ -0,0 +1,27 @@
+package cucumber.runtime.formatter;
+
+import gherkin.formatter.Formatter;
+import gherkin.formatter.Reporter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records {@link Formatter} and {@link Reporter} events so they can be replayed later, in the
+ * same order, to another formatter and reporter. This is used to keep the output of scenarios
+ * that run on worker threads in feature file order.
+ */
+public class RecordingFormatter extends EventCapturingFormatter {
+    private final List<Event> events = new ArrayList<Event>();
+
+    public void replay(Formatter formatter, Reporter reporter) {
+        for (Event event : events) {
+            event.replay(formatter, reporter);
+        }
+    }
+
+    @Override
+    void record(Event event) {
+        events.add(event);
+    }
+}
@@ -0,0 +1,323 @@
+package cucumber.runtime.formatter;
+
+import cucumber.runtime.CucumberException;
+import cucumber.runtime.io.URLOutputStream;
+import cucumber.runtime.io.UTF8OutputStreamWriter;
+import gherkin.formatter.Formatter;
+import gherkin.formatter.Reporter;
+import gherkin.formatter.model.Background;
+import gherkin.formatter.model.Examples;
+import gherkin.formatter.model.Feature;
+import gherkin.formatter.model.Match;
+import gherkin.formatter.model.Result;
+import gherkin.formatter.model.Scenario;
+import gherkin.formatter.model.ScenarioOutline;
+import gherkin.formatter.model.Step;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URL;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes the same report as {@link JUnitFormatter}, but writes each testcase as soon as it has finished
+ * instead of keeping the whole report in memory. Testcases go to a temporary file; {@link #done()} writes
+ * the testsuite element with the totals and copies the testcases into it.
+ */
+class StreamingJUnitFormatter implements Formatter, Reporter, StrictAware {
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+    private final Writer out;
+    private final File testCasesFile;
+    private final Writer testCasesWriter;
+    private final XMLStreamWriter testCasesXml;
+
+    private boolean treatSkippedAsFailure = false;
+    private Feature feature;
+    private int examples = 0;
+    private TestCase testCase;
+
+    private int tests = 0;
+    private int failures = 0;
+    private int skipped = 0;
+    private long totalDurationNanos = 0;
+
+    public StreamingJUnitFormatter(URL out) throws IOException {
+        this.out = new UTF8OutputStreamWriter(new URLOutputStream(out));
+        this.testCasesFile = File.createTempFile("cucumber-junit", ".xml");
+        this.testCasesFile.deleteOnExit();
+        this.testCasesWriter = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(testCasesFile), "UTF-8"));
+        try {
+            this.testCasesXml = XML_OUTPUT_FACTORY.createXMLStreamWriter(testCasesWriter);
+        } catch (XMLStreamException e) {
+            throw new CucumberException("Error while processing unit report", e);
+        }
+    }
+
+    @Override
+    public void feature(Feature feature) {
+        this.feature = feature;
+    }
+
+    @Override
+    public void background(Background background) {
+        if (!isCurrentTestCaseCreatedNameless()) {
+            startTestCase(new TestCase());
+        }
+    }
+
+    @Override
+    public void scenario(Scenario scenario) {
+        if (isCurrentTestCaseCreatedNameless()) {
+            testCase.scenario = scenario;
+        } else {
+            startTestCase(new TestCase());
+            testCase.scenario = scenario;
+        }
+        testCase.name = examples > 0 ? scenario.getName() + "_" + examples-- : scenario.getName();
+        tests++;
+    }
+
+    private boolean isCurrentTestCaseCreatedNameless() {
+        return testCase != null && testCase.scenario == null;
+    }
+
+    private void startTestCase(TestCase newTestCase) {
+        finishTestCase();
+        testCase = newTestCase;
+        testCase.classname = feature.getName();
+    }
+
+    @Override
+    public void step(Step step) {
+        if (testCase != null) testCase.steps.add(step);
+    }
+
+    @Override
+    public void result(Result result) {
+        testCase.results.add(result);
+    }
+
+    @Override
+    public void before(Match match, Result result) {
+        if (!isCurrentTestCaseCreatedNameless()) {
+            startTestCase(new TestCase());
+        }
+        testCase.hookResults.add(result);
+    }
+
+    @Override
+    public void after(Match match, Result result) {
+        testCase.hookResults.add(result);
+    }
+
+    @Override
+    public void endOfScenarioLifeCycle(Scenario scenario) {
+        finishTestCase();
+    }
+
+    @Override
+    public void scenarioOutline(ScenarioOutline scenarioOutline) {
+        finishTestCase();
+    }
+
+    @Override
+    public void examples(Examples examples) {
+        this.examples = examples.getRows().size() - 1;
+    }
+
+    /**
+     * Writes the current testcase, if it belongs to a scenario, and forgets it.
+     */
+    private void finishTestCase() {
+        if (testCase != null && testCase.scenario != null) {
+            try {
+                writeTestCase(testCase);
+                testCasesXml.flush();
+            } catch (XMLStreamException e) {
+                throw new CucumberException("Error while writing unit report", e);
+            }
+        }
+        testCase = null;
+    }
+
+    private void writeTestCase(TestCase testCase) throws XMLStreamException {
+        long durationNanos = testCase.durationNanos();
+        totalDurationNanos += durationNanos;
+
+        StringBuilder text = new StringBuilder();
+        testCase.addStepAndResultListing(text);
+        Result failed = testCase.failed();
+        Result skippedResult = testCase.skipped();
+
+        testCasesXml.writeCharacters("\n    ");
+        testCasesXml.writeStartElement("testcase");
+        testCasesXml.writeAttribute("classname", testCase.classname);
+        testCasesXml.writeAttribute("name", testCase.name);
+        testCasesXml.writeAttribute("time", formatSeconds(durationNanos));
+        testCasesXml.writeCharacters("\n        ");
+        if (failed != null) {
+            failures++;
+            testCase.addStackTrace(text, failed);
+            writeElement(testCasesXml, "failure", failed.getErrorMessage(), text);
+        } else if (skippedResult != null) {
+            if (treatSkippedAsFailure) {
+                failures++;
+                writeElement(testCasesXml, "failure", "The scenario has pending or undefined step(s)", text);
+            } else {
+                skipped++;
+                writeElement(testCasesXml, "skipped", null, text);
+            }
+        } else {
+            writeElement(testCasesXml, "system-out", null, text);
+        }
+        testCasesXml.writeCharacters("\n    ");
+        testCasesXml.writeEndElement();
+    }
+
+    private static void writeElement(XMLStreamWriter xml, String elementType, String message, CharSequence text) throws XMLStreamException {
+        xml.writeStartElement(elementType);
+        if (message != null) {
+            xml.writeAttribute("message", message);
+        }
+        // "]]>" can't appear inside a CDATA section, so it is split over two sections.
+        String data = text.toString();
+        int start = 0;
+        int end;
+        while ((end = data.indexOf("]]>", start)) != -1) {
+            xml.writeCData(data.substring(start, end + 2));
+            start = end + 2;
+        }
+        xml.writeCData(data.substring(start));
+        xml.writeEndElement();
+    }
+
+    @Override
+    public void done() {
+        finishTestCase();
+        try {
+            testCasesXml.close();
+            testCasesWriter.close();
+
+            XMLStreamWriter xml = XML_OUTPUT_FACTORY.createXMLStreamWriter(out);
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeCharacters("\n");
+            xml.writeStartElement("testsuite");
+            xml.writeAttribute("failures", String.valueOf(failures));
+            xml.writeAttribute("name", JUnitFormatter.class.getName());
+            xml.writeAttribute("skipped", String.valueOf(skipped));
+            if (tests > 0) {
+                xml.writeAttribute("tests", String.valueOf(tests));
+            }
+            xml.writeAttribute("time", formatSeconds(totalDurationNanos));
+            if (tests == 0) {
+                // to avoid failed Jenkins jobs
+                xml.writeCharacters("\n    ");
+                xml.writeStartElement("testcase");
+                xml.writeAttribute("classname", "dummy");
+                xml.writeAttribute("name", "dummy");
+                xml.writeEmptyElement("skipped");
+                xml.writeAttribute("message", "No features found");
+                xml.writeEndElement();
+            } else {
+                // Closes the start tag, so the testcases can be copied in after it.
+                xml.writeCharacters("");
+                xml.flush();
+                copyTestCases();
+            }
+            xml.writeCharacters("\n");
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.writeCharacters("\n");
+            xml.close();
+            out.flush();
+        } catch (XMLStreamException e) {
+            throw new CucumberException("Error while writing unit report", e);
+        } catch (IOException e) {
+            throw new CucumberException("Error while writing unit report", e);
+        } finally {
+            testCasesFile.delete();
+        }
+    }
+
+    private void copyTestCases() throws IOException {
+        Reader in = new InputStreamReader(new FileInputStream(testCasesFile), "UTF-8");
+        try {
+            char[] buffer = new char[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    private static String formatSeconds(long nanos) {
+        DecimalFormat numberFormat = (DecimalFormat) NumberFormat.getNumberInstance(Locale.US);
+        numberFormat.applyPattern("0.######");
+        return numberFormat.format(((double) nanos) / 1000000000);
+    }
+
+    @Override
+    public void close() {
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw new CucumberException("Error while closing unit report", e);
+        }
+    }
+
+    @Override
+    public void setStrict(boolean strict) {
+        treatSkippedAsFailure = strict;
+    }
+
+    @Override
+    public void startOfScenarioLifeCycle(Scenario scenario) {
+        // NoOp
+    }
+
+    @Override
+    public void match(Match match) {
+    }
+
+    @Override
+    public void embedding(String mimeType, byte[] data) {
+    }
+
+    @Override
+    public void write(String text) {
+    }
+
+    @Override
+    public void uri(String uri) {
+    }
+
+    @Override
+    public void eof() {
+    }
+
+    @Override
+    public void syntaxError(String state, String event, List<String> legalEvents, String uri, Integer line) {
+    }
+
+    private static class TestCase extends JUnitTestCase {
+        Scenario scenario;
+        String classname;
+        String name;
+    }
+}
@@ -1,5 +1,6 @@
 package cucumber.runtime.formatter;
 
+import cucumber.runtime.LatencyHistogram;
 import cucumber.runtime.StepDefinitionMatch;
 import gherkin.deps.com.google.gson.Gson;
 import gherkin.deps.com.google.gson.GsonBuilder;
@@ -17,19 +18,34 @@ import gherkin.formatter.model.Step;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 
 /**
  * Formatter to measure performance of steps. Aggregated results for all steps can be computed
  * by adding {@link UsageStatisticStrategy} to the usageFormatter
+ * <p/>
+ * The durations of each step are kept in a {@link LatencyHistogram}, along with the
+ * {@value #MAX_SLOWEST_DURATIONS} slowest durations and their locations, so memory use doesn't grow with
+ * the number of times a step is run.
  */
 class UsageFormatter implements Formatter, Reporter {
     private static final BigDecimal NANOS_PER_SECOND = BigDecimal.valueOf(1000000000);
-    final Map<String, List<StepContainer>> usageMap = new HashMap<String, List<StepContainer>>();
-    private final Map<String, UsageStatisticStrategy> statisticStrategies = new HashMap<String, UsageStatisticStrategy>();
+    static final int MAX_SLOWEST_DURATIONS = 10;
+    private static final Comparator<StepDuration> FASTEST_FIRST = new Comparator<StepDuration>() {
+        @Override
+        public int compare(StepDuration a, StepDuration b) {
+            return a.nanos < b.nanos ? -1 : (a.nanos == b.nanos ? 0 : 1);
+        }
+    };
+    final Map<String, Map<String, StepContainer>> usageMap = new LinkedHashMap<String, Map<String, StepContainer>>();
+    private final Map<String, UsageStatisticStrategy> statisticStrategies = new LinkedHashMap<String, UsageStatisticStrategy>();
 
     private final NiceAppendable out;
 
@@ -45,6 +61,9 @@ class UsageFormatter implements Formatter, Reporter {
 
         addUsageStatisticStrategy("median", new MedianUsageStatisticStrategy());
         addUsageStatisticStrategy("average", new AverageUsageStatisticStrategy());
+        addUsageStatisticStrategy("90th percentile", new PercentileUsageStatisticStrategy(90));
+        addUsageStatisticStrategy("99th percentile", new PercentileUsageStatisticStrategy(99));
+        addUsageStatisticStrategy("max", new MaxUsageStatisticStrategy());
     }
 
     @Override
@@ -104,37 +123,40 @@ class UsageFormatter implements Formatter, Reporter {
     @Override
     public void done() {
         List<StepDefContainer> stepDefContainers = new ArrayList<StepDefContainer>();
-        for (Map.Entry<String, List<StepContainer>> usageEntry : usageMap.entrySet()) {
+        for (Map.Entry<String, Map<String, StepContainer>> usageEntry : usageMap.entrySet()) {
             StepDefContainer stepDefContainer = new StepDefContainer();
             stepDefContainers.add(stepDefContainer);
 
             stepDefContainer.source = usageEntry.getKey();
-            stepDefContainer.steps = createStepContainer(usageEntry.getValue());
+            stepDefContainer.steps = createStepContainers(usageEntry.getValue().values());
         }
 
         out.append(gson().toJson(stepDefContainers));
     }
 
-    private List<StepContainer> createStepContainer(List<StepContainer> stepContainers) {
+    private List<StepContainer> createStepContainers(Collection<StepContainer> stepContainers) {
         for (StepContainer stepContainer : stepContainers) {
+            stepContainer.count = stepContainer.histogram.getCount();
             stepContainer.aggregatedDurations = createAggregatedDurations(stepContainer);
-            formatDurationAsSeconds(stepContainer.durations);
+            stepContainer.durations = slowestFirst(stepContainer.slowest);
         }
-        return stepContainers;
+        return new ArrayList<StepContainer>(stepContainers);
     }
 
-    private void formatDurationAsSeconds(List<StepDuration> durations) {
+    private List<StepDuration> slowestFirst(Collection<StepDuration> slowest) {
+        List<StepDuration> durations = new ArrayList<StepDuration>(slowest);
+        Collections.sort(durations, Collections.reverseOrder(FASTEST_FIRST));
         for (StepDuration duration : durations) {
-            duration.duration = toSeconds(duration.duration.longValue());
+            duration.duration = toSeconds(duration.nanos);
         }
+        return durations;
     }
 
     private Map<String, BigDecimal> createAggregatedDurations(StepContainer stepContainer) {
-        Map<String, BigDecimal> aggregatedResults = new HashMap<String, BigDecimal>();
+        Map<String, BigDecimal> aggregatedResults = new LinkedHashMap<String, BigDecimal>();
         for (Map.Entry<String, UsageStatisticStrategy> calculatorEntry : statisticStrategies.entrySet()) {
             UsageStatisticStrategy statisticStrategy = calculatorEntry.getValue();
-            List<Long> rawDurations = getRawDurations(stepContainer.durations);
-            Long calculationResult = statisticStrategy.calculate(rawDurations);
+            Long calculationResult = statisticStrategy.calculate(stepContainer.histogram);
 
             String strategy = calculatorEntry.getKey();
             aggregatedResults.put(strategy, toSeconds(calculationResult));
@@ -146,15 +168,6 @@ class UsageFormatter implements Formatter, Reporter {
         return BigDecimal.valueOf(nanoSeconds).divide(NANOS_PER_SECOND);
     }
 
-    private List<Long> getRawDurations(List<StepDuration> stepDurations) {
-        List<Long> rawDurations = new ArrayList<Long>();
-
-        for (StepDuration stepDuration : stepDurations) {
-            rawDurations.add(stepDuration.duration.longValue());
-        }
-        return rawDurations;
-    }
-
     private Gson gson() {
         return new GsonBuilder().setPrettyPrinting().create();
     }
@@ -188,45 +201,42 @@ class UsageFormatter implements Formatter, Reporter {
     }
 
     private void addUsageEntry(Result result, String stepDefinition, String stepNameWithArgs) {
-        List<StepContainer> stepContainers = usageMap.get(stepDefinition);
+        Map<String, StepContainer> stepContainers = usageMap.get(stepDefinition);
         if (stepContainers == null) {
-            stepContainers = new ArrayList<StepContainer>();
+            stepContainers = new LinkedHashMap<String, StepContainer>();
             usageMap.put(stepDefinition, stepContainers);
         }
-        StepContainer stepContainer = findOrCreateStepContainer(stepNameWithArgs, stepContainers);
+        StepContainer stepContainer = stepContainers.get(stepNameWithArgs);
+        if (stepContainer == null) {
+            stepContainer = new StepContainer();
+            stepContainer.name = stepNameWithArgs;
+            stepContainers.put(stepNameWithArgs, stepContainer);
+        }
 
-        String stepLocation = getStepLocation();
-        Long duration = result.getDuration();
-        StepDuration stepDuration = createStepDuration(duration, stepLocation);
-        stepContainer.durations.add(stepDuration);
+        long duration = result.getDuration() == null ? 0 : result.getDuration();
+        stepContainer.histogram.add(duration);
+        addIfSlowest(stepContainer.slowest, duration);
     }
 
-    private String getStepLocation() {
-        StackTraceElement stepLocation = ((StepDefinitionMatch) match).getStepLocation();
-        return stepLocation.getFileName() + ":" + stepLocation.getLineNumber();
-    }
-
-    private StepDuration createStepDuration(Long duration, String location) {
-        StepDuration stepDuration = new StepDuration();
-        if (duration == null) {
-            stepDuration.duration = BigDecimal.ZERO;
-        } else {
-            stepDuration.duration = BigDecimal.valueOf(duration);
+    /**
+     * Keeps the {@value #MAX_SLOWEST_DURATIONS} slowest durations. The location is only looked up for those.
+     */
+    private void addIfSlowest(PriorityQueue<StepDuration> slowest, long duration) {
+        if (slowest.size() == MAX_SLOWEST_DURATIONS) {
+            if (slowest.peek().nanos >= duration) {
+                return;
+            }
+            slowest.poll();
         }
-        stepDuration.location = location;
-        return stepDuration;
+        StepDuration stepDuration = new StepDuration();
+        stepDuration.nanos = duration;
+        stepDuration.location = getStepLocation();
+        slowest.add(stepDuration);
     }
 
-    private StepContainer findOrCreateStepContainer(String stepNameWithArgs, List<StepContainer> stepContainers) {
-        for (StepContainer container : stepContainers) {
-            if (stepNameWithArgs.equals(container.name)) {
-                return container;
-            }
-        }
-        StepContainer stepContainer = new StepContainer();
-        stepContainer.name = stepNameWithArgs;
-        stepContainers.add(stepContainer);
-        return stepContainer;
+    private String getStepLocation() {
+        StackTraceElement stepLocation = ((StepDefinitionMatch) match).getStepLocation();
+        return stepLocation.getFileName() + ":" + stepLocation.getLineNumber();
     }
 
     @Override
@@ -264,13 +274,22 @@ class UsageFormatter implements Formatter, Reporter {
      */
     static class StepContainer {
         public String name;
+        public long count;
         public Map<String, BigDecimal> aggregatedDurations = new HashMap<String, BigDecimal>();
+        /**
+         * The slowest durations, slowest first.
+         */
         public List<StepDuration> durations = new ArrayList<StepDuration>();
+
+        transient final LatencyHistogram histogram = new LatencyHistogram();
+        transient final PriorityQueue<StepDuration> slowest = new PriorityQueue<StepDuration>(MAX_SLOWEST_DURATIONS, FASTEST_FIRST);
     }
 
     static class StepDuration {
         public BigDecimal duration;
         public String location;
+
+        transient long nanos;
     }
 
     /**
@@ -278,54 +297,67 @@ class UsageFormatter implements Formatter, Reporter {
      */
     static interface UsageStatisticStrategy {
         /**
-         * @param durationEntries list of execution times of steps as nanoseconds
+         * @param durations execution times of steps as nanoseconds
          * @return a statistical value (e.g. median, average, ..)
          */
-        Long calculate(List<Long> durationEntries);
+        Long calculate(LatencyHistogram durations);
     }
 
     /**
-     * Calculate the average of a list of duration entries
+     * Calculate the average of the duration entries
      */
     static class AverageUsageStatisticStrategy implements UsageStatisticStrategy {
         @Override
-        public Long calculate(List<Long> durationEntries) {
-            if (verifyNoNulls(durationEntries)) {
+        public Long calculate(LatencyHistogram durations) {
+            if (durations == null) {
                 return 0L;
             }
+            return durations.getMean();
+        }
+    }
 
-            long sum = 0;
-            for (Long duration : durationEntries) {
-                sum += duration;
-            }
-            return sum / durationEntries.size();
+    /**
+     * Calculate a percentile of the duration entries, estimated as described in {@link LatencyHistogram}
+     */
+    static class PercentileUsageStatisticStrategy implements UsageStatisticStrategy {
+        private final double percentile;
+
+        PercentileUsageStatisticStrategy(double percentile) {
+            this.percentile = percentile;
         }
 
-        private boolean verifyNoNulls(List<Long> durationEntries) {
-            return durationEntries == null || durationEntries.isEmpty() || durationEntries.contains(null);
+        @Override
+        public Long calculate(LatencyHistogram durations) {
+            if (durations == null) {
+                return 0L;
+            }
+            return durations.getPercentile(percentile);
         }
     }
 
     /**
-     * Calculate the median of a list of duration entries
+     * Calculate the median of the duration entries
      */
     static class MedianUsageStatisticStrategy implements UsageStatisticStrategy {
         @Override
-        public Long calculate(List<Long> durationEntries) {
-            if (verifyNoNulls(durationEntries)) {
+        public Long calculate(LatencyHistogram durations) {
+            if (durations == null) {
                 return 0L;
             }
-            Collections.sort(durationEntries);
-            int middle = durationEntries.size() / 2;
-            if (durationEntries.size() % 2 == 1) {
-                return durationEntries.get(middle);
-            } else {
-                return (durationEntries.get(middle - 1) + durationEntries.get(middle)) / 2;
-            }
+            return durations.getMedian();
         }
+    }
 
-        private boolean verifyNoNulls(List<Long> durationEntries) {
-            return durationEntries == null || durationEntries.isEmpty() || durationEntries.contains(null);
+    /**
+     * Calculate the longest of the duration entries
+     */
+    static class MaxUsageStatisticStrategy implements UsageStatisticStrategy {
+        @Override
+        public Long calculate(LatencyHistogram durations) {
+            if (durations == null) {
+                return 0L;
+            }
+            return durations.getMax();
         }
     }
 }
@@ -0,0 +1,15 @@
+package cucumber.runtime.io;
+
+import java.io.IOException;
+
+/**
+ * A {@link Resource} that can read all of its contents in one go, which is cheaper than
+ * reading them through {@link #getInputStream()}.
+ */
+public interface BytesResource extends Resource {
+    /**
+     * @return the contents of the resource.
+     * @throws IOException if the resource can't be read.
+     */
+    byte[] getBytes() throws IOException;
+}
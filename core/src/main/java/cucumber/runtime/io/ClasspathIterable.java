@@ -2,6 +2,7 @@ package cucumber.runtime.io;
 
 import cucumber.runtime.CucumberException;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
@@ -11,15 +12,27 @@ import java.net.URLDecoder;
 import java.util.Enumeration;
 import java.util.Iterator;
 
-public class ClasspathIterable implements Iterable<Resource> {
+public class ClasspathIterable implements Iterable<Resource>, Closeable {
     private final ClassLoader cl;
     private final ResourceIteratorFactory resourceIteratorFactory;
     private final String path;
     private final String suffix;
 
+    /**
+     * The zip files read by the iterators stay open until this is closed. Use a
+     * {@link ClasspathResourceLoader} to share them between paths.
+     */
     public ClasspathIterable(ClassLoader cl, String path, String suffix) {
+        this(cl, path, suffix, new DelegatingResourceIteratorFactory());
+    }
+
+    ClasspathIterable(ClassLoader cl, String path, String suffix, ZipIndexes zipIndexes) {
+        this(cl, path, suffix, new DelegatingResourceIteratorFactory(new ZipThenFileResourceIteratorFallback(zipIndexes)));
+    }
+
+    private ClasspathIterable(ClassLoader cl, String path, String suffix, ResourceIteratorFactory resourceIteratorFactory) {
         this.cl = cl;
-        this.resourceIteratorFactory = new DelegatingResourceIteratorFactory();
+        this.resourceIteratorFactory = resourceIteratorFactory;
         this.path = path;
         this.suffix = suffix;
     }
@@ -39,6 +52,16 @@ public class ClasspathIterable implements Iterable<Resource> {
         }
     }
 
+    /**
+     * Closes the zip files read so far, unless they belong to a {@link ClasspathResourceLoader}.
+     */
+    @Override
+    public void close() throws IOException {
+        if (resourceIteratorFactory instanceof Closeable) {
+            ((Closeable) resourceIteratorFactory).close();
+        }
+    }
+
     static String filePath(URL jarUrl) throws UnsupportedEncodingException, MalformedURLException {
         String path = new File(new URL(jarUrl.getFile()).getFile()).getAbsolutePath();
         String pathToJar = path.substring(0, path.indexOf("!"));
@@ -1,7 +1,11 @@
 package cucumber.runtime.io;
 
-public class ClasspathResourceLoader implements ResourceLoader {
+import java.io.Closeable;
+import java.io.IOException;
+
+public class ClasspathResourceLoader implements ResourceLoader, Closeable {
     private final ClassLoader classLoader;
+    private final ZipIndexes zipIndexes = new ZipIndexes();
 
     public ClasspathResourceLoader(ClassLoader classLoader) {
         this.classLoader = classLoader;
@@ -9,6 +13,14 @@ public class ClasspathResourceLoader implements ResourceLoader {
 
     @Override
     public Iterable<Resource> resources(String path, String suffix) {
-        return new ClasspathIterable(classLoader, path, suffix);
+        return new ClasspathIterable(classLoader, path, suffix, zipIndexes);
+    }
+
+    /**
+     * Closes the jars read so far. Resources found in them can't be read afterwards.
+     */
+    @Override
+    public void close() throws IOException {
+        zipIndexes.close();
     }
 }
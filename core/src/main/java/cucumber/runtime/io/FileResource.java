@@ -4,8 +4,11 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
 
-public class FileResource implements Resource {
+public class FileResource implements BytesResource {
     private final File root;
     private final File file;
 
@@ -31,6 +34,26 @@ public class FileResource implements Resource {
         return new FileInputStream(file);
     }
 
+    @Override
+    public byte[] getBytes() throws IOException {
+        FileInputStream in = new FileInputStream(file);
+        try {
+            FileChannel channel = in.getChannel();
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException(file + " is too big to read into memory");
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+                // The file is usually read in one go.
+            }
+            byte[] bytes = buffer.array();
+            return buffer.hasRemaining() ? Arrays.copyOf(bytes, buffer.position()) : bytes;
+        } finally {
+            in.close();
+        }
+    }
+
     @Override
     public String getClassName(String extension) {
         String path = getPath();
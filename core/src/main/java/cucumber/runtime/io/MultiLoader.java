@@ -1,6 +1,9 @@
 package cucumber.runtime.io;
 
-public class MultiLoader implements ResourceLoader {
+import java.io.Closeable;
+import java.io.IOException;
+
+public class MultiLoader implements ResourceLoader, Closeable {
     public static final String CLASSPATH_SCHEME = "classpath:";
 
     private final ClasspathResourceLoader classpath;
@@ -20,6 +23,11 @@ public class MultiLoader implements ResourceLoader {
         }
     }
 
+    @Override
+    public void close() throws IOException {
+        classpath.close();
+    }
+
     public static String packageName(String gluePath) {
         if (isClasspathPath(gluePath)) {
             gluePath = stripClasspathPrefix(gluePath);
@@ -0,0 +1,81 @@
+package cucumber.runtime.io;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * The entries of a zip file, sorted by name, so that entries with a given prefix can be found with a
+ * binary search. Indexes are shared through {@link ZipIndexes}, which also closes their zip files.
+ */
+class ZipIndex implements Closeable {
+    private static final Comparator<ZipEntry> BY_NAME = new Comparator<ZipEntry>() {
+        @Override
+        public int compare(ZipEntry a, ZipEntry b) {
+            return a.getName().compareTo(b.getName());
+        }
+    };
+
+    private final ZipFile zipFile;
+    private final long lastModified;
+    private final long length;
+    private final String[] names;
+    private final ZipEntry[] entries;
+
+    ZipIndex(File file) throws IOException {
+        this.lastModified = file.lastModified();
+        this.length = file.length();
+        this.zipFile = new ZipFile(file);
+
+        List<ZipEntry> entryList = new ArrayList<ZipEntry>(zipFile.size());
+        Enumeration<? extends ZipEntry> zipEntries = zipFile.entries();
+        while (zipEntries.hasMoreElements()) {
+            entryList.add(zipEntries.nextElement());
+        }
+        Collections.sort(entryList, BY_NAME);
+        this.entries = entryList.toArray(new ZipEntry[entryList.size()]);
+        this.names = new String[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            names[i] = entries[i].getName();
+        }
+    }
+
+    boolean isUpToDate(File file) {
+        return file.lastModified() == lastModified && file.length() == length;
+    }
+
+    @Override
+    public void close() throws IOException {
+        zipFile.close();
+    }
+
+    ZipFile getZipFile() {
+        return zipFile;
+    }
+
+    int size() {
+        return entries.length;
+    }
+
+    ZipEntry getEntry(int i) {
+        return entries[i];
+    }
+
+    /**
+     * @param prefix an entry name prefix.
+     * @return the position of the first entry whose name starts with the prefix, or of the first entry
+     *         after where it would have been.
+     */
+    int firstIndexOf(String prefix) {
+        int i = Arrays.binarySearch(names, prefix);
+        return i >= 0 ? i : -(i + 1);
+    }
+}
@@ -0,0 +1,55 @@
+package cucumber.runtime.io;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The {@link ZipIndex}es of the zip files read by one {@link ClasspathResourceLoader}. An index is
+ * kept until the zip file changes on disk or the indexes are closed, which closes their zip files.
+ */
+class ZipIndexes implements Closeable {
+    private final Map<String, ZipIndex> indexes = new HashMap<String, ZipIndex>();
+    private boolean closed;
+
+    /**
+     * @param zipPath the path of a zip file.
+     * @return the index of the zip file, shared with other callers.
+     * @throws IOException if the zip file can't be read.
+     */
+    synchronized ZipIndex get(String zipPath) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Zip indexes are closed");
+        }
+        File file = new File(zipPath);
+        ZipIndex index = indexes.get(zipPath);
+        if (index != null && index.isUpToDate(file)) {
+            return index;
+        }
+        ZipIndex newIndex = new ZipIndex(file);
+        indexes.put(zipPath, newIndex);
+        if (index != null) {
+            index.close();
+        }
+        return newIndex;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        IOException error = null;
+        for (ZipIndex index : indexes.values()) {
+            try {
+                index.close();
+            } catch (IOException e) {
+                error = e;
+            }
+        }
+        indexes.clear();
+        if (error != null) {
+            throw error;
+        }
+    }
+}
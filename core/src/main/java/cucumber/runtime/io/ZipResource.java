@@ -1,11 +1,13 @@
 package cucumber.runtime.io;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
-public class ZipResource implements Resource {
+public class ZipResource implements BytesResource {
     private final ZipFile jarFile;
     private final ZipEntry jarEntry;
 
@@ -24,6 +26,36 @@ public class ZipResource implements Resource {
         return jarFile.getInputStream(jarEntry);
     }
 
+    @Override
+    public byte[] getBytes() throws IOException {
+        InputStream in = jarFile.getInputStream(jarEntry);
+        try {
+            long size = jarEntry.getSize();
+            if (size < 0 || size > Integer.MAX_VALUE) {
+                return readUnknownSize(in);
+            }
+            byte[] bytes = new byte[(int) size];
+            int length = 0;
+            int read;
+            while (length < bytes.length && (read = in.read(bytes, length, bytes.length - length)) != -1) {
+                length += read;
+            }
+            return length == bytes.length ? bytes : Arrays.copyOf(bytes, length);
+        } finally {
+            in.close();
+        }
+    }
+
+    private static byte[] readUnknownSize(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
     @Override
     public String getClassName(String extension) {
         String path = getPath();
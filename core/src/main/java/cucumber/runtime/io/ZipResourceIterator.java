@@ -1,24 +1,37 @@
 package cucumber.runtime.io;
 
+import java.io.Closeable;
+import java.io.File;
 import java.io.IOException;
-import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
 
-public class ZipResourceIterator implements Iterator<Resource> {
+public class ZipResourceIterator implements Iterator<Resource>, Closeable {
     private final String path;
     private final String suffix;
-    private final ZipFile jarFile;
-    private final Enumeration<? extends ZipEntry> entries;
+    private final ZipIndex index;
+    private final boolean ownsIndex;
+    private int position;
     private Resource next;
 
+    /**
+     * Opens the zip file. {@link #close()} closes it, after which the resources can't be read.
+     */
     public ZipResourceIterator(String zipPath, String path, String suffix) throws IOException {
+        this(new ZipIndex(new File(zipPath)), path, suffix, true);
+    }
+
+    ZipResourceIterator(ZipIndex index, String path, String suffix) {
+        this(index, path, suffix, false);
+    }
+
+    private ZipResourceIterator(ZipIndex index, String path, String suffix, boolean ownsIndex) {
         this.path = path;
         this.suffix = suffix;
-        jarFile = new ZipFile(zipPath);
-        entries = jarFile.entries();
+        this.index = index;
+        this.ownsIndex = ownsIndex;
+        position = index.firstIndexOf(path);
 
         moveToNext();
     }
@@ -45,13 +58,28 @@ public class ZipResourceIterator implements Iterator<Resource> {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Closes the zip file, unless it was opened by the {@link ZipIndexes} of a {@link ClasspathResourceLoader}.
+     */
+    @Override
+    public void close() throws IOException {
+        if (ownsIndex) {
+            index.close();
+        }
+    }
+
     private void moveToNext() {
         next = null;
-        while (entries.hasMoreElements()) {
-            ZipEntry jarEntry = entries.nextElement();
+        while (position < index.size()) {
+            ZipEntry jarEntry = index.getEntry(position++);
             String entryName = jarEntry.getName();
-            if (entryName.startsWith(path) && ClasspathIterable.hasSuffix(suffix, entryName)) {
-                next = new ZipResource(jarFile, jarEntry);
+            if (!entryName.startsWith(path)) {
+                // Entries are sorted, so there are no more entries with the path as prefix.
+                position = index.size();
+                break;
+            }
+            if (ClasspathIterable.hasSuffix(suffix, entryName)) {
+                next = new ZipResource(index.getZipFile(), jarEntry);
                 break;
             }
         }
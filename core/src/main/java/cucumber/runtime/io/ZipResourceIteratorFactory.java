@@ -1,38 +1,75 @@
-package cucumber.runtime.io;
-
-import cucumber.runtime.CucumberException;
-
-import java.io.IOException;
-import java.net.URL;
-import java.util.Iterator;
-
-import static cucumber.runtime.io.ClasspathIterable.filePath;
-
-/**
- * Factory which creates {@link ZipResourceIterator}s for URL's with the "jar"
- * protocol.
- */
-public class ZipResourceIteratorFactory implements ResourceIteratorFactory {
-
-    /**
-     * Initializes a new instance of the ZipResourceIteratorFactory class.
-     */
-    public ZipResourceIteratorFactory() {
-        // intentionally empty
-    }
-
-    @Override
-    public boolean isFactoryFor(URL url) {
-        return "jar".equals(url.getProtocol());
-    }
-
-    @Override
-    public Iterator<Resource> createIterator(URL url, String path, String suffix) {
-        try {
-            String jarPath = filePath(url);
-            return new ZipResourceIterator(jarPath, path, suffix);
-        } catch (IOException e) {
-            throw new CucumberException(e);
-        }
-    }
-}
+package cucumber.runtime.io;
+
+import cucumber.runtime.CucumberException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Iterator;
+
+import static cucumber.runtime.io.ClasspathIterable.filePath;
+
+/**
+ * Factory which creates {@link ZipResourceIterator}s for URL's with the "jar"
+ * protocol.
+ */
+public class ZipResourceIteratorFactory implements ResourceIteratorFactory, Closeable {
+
+    /**
+     * The indexes of the zip files read so far.
+     */
+    private final ZipIndexes zipIndexes;
+
+    /**
+     * Whether the zip indexes were created by this factory, and are closed by it.
+     */
+    private final boolean ownsZipIndexes;
+
+    /**
+     * Initializes a new instance of the ZipResourceIteratorFactory class.
+     * The zip files it reads stay open until the factory is closed.
+     */
+    public ZipResourceIteratorFactory() {
+        this(new ZipIndexes(), true);
+    }
+
+    /**
+     * Initializes a new instance of the ZipResourceIteratorFactory class
+     * that shares zip indexes with its owner.
+     *
+     * @param zipIndexes The zip indexes, closed by the owner.
+     */
+    ZipResourceIteratorFactory(ZipIndexes zipIndexes) {
+        this(zipIndexes, false);
+    }
+
+    private ZipResourceIteratorFactory(ZipIndexes zipIndexes, boolean ownsZipIndexes) {
+        this.zipIndexes = zipIndexes;
+        this.ownsZipIndexes = ownsZipIndexes;
+    }
+
+    @Override
+    public boolean isFactoryFor(URL url) {
+        return "jar".equals(url.getProtocol());
+    }
+
+    @Override
+    public Iterator<Resource> createIterator(URL url, String path, String suffix) {
+        try {
+            String jarPath = filePath(url);
+            return new ZipResourceIterator(zipIndexes.get(jarPath), path, suffix);
+        } catch (IOException e) {
+            throw new CucumberException(e);
+        }
+    }
+
+    /**
+     * Closes the zip files read so far, unless the zip indexes are shared with an owner.
+     */
+    @Override
+    public void close() throws IOException {
+        if (ownsZipIndexes) {
+            zipIndexes.close();
+        }
+    }
+}
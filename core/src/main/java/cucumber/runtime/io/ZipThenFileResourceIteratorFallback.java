@@ -1,44 +1,65 @@
-package cucumber.runtime.io;
-
-import java.net.URL;
-import java.util.Iterator;
-
-/**
- * Resource iterator factory implementation which acts as a fallback when no
- * other factories are found.
- */
-public class ZipThenFileResourceIteratorFallback implements ResourceIteratorFactory {
-    /**
-     * The file resource iterator factory.
-     */
-    private final FileResourceIteratorFactory fileResourceIteratorFactory;
-
-    /**
-     * The ZIP resource iterator factory.
-     */
-    private final ZipResourceIteratorFactory zipResourceIteratorFactory;
-
-
-    /**
-     * Initializes a new instance of the ZipThenFileResourceIteratorFallback
-     * class.
-     */
-    public ZipThenFileResourceIteratorFallback() {
-        fileResourceIteratorFactory = new FileResourceIteratorFactory();
-        zipResourceIteratorFactory = new ZipResourceIteratorFactory();
-    }
-
-    @Override
-    public boolean isFactoryFor(URL url) {
-        return zipResourceIteratorFactory.isFactoryFor(url) || fileResourceIteratorFactory.isFactoryFor(url);
-    }
-
-    @Override
-    public Iterator<Resource> createIterator(URL url, String path, String suffix) {
-        if (zipResourceIteratorFactory.isFactoryFor(url)) {
-            return zipResourceIteratorFactory.createIterator(url, path, suffix);
-        } else {
-            return fileResourceIteratorFactory.createIterator(url, path, suffix);
-        }
-    }
-}
+package cucumber.runtime.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Iterator;
+
+/**
+ * Resource iterator factory implementation which acts as a fallback when no
+ * other factories are found.
+ */
+public class ZipThenFileResourceIteratorFallback implements ResourceIteratorFactory, Closeable {
+    /**
+     * The file resource iterator factory.
+     */
+    private final FileResourceIteratorFactory fileResourceIteratorFactory;
+
+    /**
+     * The ZIP resource iterator factory.
+     */
+    private final ZipResourceIteratorFactory zipResourceIteratorFactory;
+
+
+    /**
+     * Initializes a new instance of the ZipThenFileResourceIteratorFallback
+     * class. The zip files it reads stay open until the fallback is closed.
+     */
+    public ZipThenFileResourceIteratorFallback() {
+        fileResourceIteratorFactory = new FileResourceIteratorFactory();
+        zipResourceIteratorFactory = new ZipResourceIteratorFactory();
+    }
+
+    /**
+     * Initializes a new instance of the ZipThenFileResourceIteratorFallback
+     * class that shares zip indexes with its owner.
+     *
+     * @param zipIndexes The zip indexes, closed by the owner.
+     */
+    ZipThenFileResourceIteratorFallback(ZipIndexes zipIndexes) {
+        fileResourceIteratorFactory = new FileResourceIteratorFactory();
+        zipResourceIteratorFactory = new ZipResourceIteratorFactory(zipIndexes);
+    }
+
+    @Override
+    public boolean isFactoryFor(URL url) {
+        return zipResourceIteratorFactory.isFactoryFor(url) || fileResourceIteratorFactory.isFactoryFor(url);
+    }
+
+    @Override
+    public Iterator<Resource> createIterator(URL url, String path, String suffix) {
+        if (zipResourceIteratorFactory.isFactoryFor(url)) {
+            return zipResourceIteratorFactory.createIterator(url, path, suffix);
+        } else {
+            return fileResourceIteratorFactory.createIterator(url, path, suffix);
+        }
+    }
+
+    /**
+     * Closes the zip files read so far, unless the zip indexes are shared with an owner.
+     */
+    @Override
+    public void close() throws IOException {
+        zipResourceIteratorFactory.close();
+    }
+}
@@ -1,6 +1,7 @@
 package cucumber.runtime.model;
 
 import cucumber.runtime.FeatureBuilder;
+import cucumber.runtime.FeatureCache;
 import cucumber.runtime.Runtime;
 import cucumber.runtime.io.Resource;
 import cucumber.runtime.io.ResourceLoader;
@@ -30,7 +31,11 @@ public class CucumberFeature {
     private CucumberScenarioOutline currentScenarioOutline;
 
     public static List<CucumberFeature> load(ResourceLoader resourceLoader, List<String> featurePaths, final List<Object> filters, PrintStream out) {
-        final List<CucumberFeature> cucumberFeatures = load(resourceLoader, featurePaths, filters);
+        return load(resourceLoader, featurePaths, filters, out, null);
+    }
+
+    public static List<CucumberFeature> load(ResourceLoader resourceLoader, List<String> featurePaths, final List<Object> filters, PrintStream out, FeatureCache featureCache) {
+        final List<CucumberFeature> cucumberFeatures = load(resourceLoader, featurePaths, filters, featureCache);
         if (cucumberFeatures.isEmpty()) {
             if (featurePaths.isEmpty()) {
                 out.println(String.format("Got no path to feature directory or feature file"));
@@ -44,14 +49,19 @@ public class CucumberFeature {
     }
 
     public static List<CucumberFeature> load(ResourceLoader resourceLoader, List<String> featurePaths, final List<Object> filters) {
+        return load(resourceLoader, featurePaths, filters, (FeatureCache) null);
+    }
+
+    public static List<CucumberFeature> load(ResourceLoader resourceLoader, List<String> featurePaths, final List<Object> filters, FeatureCache featureCache) {
         final List<CucumberFeature> cucumberFeatures = new ArrayList<CucumberFeature>();
-        final FeatureBuilder builder = new FeatureBuilder(cucumberFeatures);
+        final FeatureBuilder builder = new FeatureBuilder(cucumberFeatures, featureCache);
+        final List<Resource> resources = new ArrayList<Resource>();
         for (String featurePath : featurePaths) {
-            Iterable<Resource> resources = resourceLoader.resources(featurePath, ".feature");
-            for (Resource resource : resources) {
-                builder.parse(resource, filters);
+            for (Resource resource : resourceLoader.resources(featurePath, ".feature")) {
+                resources.add(resource);
             }
         }
+        builder.parse(resources, filters, java.lang.Runtime.getRuntime().availableProcessors());
         Collections.sort(cucumberFeatures, new CucumberFeatureUriComparator());
         return cucumberFeatures;
     }
@@ -0,0 +1,107 @@
+package cucumber.runtime.table;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The cells of a table, kept in one array. Rows, rows below a given one and the transposed table are views on
+ * that array, so none of them copies cells. The views can't be modified.
+ */
+public class TableCells {
+    private final String[] cells;
+    private final int offset;
+    private final int rowCount;
+    private final int columnCount;
+    private final int rowStride;
+    private final int columnStride;
+    private final List<List<String>> rows = new Rows();
+
+    /**
+     * @param rows the rows of the table, which must all have the same number of cells.
+     */
+    public TableCells(List<? extends List<String>> rows) {
+        this.rowCount = rows.size();
+        this.columnCount = rowCount == 0 ? 0 : rows.get(0).size();
+        this.cells = new String[rowCount * columnCount];
+        int i = 0;
+        for (List<String> row : rows) {
+            for (String cell : row) {
+                cells[i++] = cell;
+            }
+        }
+        this.offset = 0;
+        this.rowStride = columnCount;
+        this.columnStride = 1;
+    }
+
+    private TableCells(String[] cells, int offset, int rowCount, int columnCount, int rowStride, int columnStride) {
+        this.cells = cells;
+        this.offset = offset;
+        this.rowCount = rowCount;
+        this.columnCount = columnCount;
+        this.rowStride = rowStride;
+        this.columnStride = columnStride;
+    }
+
+    /**
+     * @return the rows. The same list is returned every time.
+     */
+    public List<List<String>> rows() {
+        return rows;
+    }
+
+    /**
+     * @param firstRow the index of the first row to keep.
+     * @return the cells of the rows from {@code firstRow} on.
+     */
+    public TableCells from(int firstRow) {
+        if (firstRow < 0 || firstRow > rowCount) {
+            throw new IndexOutOfBoundsException("Row " + firstRow + " of " + rowCount);
+        }
+        return new TableCells(cells, offset + firstRow * rowStride, rowCount - firstRow, columnCount, rowStride, columnStride);
+    }
+
+    /**
+     * @return the cells with rows and columns swapped.
+     */
+    public TableCells transpose() {
+        return new TableCells(cells, offset, columnCount, rowCount, columnStride, rowStride);
+    }
+
+    private class Rows extends AbstractList<List<String>> implements RandomAccess {
+        @Override
+        public List<String> get(int row) {
+            if (row < 0 || row >= rowCount) {
+                throw new IndexOutOfBoundsException("Row " + row + " of " + rowCount);
+            }
+            return new Row(offset + row * rowStride);
+        }
+
+        @Override
+        public int size() {
+            return rowCount;
+        }
+    }
+
+    private class Row extends AbstractList<String> implements RandomAccess {
+        private final int start;
+
+        Row(int start) {
+            this.start = start;
+        }
+
+        @Override
+        public String get(int column) {
+            if (column < 0 || column >= columnCount) {
+                throw new IndexOutOfBoundsException("Column " + column + " of " + columnCount);
+            }
+            return cells[start + column * columnStride];
+        }
+
+        @Override
+        public int size() {
+            return columnCount;
+        }
+    }
+}
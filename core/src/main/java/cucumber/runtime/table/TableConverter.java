@@ -10,6 +10,7 @@ import cucumber.runtime.ParameterInfo;
 import cucumber.runtime.table.CamelCaseStringConverter;
 import cucumber.runtime.table.StringConverter;
 import cucumber.runtime.xstream.CellWriter;
+import cucumber.runtime.xstream.ComplexTypeBinder;
 import cucumber.runtime.xstream.ComplexTypeWriter;
 import cucumber.runtime.xstream.ListOfComplexTypeReader;
 import cucumber.runtime.xstream.ListOfSingleValueWriter;
@@ -100,7 +101,16 @@ public class TableConverter {
     }
 
     private <T> List<T> toListOfComplexType(DataTable dataTable, Class<T> itemType) {
-        HierarchicalStreamReader reader = new ListOfComplexTypeReader(itemType, convertTopCellsToFieldNames(dataTable), dataTable.cells(1));
+        List<List<String>> rows = dataTable.cells(1);
+        if (rows.isEmpty()) {
+            return Collections.emptyList();
+        }
+        ComplexTypeBinder<T> binder = xStream.getComplexTypeBinder(itemType, dataTable.topCells(), parameterInfo);
+        if (binder != null) {
+            return Collections.unmodifiableList(binder.bind(rows));
+        }
+
+        HierarchicalStreamReader reader = new ListOfComplexTypeReader(itemType, convertTopCellsToFieldNames(dataTable), rows);
         try {
             xStream.setParameterInfo(parameterInfo);
             return Collections.unmodifiableList((List<T>) xStream.unmarshal(reader));
@@ -38,6 +38,162 @@ public class TableDiffer {
         }
     }
 
+    /**
+     * Like {@link #calculateDiffs()}, but the order of the rows below the top row doesn't matter. Rows are matched by
+     * their cells, using a hash map, so large tables are diffed in linear time. Rows of the other table that have no
+     * match are reported as new at the end of the diff.
+     *
+     * @throws TableDiffException if the tables don't have the same rows.
+     */
+    public void calculateUnorderedDiffs() throws TableDiffException {
+        List<DiffableRow> fromRows = from.diffableRows();
+        List<DiffableRow> toRows = to.diffableRows();
+        List<DataTableRow> diffTableRows = new ArrayList<DataTableRow>();
+        boolean different = addTopRows(fromRows, toRows, diffTableRows);
+        fromRows = fromRows.subList(1, fromRows.size());
+        toRows = toRows.subList(1, toRows.size());
+
+        Map<DiffableRow, Integer> unmatchedCounts = new HashMap<DiffableRow, Integer>();
+        for (DiffableRow row : toRows) {
+            Integer count = unmatchedCounts.get(row);
+            unmatchedCounts.put(row, count == null ? 1 : count + 1);
+        }
+
+        Map<DiffableRow, Integer> matchedCounts = new HashMap<DiffableRow, Integer>();
+        for (DiffableRow row : fromRows) {
+            Integer count = unmatchedCounts.get(row);
+            if (count != null && count > 0) {
+                unmatchedCounts.put(row, count - 1);
+                Integer matched = matchedCounts.get(row);
+                matchedCounts.put(row, matched == null ? 1 : matched + 1);
+                diffTableRows.add((DataTableRow) row.row);
+            } else {
+                diffTableRows.add(diffRow(row, Row.DiffType.DELETE));
+                different = true;
+            }
+        }
+        for (DiffableRow row : toRows) {
+            Integer matched = matchedCounts.get(row);
+            if (matched != null && matched > 0) {
+                matchedCounts.put(row, matched - 1);
+            } else {
+                diffTableRows.add(diffRow(row, Row.DiffType.INSERT));
+                different = true;
+            }
+        }
+        if (different) {
+            throw new TableDiffException(from, to, new DataTable(diffTableRows, from.getTableConverter()));
+        }
+    }
+
+    /**
+     * Like {@link #calculateDiffs()}, but rows are matched by the cells in their key columns, using a hash map, so
+     * large tables are diffed in linear time and the order of the rows doesn't matter. A row whose other cells
+     * differ is reported as changed, with the new row right after it. Rows of the other table that have no match
+     * are reported as new at the end of the diff.
+     *
+     * @param keyColumns the names of the key columns, as in the top rows. They are looked up in the top row of each
+     *                   table, and the top rows themselves are compared like in {@link #calculateDiffs()}.
+     * @throws TableDiffException if the tables don't have the same rows.
+     * @throws IllegalArgumentException if a key column is missing from either table, or if two rows of either table
+     *                                  have the same key.
+     */
+    public void calculateDiffsByKey(String... keyColumns) throws TableDiffException {
+        int[] fromKeyIndices = keyIndices(from, keyColumns);
+        int[] toKeyIndices = keyIndices(to, keyColumns);
+        List<DiffableRow> fromRows = from.diffableRows();
+        List<DiffableRow> toRows = to.diffableRows();
+        List<DataTableRow> diffTableRows = new ArrayList<DataTableRow>();
+        boolean different = addTopRows(fromRows, toRows, diffTableRows);
+        fromRows = fromRows.subList(1, fromRows.size());
+        toRows = toRows.subList(1, toRows.size());
+        indicesByKey(fromRows, fromKeyIndices, from);
+        Map<List<String>, Integer> toIndicesByKey = indicesByKey(toRows, toKeyIndices, to);
+
+        boolean[] matched = new boolean[toRows.size()];
+        for (DiffableRow row : fromRows) {
+            Integer toIndex = toIndicesByKey.get(key(row, fromKeyIndices));
+            if (toIndex == null) {
+                diffTableRows.add(diffRow(row, Row.DiffType.DELETE));
+                different = true;
+            } else {
+                matched[toIndex] = true;
+                DiffableRow toRow = toRows.get(toIndex);
+                if (row.equals(toRow)) {
+                    diffTableRows.add((DataTableRow) row.row);
+                } else {
+                    diffTableRows.add(diffRow(row, Row.DiffType.DELETE));
+                    diffTableRows.add(diffRow(toRow, Row.DiffType.INSERT));
+                    different = true;
+                }
+            }
+        }
+        for (int i = 0; i < toRows.size(); i++) {
+            if (!matched[i]) {
+                diffTableRows.add(diffRow(toRows.get(i), Row.DiffType.INSERT));
+                different = true;
+            }
+        }
+        if (different) {
+            throw new TableDiffException(from, to, new DataTable(diffTableRows, from.getTableConverter()));
+        }
+    }
+
+    /**
+     * The top rows are the headers, so they are compared by position instead of being matched like the other rows.
+     *
+     * @return whether the top rows are different.
+     */
+    private boolean addTopRows(List<DiffableRow> fromRows, List<DiffableRow> toRows, List<DataTableRow> diffTableRows) {
+        DiffableRow fromTop = fromRows.get(0);
+        DiffableRow toTop = toRows.get(0);
+        if (fromTop.equals(toTop)) {
+            diffTableRows.add((DataTableRow) fromTop.row);
+            return false;
+        }
+        diffTableRows.add(diffRow(fromTop, Row.DiffType.DELETE));
+        diffTableRows.add(diffRow(toTop, Row.DiffType.INSERT));
+        return true;
+    }
+
+    private int[] keyIndices(DataTable table, String[] keyColumns) {
+        List<String> topCells = table.topCells();
+        int[] keyIndices = new int[keyColumns.length];
+        for (int i = 0; i < keyColumns.length; i++) {
+            keyIndices[i] = topCells.indexOf(keyColumns[i]);
+            if (keyIndices[i] == -1) {
+                throw new IllegalArgumentException("No such column: " + keyColumns[i] + " in " + topCells);
+            }
+        }
+        return keyIndices;
+    }
+
+    /**
+     * @throws IllegalArgumentException if two rows have the same key.
+     */
+    private Map<List<String>, Integer> indicesByKey(List<DiffableRow> rows, int[] keyIndices, DataTable table) {
+        Map<List<String>, Integer> indicesByKey = new HashMap<List<String>, Integer>();
+        for (int i = 0; i < rows.size(); i++) {
+            List<String> key = key(rows.get(i), keyIndices);
+            if (indicesByKey.put(key, i) != null) {
+                throw new IllegalArgumentException("Duplicate key " + key + " in:\n" + table);
+            }
+        }
+        return indicesByKey;
+    }
+
+    private List<String> key(DiffableRow row, int[] keyIndices) {
+        List<String> key = new ArrayList<String>(keyIndices.length);
+        for (int keyIndex : keyIndices) {
+            key.add(row.convertedRow.get(keyIndex));
+        }
+        return key;
+    }
+
+    private DataTableRow diffRow(DiffableRow row, Row.DiffType diffType) {
+        return new DataTableRow(row.row.getComments(), row.row.getCells(), row.row.getLine(), diffType);
+    }
+
     private Map<Integer, Delta> createDeltasByLine(List<Delta> deltas) {
         Map<Integer, Delta> deltasByLine = new HashMap<Integer, Delta>();
         for (Delta delta : deltas) {
@@ -10,6 +10,11 @@ class CalendarConverter extends TimeConverter<Calendar> {
         super(locale, new Class[]{Calendar.class});
     }
 
+    @Override
+    TimeConverter<Calendar> newInstance(Locale locale) {
+        return new CalendarConverter(locale);
+    }
+
     @Override
     protected Object transform(Format format, String argument) {
         Date date = (Date) super.transform(format, argument);
@@ -0,0 +1,276 @@
+package cucumber.runtime.xstream;
+
+import cucumber.deps.com.thoughtworks.xstream.converters.Converter;
+import cucumber.deps.com.thoughtworks.xstream.converters.SingleValueConverter;
+import cucumber.deps.com.thoughtworks.xstream.converters.javabean.JavaBeanConverter;
+import cucumber.deps.com.thoughtworks.xstream.converters.reflection.ReflectionConverter;
+import cucumber.deps.com.thoughtworks.xstream.converters.reflection.ReflectionProvider;
+import cucumber.deps.com.thoughtworks.xstream.mapper.Mapper;
+import cucumber.runtime.CucumberException;
+import cucumber.runtime.ParameterInfo;
+import cucumber.runtime.table.CamelCaseStringConverter;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Creates a List of objects from table rows, with a column for each field. It does what XStream does with a
+ * {@link ListOfComplexTypeReader}, but looks up the fields, or the setters of a class annotated with
+ * {@code @XStreamConverter(JavaBeanConverter.class)}, and the converters of their values only once.
+ * Binding a row then only converts its cells and sets them.
+ * <p/>
+ * Classes that XStream converts in another way, and fields that don't have a single value converter, can't
+ * be bound. {@link #create} returns null for them, and they are left to XStream.
+ */
+public class ComplexTypeBinder<T> {
+    private final Class<T> type;
+    private final Instantiator instantiator;
+    private final Column[] columns;
+
+    private ComplexTypeBinder(Class<T> type, Instantiator instantiator, Column[] columns) {
+        this.type = type;
+        this.instantiator = instantiator;
+        this.columns = columns;
+    }
+
+    /**
+     * @param xStream       where to look up converters.
+     * @param type          the type of the objects to create.
+     * @param header        the top cells of the table. They are camel cased to get field names.
+     * @param parameterInfo the step definition parameter, for its format. May be null.
+     * @return a binder, or null if the objects must be created by XStream.
+     */
+    static <T> ComplexTypeBinder<T> create(LocalizedXStreams.LocalizedXStream xStream, Class<T> type, List<String> header, ParameterInfo parameterInfo) {
+        xStream.processAnnotations(type);
+        Converter converter = xStream.getConverterLookup().lookupConverterForType(type);
+        CamelCaseStringConverter camelCase = new CamelCaseStringConverter();
+        Mapper mapper = xStream.getMapper();
+        Column[] columns = new Column[header.size()];
+        Instantiator instantiator;
+        if (converter.getClass() == ReflectionConverter.class) {
+            Set<Field> seenFields = new HashSet<Field>();
+            for (int i = 0; i < columns.length; i++) {
+                String fieldName = mapper.realMember(type, camelCase.map(header.get(i)));
+                Field field = getField(type, fieldName);
+                if (field == null || Modifier.isStatic(field.getModifiers())) {
+                    throw new CucumberException(String.format("No such field %s.%s", type.getName(), fieldName));
+                }
+                if (!seenFields.add(field)) {
+                    throw new CucumberException("Duplicate field " + fieldName);
+                }
+                if (Modifier.isTransient(field.getModifiers())) {
+                    // Ignored, like XStream does.
+                    continue;
+                }
+                SingleValueConverter fieldConverter = getConverter(xStream, field.getType(), mapper.getLocalConverter(field.getDeclaringClass(), fieldName), parameterInfo);
+                if (fieldConverter == null) {
+                    return null;
+                }
+                field.setAccessible(true);
+                columns[i] = new FieldColumn(field, fieldConverter);
+            }
+            instantiator = new ReflectionProviderInstantiator(xStream.getReflectionProvider(), type);
+        } else if (converter.getClass() == JavaBeanConverter.class) {
+            Set<String> seenProperties = new HashSet<String>();
+            for (int i = 0; i < columns.length; i++) {
+                String propertyName = mapper.realMember(type, camelCase.map(header.get(i)));
+                PropertyDescriptor property = getProperty(type, propertyName);
+                if (property == null || property.getWriteMethod() == null) {
+                    throw new CucumberException(String.format("No such property %s.%s", type.getName(), propertyName));
+                }
+                if (!seenProperties.add(propertyName)) {
+                    throw new CucumberException("Duplicate property " + propertyName);
+                }
+                SingleValueConverter propertyConverter = getConverter(xStream, property.getPropertyType(), null, parameterInfo);
+                if (propertyConverter == null) {
+                    return null;
+                }
+                Method setter = property.getWriteMethod();
+                setter.setAccessible(true);
+                columns[i] = new PropertyColumn(setter, propertyConverter);
+            }
+            try {
+                Constructor<T> constructor = type.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                instantiator = new ConstructorInstantiator(constructor);
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        } else {
+            return null;
+        }
+        return new ComplexTypeBinder<T>(type, instantiator, columns);
+    }
+
+    private static Field getField(Class<?> type, String name) {
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (field.getName().equals(name)) {
+                    return field;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static PropertyDescriptor getProperty(Class<?> type, String name) {
+        try {
+            for (PropertyDescriptor property : Introspector.getBeanInfo(type, Object.class).getPropertyDescriptors()) {
+                if (property.getName().equals(name)) {
+                    return property;
+                }
+            }
+            return null;
+        } catch (IntrospectionException e) {
+            throw new CucumberException(e);
+        }
+    }
+
+    private static SingleValueConverter getConverter(LocalizedXStreams.LocalizedXStream xStream, Class<?> valueType, Converter localConverter, ParameterInfo parameterInfo) {
+        if (localConverter != null) {
+            return localConverter instanceof SingleValueConverter ? (SingleValueConverter) localConverter : null;
+        }
+        if (!valueType.isPrimitive()) {
+            xStream.processAnnotations(valueType);
+        }
+        return xStream.getParameterConverter(valueType, parameterInfo);
+    }
+
+    /**
+     * @param rows the table rows, without the header.
+     * @return a new object for each row.
+     */
+    public List<T> bind(List<List<String>> rows) {
+        List<T> result = new ArrayList<T>(rows.size());
+        for (List<String> row : rows) {
+            T object = type.cast(instantiator.newInstance());
+            for (int i = 0; i < columns.length; i++) {
+                Column column = columns[i];
+                if (column == null) {
+                    continue;
+                }
+                Object value = column.converter.fromString(row.get(i));
+                if (value == null && column.isPrimitive()) {
+                    throw new CucumberException(String.format("Can't assign null value to one of the primitive fields in %s. Please use boxed types.", type.getName()));
+                }
+                column.set(object, value);
+            }
+            result.add(object);
+        }
+        return result;
+    }
+
+    private static abstract class Column {
+        final SingleValueConverter converter;
+
+        Column(SingleValueConverter converter) {
+            this.converter = converter;
+        }
+
+        abstract boolean isPrimitive();
+
+        abstract void set(Object object, Object value);
+    }
+
+    private static class FieldColumn extends Column {
+        private final Field field;
+
+        FieldColumn(Field field, SingleValueConverter converter) {
+            super(converter);
+            this.field = field;
+        }
+
+        @Override
+        boolean isPrimitive() {
+            return field.getType().isPrimitive();
+        }
+
+        @Override
+        void set(Object object, Object value) {
+            try {
+                field.set(object, value);
+            } catch (IllegalAccessException e) {
+                throw new CucumberException(e);
+            } catch (IllegalArgumentException e) {
+                throw new CucumberException(String.format("Can't assign %s to field %s", value, field), e);
+            }
+        }
+    }
+
+    private static class PropertyColumn extends Column {
+        private final Method setter;
+
+        PropertyColumn(Method setter, SingleValueConverter converter) {
+            super(converter);
+            this.setter = setter;
+        }
+
+        @Override
+        boolean isPrimitive() {
+            return setter.getParameterTypes()[0].isPrimitive();
+        }
+
+        @Override
+        void set(Object object, Object value) {
+            try {
+                setter.invoke(object, value);
+            } catch (IllegalAccessException e) {
+                throw new CucumberException(e);
+            } catch (IllegalArgumentException e) {
+                throw new CucumberException(String.format("Can't assign %s with %s", value, setter), e);
+            } catch (InvocationTargetException e) {
+                throw new CucumberException(e.getTargetException());
+            }
+        }
+    }
+
+    private interface Instantiator {
+        Object newInstance();
+    }
+
+    private static class ReflectionProviderInstantiator implements Instantiator {
+        private final ReflectionProvider reflectionProvider;
+        private final Class<?> type;
+
+        ReflectionProviderInstantiator(ReflectionProvider reflectionProvider, Class<?> type) {
+            this.reflectionProvider = reflectionProvider;
+            this.type = type;
+        }
+
+        @Override
+        public Object newInstance() {
+            return reflectionProvider.newInstance(type);
+        }
+    }
+
+    private static class ConstructorInstantiator implements Instantiator {
+        private final Constructor<?> constructor;
+
+        ConstructorInstantiator(Constructor<?> constructor) {
+            this.constructor = constructor;
+        }
+
+        @Override
+        public Object newInstance() {
+            try {
+                return constructor.newInstance();
+            } catch (InstantiationException e) {
+                throw new CucumberException(e);
+            } catch (IllegalAccessException e) {
+                throw new CucumberException(e);
+            } catch (InvocationTargetException e) {
+                throw new CucumberException(e.getTargetException());
+            }
+        }
+    }
+}
@@ -7,4 +7,9 @@ class DateConverter extends TimeConverter<Date> {
     public DateConverter(Locale locale) {
         super(locale, new Class[]{Date.class});
     }
+
+    @Override
+    TimeConverter<Date> newInstance(Locale locale) {
+        return new DateConverter(locale);
+    }
 }
@@ -4,13 +4,16 @@ import cucumber.deps.com.thoughtworks.xstream.converters.SingleValueConverter;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Pattern;
 
 class ListConverter implements SingleValueConverter {
     private final String delimiter;
+    private final Pattern delimiterPattern;
     private final SingleValueConverter delegate;
 
     public ListConverter(String delimiter, SingleValueConverter delegate) {
         this.delimiter = delimiter;
+        this.delimiterPattern = Pattern.compile(delimiter);
         this.delegate = delegate;
     }
 
@@ -34,7 +37,7 @@ class ListConverter implements SingleValueConverter {
 
     @Override
     public Object fromString(String s) {
-        final String[] strings = s.split(delimiter);
+        final String[] strings = delimiterPattern.split(s);
         List<Object> list = new ArrayList<Object>(strings.length);
         for (String elem : strings) {
             list.add(delegate.fromString(elem));
@@ -7,24 +7,39 @@ import cucumber.runtime.ParameterInfo;
 
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
+/**
+ * Gives each thread its own {@link LocalizedXStream} per locale. XStream's converters, and the ones looked up for
+ * step definition parameters, hold state while converting, so threads that run steps at the same time can't share
+ * them. Keeping them apart costs no locking.
+ */
 public class LocalizedXStreams {
-    private final Map<Locale, LocalizedXStream> xStreamsByLocale = new HashMap<Locale, LocalizedXStream>();
+    private final ThreadLocal<Map<Locale, LocalizedXStream>> xStreamsByLocale = new ThreadLocal<Map<Locale, LocalizedXStream>>() {
+        @Override
+        protected Map<Locale, LocalizedXStream> initialValue() {
+            return new HashMap<Locale, LocalizedXStream>();
+        }
+    };
     private final ClassLoader classLoader;
 
     public LocalizedXStreams(ClassLoader classLoader) {
         this.classLoader = classLoader;
     }
 
+    /**
+     * @return the current thread's xStream for the locale.
+     */
     public LocalizedXStream get(Locale locale) {
-        LocalizedXStream xStream = xStreamsByLocale.get(locale);
+        Map<Locale, LocalizedXStream> xStreams = xStreamsByLocale.get();
+        LocalizedXStream xStream = xStreams.get(locale);
         if (xStream == null) {
             xStream = newXStream(locale);
-            xStreamsByLocale.put(locale, xStream);
+            xStreams.put(locale, xStream);
         }
         return xStream;
     }
@@ -36,7 +51,9 @@ public class LocalizedXStreams {
 
     public static class LocalizedXStream extends XStream {
         private final Locale locale;
-        private static final List<TimeConverter> timeConverters = new ArrayList<TimeConverter>();
+        private final List<TimeConverter> timeConverters = new ArrayList<TimeConverter>();
+        private final Map<List<Object>, ComplexTypeBinder<?>> complexTypeBinders = new HashMap<List<Object>, ComplexTypeBinder<?>>();
+        private final Map<ParameterInfo, SingleValueConverter> parameterConverters = new HashMap<ParameterInfo, SingleValueConverter>();
 
         public LocalizedXStream(ClassLoader classLoader, ConverterLookup converterLookup, ConverterRegistry converterRegistry, Locale locale) {
             super(null, null, classLoader, null, converterLookup, converterRegistry);
@@ -100,6 +117,62 @@ public class LocalizedXStreams {
             }
         }
 
+        /**
+         * @return the converter that {@link ParameterInfo} compiled for the parameter, or null if it didn't yet.
+         */
+        public SingleValueConverter getParameterConverter(ParameterInfo parameterInfo) {
+            return parameterConverters.get(parameterInfo);
+        }
+
+        public void putParameterConverter(ParameterInfo parameterInfo, SingleValueConverter converter) {
+            parameterConverters.put(parameterInfo, converter);
+        }
+
+        /**
+         * Looks up the converter for a step definition parameter, so that it can be kept and used for all the
+         * parameter's values. Unlike the converters that {@link #getSingleValueConverter(Type)} returns, it doesn't
+         * depend on {@link #setParameterInfo(ParameterInfo)}: converters that hold state for one type or format
+         * are copied.
+         *
+         * @param type          the raw type of the parameter, or of its elements if it is a list.
+         * @param parameterInfo the parameter, for its format.
+         * @return the converter, or null if there is none.
+         */
+        public SingleValueConverter getParameterConverter(Class<?> type, ParameterInfo parameterInfo) {
+            SingleValueConverter converter = getSingleValueConverter(type);
+            if (!(converter instanceof SingleValueConverterWrapperExt)) {
+                return converter;
+            }
+            SingleValueConverter wrapped = ((SingleValueConverterWrapperExt) converter).getConverter();
+            if (wrapped instanceof TimeConverter) {
+                TimeConverter<?> timeConverter = ((TimeConverter<?>) wrapped).newInstance(locale);
+                timeConverter.setParameterInfoAndLocale(parameterInfo, locale);
+                return timeConverter;
+            }
+            if (wrapped instanceof ClassWithStringAssignableConstructorConverter) {
+                // The shared one remembers the constructor of the last type it was asked about.
+                ClassWithStringAssignableConstructorConverter constructorConverter = new ClassWithStringAssignableConstructorConverter();
+                constructorConverter.canConvert(type);
+                return constructorConverter;
+            }
+            return wrapped;
+        }
+
+        /**
+         * @return a binder for tables with the given header, created the first time it is asked for, or null if
+         *         tables of this type must be unmarshalled by XStream.
+         * @see ComplexTypeBinder#create
+         */
+        public <T> ComplexTypeBinder<T> getComplexTypeBinder(Class<T> type, List<String> header, ParameterInfo parameterInfo) {
+            // Copy the header, the caller's list may be a view that holds on to a whole table.
+            List<String> headerCopy = new ArrayList<String>(header);
+            List<Object> key = Arrays.<Object>asList(type, headerCopy, parameterInfo == null ? null : parameterInfo.getFormat());
+            if (!complexTypeBinders.containsKey(key)) {
+                complexTypeBinders.put(key, ComplexTypeBinder.create(this, type, headerCopy, parameterInfo));
+            }
+            return (ComplexTypeBinder<T>) complexTypeBinders.get(key);
+        }
+
         public SingleValueConverter createListConverter(String delimiter, SingleValueConverter elementConverter) {
             return new ListConverter(delimiter, elementConverter);
         }
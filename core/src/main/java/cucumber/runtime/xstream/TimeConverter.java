@@ -15,7 +15,7 @@ import static java.util.Arrays.asList;
 
 abstract class TimeConverter<T> extends ConverterWithFormat<T> {
     private final List<DateFormat> formats = new ArrayList<DateFormat>();
-    private String format;
+    private List<DateFormat> onlyFormat;
 
     TimeConverter(Locale locale, Class[] convertibleTypes) {
         super(convertibleTypes);
@@ -37,14 +37,14 @@ abstract class TimeConverter<T> extends ConverterWithFormat<T> {
     }
 
     public List<? extends Format> getFormats() {
-        return format == null ? formats : asList(getOnlyFormat());
+        return onlyFormat == null ? formats : onlyFormat;
     }
 
-    private Format getOnlyFormat() {
+    private List<DateFormat> getOnlyFormat(String format) {
         DateFormat dateFormat = new SimpleDateFormat(format, getLocale());
         dateFormat.setLenient(false);
 
-        return dateFormat;
+        return asList(dateFormat);
     }
 
     @Override
@@ -59,15 +59,20 @@ abstract class TimeConverter<T> extends ConverterWithFormat<T> {
     public void setParameterInfoAndLocale(ParameterInfo parameterInfo, Locale locale) {
         super.setParameterInfoAndLocale(parameterInfo, locale);
 
-        if (parameterInfo.getFormat() != null) {
-            format = parameterInfo.getFormat();
+        if (parameterInfo != null && parameterInfo.getFormat() != null) {
+            onlyFormat = getOnlyFormat(parameterInfo.getFormat());
         }
     }
 
     public void removeOnlyFormat() {
-        format = null;
+        onlyFormat = null;
     }
 
+    /**
+     * @return a new converter of the same type, that can be given its own format.
+     */
+    abstract TimeConverter<T> newInstance(Locale locale);
+
     public static List<Class> getTimeClasses() {
         List<Class> classes = new ArrayList<Class>();
         classes.add(Date.class);
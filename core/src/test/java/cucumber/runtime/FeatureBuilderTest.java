@@ -9,6 +9,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.mock;
@@ -60,10 +61,46 @@ public class FeatureBuilderTest {
         assertEquals("path/foo.feature", features.get(0).getPath());
     }
 
+    @Test
+    public void parses_on_several_threads_in_resource_order_ignoring_duplicates() throws IOException {
+        List<Resource> resources = asList(
+                createResourceMock("c.feature", "Feature: c"),
+                createResourceMock("a.feature", "Feature: a"),
+                createResourceMock("copy_of_c.feature", "Feature: c"),
+                createResourceMock("b.feature", "Feature: b"));
+        List<CucumberFeature> features = new ArrayList<CucumberFeature>();
+        FeatureBuilder builder = new FeatureBuilder(features, '/');
+
+        builder.parse(resources, NO_FILTERS, 4);
+
+        assertEquals(3, features.size());
+        assertEquals("c.feature", features.get(0).getPath());
+        assertEquals("a.feature", features.get(1).getPath());
+        assertEquals("b.feature", features.get(2).getPath());
+    }
+
+    @Test
+    public void decodes_features_in_other_encodings_without_reading_them_again() throws IOException {
+        Resource resource = mock(Resource.class);
+        when(resource.getPath()).thenReturn("foo.feature");
+        String source = "# encoding: iso-8859-1\nFeature: Sm\u00f8rebr\u00f8d\n";
+        when(resource.getInputStream()).thenReturn(new ByteArrayInputStream(source.getBytes("ISO-8859-1")));
+        List<CucumberFeature> features = new ArrayList<CucumberFeature>();
+        FeatureBuilder builder = new FeatureBuilder(features);
+
+        builder.parse(resource, NO_FILTERS);
+
+        assertEquals("Sm\u00f8rebr\u00f8d", features.get(0).getGherkinFeature().getName());
+    }
+
     private Resource createResourceMock(String featurePath) throws IOException {
+        return createResourceMock(featurePath, "Feature: foo");
+    }
+
+    private Resource createResourceMock(String featurePath, String source) throws IOException {
         Resource resource = mock(Resource.class);
         when(resource.getPath()).thenReturn(featurePath);
-        ByteArrayInputStream feature = new ByteArrayInputStream("Feature: foo".getBytes("UTF-8"));
+        ByteArrayInputStream feature = new ByteArrayInputStream(source.getBytes("UTF-8"));
         when(resource.getInputStream()).thenReturn(feature);
         return resource;
     }
@@ -0,0 +1,100 @@
+package cucumber.runtime;
+
+import cucumber.runtime.io.Resource;
+import cucumber.runtime.model.CucumberFeature;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static cucumber.runtime.formatter.TempDir.createTempDirectory;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FeatureCacheTest {
+    private static final String SOURCE = "" +
+            "# language: fr\n" +
+            "Fonctionnalité: foo\n" +
+            "  @bar\n" +
+            "  Scénario: bar\n" +
+            "    Soit a step\n" +
+            "  Scénario: baz\n" +
+            "    Soit another step\n";
+
+    @Test
+    public void parses_features_from_the_cache_on_later_runs() throws IOException {
+        File dir = createTempDirectory();
+        FeatureCache featureCache = new FeatureCache(dir);
+
+        List<CucumberFeature> firstRun = parse(featureCache, emptyList());
+        assertEquals(1, dir.listFiles().length);
+        List<CucumberFeature> secondRun = parse(featureCache, emptyList());
+
+        assertEquals(1, secondRun.size());
+        assertEquals("path/foo.feature", secondRun.get(0).getPath());
+        assertEquals("fr", secondRun.get(0).getI18n().getIsoCode());
+        assertEquals(firstRun.get(0).getFeatureElements().size(), secondRun.get(0).getFeatureElements().size());
+        assertEquals("a step", secondRun.get(0).getFeatureElements().get(0).getSteps().get(0).getName());
+    }
+
+    @Test
+    public void applies_filters_to_cached_features() throws IOException {
+        FeatureCache featureCache = new FeatureCache(createTempDirectory());
+        parse(featureCache, emptyList());
+
+        List<CucumberFeature> features = parse(featureCache, asList((Object) "@bar"));
+
+        assertEquals(1, features.get(0).getFeatureElements().size());
+    }
+
+    @Test
+    public void parses_again_when_the_cache_file_is_corrupt() throws IOException {
+        File dir = createTempDirectory();
+        FeatureCache featureCache = new FeatureCache(dir);
+        parse(featureCache, emptyList());
+        FileOutputStream out = new FileOutputStream(dir.listFiles()[0]);
+        out.write("garbage".getBytes("UTF-8"));
+        out.close();
+
+        List<CucumberFeature> features = parse(featureCache, emptyList());
+
+        assertEquals(2, features.get(0).getFeatureElements().size());
+    }
+
+    @Test
+    public void reads_back_the_parsed_feature() throws IOException {
+        FeatureCache featureCache = new FeatureCache(createTempDirectory());
+        featureCache.parse("checksum", SOURCE, "path/foo.feature");
+
+        assertNotNull(featureCache.read("checksum"));
+    }
+
+    @Test
+    public void refuses_classes_outside_the_gherkin_model() throws IOException {
+        File dir = createTempDirectory();
+        ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(new File(dir, "checksum.feature.ser")));
+        out.writeObject(new File("somewhere"));
+        out.close();
+
+        assertNull(new FeatureCache(dir).read("checksum"));
+    }
+
+    private List<CucumberFeature> parse(FeatureCache featureCache, List<Object> filters) throws IOException {
+        Resource resource = mock(Resource.class);
+        when(resource.getPath()).thenReturn("path/foo.feature");
+        when(resource.getInputStream()).thenReturn(new ByteArrayInputStream(SOURCE.getBytes("UTF-8")));
+        List<CucumberFeature> features = new ArrayList<CucumberFeature>();
+        new FeatureBuilder(features, '/', featureCache).parse(resource, filters);
+        return features;
+    }
+}
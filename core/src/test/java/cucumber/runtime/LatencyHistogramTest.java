@@ -0,0 +1,88 @@
+package cucumber.runtime;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void is_empty_before_anything_is_added() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(50));
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getMin());
+    }
+
+    @Test
+    public void interpolates_the_median_of_an_even_number_of_durations() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.add(10);
+        histogram.add(20);
+        histogram.add(30);
+
+        assertEquals(20, histogram.getMedian());
+        histogram.add(40);
+        assertEquals(25, histogram.getMedian());
+    }
+
+    @Test
+    public void counts_small_durations_exactly() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 50; nanos++) {
+            histogram.add(nanos);
+        }
+
+        assertEquals(50, histogram.getCount());
+        assertEquals(25, histogram.getPercentile(50));
+        assertEquals(45, histogram.getPercentile(90));
+        assertEquals(50, histogram.getPercentile(99));
+        assertEquals(50, histogram.getMax());
+        assertEquals(25, histogram.getMean());
+    }
+
+    @Test
+    public void estimates_percentiles_of_large_durations_within_a_few_percent() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long millis = 1; millis <= 1000; millis++) {
+            histogram.add(millis * 1000000);
+        }
+
+        assertWithinThreePercent(500 * 1000000L, histogram.getPercentile(50));
+        assertWithinThreePercent(900 * 1000000L, histogram.getPercentile(90));
+        assertWithinThreePercent(990 * 1000000L, histogram.getPercentile(99));
+        assertEquals(1000 * 1000000L, histogram.getPercentile(100));
+        assertEquals(1000 * 1000000L, histogram.getMax());
+    }
+
+    @Test
+    public void handles_the_longest_durations() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.add(Long.MAX_VALUE);
+
+        assertEquals(Long.MAX_VALUE, histogram.getPercentile(50));
+    }
+
+    @Test
+    public void adds_other_histograms() {
+        LatencyHistogram a = new LatencyHistogram();
+        a.add(10);
+        LatencyHistogram b = new LatencyHistogram();
+        b.add(20);
+        b.add(30);
+
+        a.add(b);
+
+        assertEquals(3, a.getCount());
+        assertEquals(20, a.getPercentile(50));
+        assertEquals(10, a.getMin());
+        assertEquals(30, a.getMax());
+    }
+
+    private static void assertWithinThreePercent(long expected, long actual) {
+        assertTrue(String.format("%d is not within 3%% of %d", actual, expected), Math.abs(actual - expected) <= expected * 0.03);
+    }
+}
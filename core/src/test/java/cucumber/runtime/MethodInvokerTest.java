@@ -0,0 +1,53 @@
+package cucumber.runtime;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class MethodInvokerTest {
+    @Test
+    public void invokes_method_without_timeout() throws Throwable {
+        MethodInvoker invoker = new MethodInvoker(Target.class.getMethod("greet", String.class), 0);
+        assertEquals("hello world", invoker.invoke(new Target(), "world"));
+    }
+
+    @Test
+    public void invokes_method_with_timeout() throws Throwable {
+        MethodInvoker invoker = new MethodInvoker(Target.class.getMethod("greet", String.class), 1000);
+        assertEquals("hello world", invoker.invoke(new Target(), "world"));
+    }
+
+    @Test(expected = TimeoutException.class)
+    public void times_out() throws Throwable {
+        MethodInvoker invoker = new MethodInvoker(Target.class.getMethod("sleep"), 50);
+        invoker.invoke(new Target());
+    }
+
+    @Test
+    public void rethrows_exception_thrown_by_the_method() throws Throwable {
+        MethodInvoker invoker = new MethodInvoker(Target.class.getMethod("fail"), 0);
+        try {
+            invoker.invoke(new Target());
+            fail();
+        } catch (IllegalStateException expected) {
+            assertEquals("boom", expected.getMessage());
+        }
+    }
+
+    public static class Target {
+        public String greet(String name) {
+            return "hello " + name;
+        }
+
+        public void sleep() throws InterruptedException {
+            Thread.sleep(1000);
+        }
+
+        public void fail() {
+            throw new IllegalStateException("boom");
+        }
+    }
+}
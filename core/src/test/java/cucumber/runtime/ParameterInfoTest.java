@@ -149,4 +149,39 @@ public class ParameterInfoTest {
         Date sampleDate = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.ENGLISH).parse("1985-02-12T16:05:12");
         assertEquals(sampleDate, parameterInfo.convert("1985-02-12T16:05:12", US));
     }
+
+    public void withDate(Date date) {
+    }
+
+    @Test
+    public void keeps_the_format_of_a_parameter_to_itself() throws NoSuchMethodException, ParseException {
+        ParameterInfo withFormat = ParameterInfo.fromMethod(getClass().getMethod("withDateAndAnnotationFormat", Date.class)).get(0);
+        ParameterInfo withoutFormat = ParameterInfo.fromMethod(getClass().getMethod("withDate", Date.class)).get(0);
+        Date sampleDate = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.ENGLISH).parse("1985-02-12T16:05:12");
+        Date otherDate = new SimpleDateFormat("MM/dd/yyyy", Locale.ENGLISH).parse("11/29/2011");
+        assertEquals(sampleDate, withFormat.convert("1985-02-12T16:05:12", US));
+        assertEquals(otherDate, withoutFormat.convert("11/29/2011", US));
+        assertEquals(sampleDate, withFormat.convert("1985-02-12T16:05:12", US));
+    }
+
+    public static class Celsius {
+        public Celsius(String degrees) {
+        }
+    }
+
+    public static class Fahrenheit {
+        public Fahrenheit(String degrees) {
+        }
+    }
+
+    public void withTemperatures(Celsius celsius, Fahrenheit fahrenheit) {
+    }
+
+    @Test
+    public void converts_each_parameter_with_the_constructor_of_its_own_type() throws NoSuchMethodException {
+        List<ParameterInfo> parameterInfos = ParameterInfo.fromMethod(getClass().getMethod("withTemperatures", Celsius.class, Fahrenheit.class));
+        assertEquals(Celsius.class, parameterInfos.get(0).convert("20", US).getClass());
+        assertEquals(Fahrenheit.class, parameterInfos.get(1).convert("68", US).getClass());
+        assertEquals(Celsius.class, parameterInfos.get(0).convert("21", US).getClass());
+    }
 }
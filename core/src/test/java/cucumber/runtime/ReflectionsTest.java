@@ -0,0 +1,38 @@
+package cucumber.runtime;
+
+import org.junit.Test;
+
+import java.util.Collection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class ReflectionsTest {
+    private final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    private final Reflections reflections = new Reflections(mock(ClassFinder.class));
+
+    @Test
+    public void instantiates_registered_services_with_constructor_arguments() {
+        Collection<? extends Service> services = reflections.instantiateServices(Service.class, classLoader, new Class[]{String.class}, new Object[]{"arg"});
+
+        assertEquals(1, services.size());
+        assertEquals("arg", ((RegisteredService) services.iterator().next()).arg);
+    }
+
+    @Test
+    public void finds_nothing_when_no_services_are_registered() {
+        assertTrue(reflections.instantiateServices(Runnable.class, classLoader, new Class[0], new Object[0]).isEmpty());
+    }
+
+    public interface Service {
+    }
+
+    public static class RegisteredService implements Service {
+        private final String arg;
+
+        public RegisteredService(String arg) {
+            this.arg = arg;
+        }
+    }
+}
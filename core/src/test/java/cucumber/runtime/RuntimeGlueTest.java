@@ -1,11 +1,18 @@
 package cucumber.runtime;
 
 import cucumber.runtime.xstream.LocalizedXStreams;
+import gherkin.I18n;
+import gherkin.formatter.Argument;
+import gherkin.formatter.model.Step;
 import org.junit.Test;
 
+import java.util.Collections;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class RuntimeGlueTest {
@@ -29,4 +36,29 @@ public class RuntimeGlueTest {
         }
     }
 
+    @Test
+    public void caches_matches_by_step_name_until_glue_changes() {
+        RuntimeGlue glue = new RuntimeGlue(new UndefinedStepsTracker(), new LocalizedXStreams(Thread.currentThread().getContextClassLoader()));
+        Step step = new Step(null, "Given ", "hello", 1, null, null);
+        I18n i18n = new I18n("en");
+
+        StepDefinition a = mock(StepDefinition.class);
+        when(a.getPattern()).thenReturn("^hello$");
+        when(a.matchedArguments(step)).thenReturn(Collections.<Argument>emptyList());
+        glue.addStepDefinition(a);
+
+        assertEquals("^hello$", glue.stepDefinitionMatch("foo.feature", step, i18n).getPattern());
+        assertEquals("^hello$", glue.stepDefinitionMatch("bar.feature", step, i18n).getPattern());
+        verify(a, times(1)).matchedArguments(step);
+        assertEquals(1, glue.getStepMatchCacheHits());
+        assertEquals(1, glue.getStepMatchCacheMisses());
+
+        StepDefinition b = mock(StepDefinition.class);
+        when(b.getPattern()).thenReturn("^goodbye$");
+        glue.addStepDefinition(b);
+
+        glue.stepDefinitionMatch("foo.feature", step, i18n);
+        verify(a, times(2)).matchedArguments(step);
+        assertEquals(2, glue.getStepMatchCacheMisses());
+    }
 }
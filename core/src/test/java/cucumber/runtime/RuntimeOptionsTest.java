@@ -1,12 +1,14 @@
 package cucumber.runtime;
 
 import cucumber.api.SnippetType;
+import cucumber.runtime.formatter.AsyncFormatter;
 import cucumber.runtime.formatter.ColorAware;
 import cucumber.runtime.formatter.FormatterFactory;
 import cucumber.runtime.formatter.StrictAware;
 import gherkin.formatter.Formatter;
 import org.junit.Test;
 
+import java.io.File;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Arrays;
@@ -17,6 +19,7 @@ import java.util.regex.Pattern;
 import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
@@ -79,6 +82,35 @@ public class RuntimeOptionsTest {
         assertEquals("cucumber.runtime.formatter.HTMLFormatter", options.getFormatters().get(0).getClass().getName());
     }
 
+    @Test
+    public void creates_one_composite_formatter_and_reporter() {
+        RuntimeOptions options = new RuntimeOptions(asList("--format", "progress", "--glue", "somewhere"));
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        assertSame(options.formatter(classLoader), options.formatter(classLoader));
+        assertSame(options.formatter(classLoader), options.reporter(classLoader));
+    }
+
+    @Test
+    public void creates_one_async_formatter_and_reporter() {
+        RuntimeOptions options = new RuntimeOptions(asList("--async", "--format", "progress", "--glue", "somewhere"));
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        assertTrue(options.isAsyncFormatters());
+        assertTrue(options.formatter(classLoader) instanceof AsyncFormatter);
+        assertSame(options.formatter(classLoader), options.reporter(classLoader));
+    }
+
+    @Test
+    public void default_not_async() {
+        RuntimeOptions options = new RuntimeOptions(asList("--glue", "somewhere"));
+        assertFalse(options.isAsyncFormatters());
+    }
+
+    @Test
+    public void assigns_feature_cache_dir() {
+        RuntimeOptions options = new RuntimeOptions(asList("--feature-cache", "target/features", "--glue", "somewhere"));
+        assertEquals(new File("target/features"), options.getFeatureCacheDir());
+    }
+
     @Test
     public void assigns_strict() {
         RuntimeOptions options = new RuntimeOptions(asList("--strict", "--glue", "somewhere"));
@@ -97,6 +129,28 @@ public class RuntimeOptionsTest {
         assertFalse(options.isStrict());
     }
 
+    @Test
+    public void assigns_threads() {
+        RuntimeOptions options = new RuntimeOptions(asList("--threads", "4", "--glue", "somewhere"));
+        assertEquals(4, options.getThreads());
+    }
+
+    @Test
+    public void default_threads() {
+        RuntimeOptions options = new RuntimeOptions(asList("--glue", "somewhere"));
+        assertEquals(1, options.getThreads());
+    }
+
+    @Test
+    public void fail_on_threads_less_than_one() {
+        try {
+            new RuntimeOptions(asList("--threads", "0"));
+            fail();
+        } catch (CucumberException e) {
+            assertEquals("--threads must be at least 1, but was 0", e.getMessage());
+        }
+    }
+
     @Test
     public void name_without_spaces_is_preserved() {
         RuntimeOptions options = new RuntimeOptions(asList("--name", "someName"));
@@ -6,7 +6,10 @@ import cucumber.runtime.io.ClasspathResourceLoader;
 import cucumber.runtime.io.Resource;
 import cucumber.runtime.io.ResourceLoader;
 import cucumber.runtime.model.CucumberFeature;
+import cucumber.runtime.snippets.FunctionNameGenerator;
 import gherkin.I18n;
+import gherkin.formatter.Argument;
+import gherkin.formatter.Formatter;
 import gherkin.formatter.JSONFormatter;
 import gherkin.formatter.Reporter;
 import gherkin.formatter.model.Step;
@@ -14,14 +17,21 @@ import gherkin.formatter.model.Tag;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.internal.AssumptionViolatedException;
+import org.mockito.ArgumentCaptor;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
 
 import static cucumber.runtime.TestHelper.feature;
 import static java.util.Arrays.asList;
@@ -31,6 +41,8 @@ import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyCollectionOf;
@@ -340,6 +352,59 @@ public class RuntimeTest {
                 "1 Steps (1 passed)%n")));
    }
 
+    @Test
+    public void reports_step_match_cache_hits_and_misses_in_stats() {
+        Runtime runtime = createRuntime("-g", "anything");
+        Step step = new Step(null, "Given ", "hello", 1, null, null);
+        I18n i18n = new I18n("en");
+        runtime.getGlue().stepDefinitionMatch("foo.feature", step, i18n);
+        runtime.getGlue().stepDefinitionMatch("bar.feature", step, i18n);
+
+        Map<String, Object> stepMatchCache = new LinkedHashMap<String, Object>();
+        stepMatchCache.put("hits", 1L);
+        stepMatchCache.put("misses", 1L);
+        assertEquals(stepMatchCache, runtime.statsToMap().get("step_match_cache"));
+    }
+
+    @Test
+    public void runs_scenarios_in_parallel_and_reports_them_in_feature_order() throws IOException {
+        StringBuilder source = new StringBuilder("Feature: parallel\n");
+        for (int i = 1; i <= ParallelBackend.SCENARIOS; i++) {
+            source.append("  Scenario: scenario ").append(i).append("\n");
+            source.append("    Given scenario ").append(i).append(" runs\n");
+        }
+        Resource resource = mock(Resource.class);
+        when(resource.getPath()).thenReturn("parallel.feature");
+        when(resource.getInputStream()).thenReturn(new ByteArrayInputStream(source.toString().getBytes("UTF-8")));
+        ResourceLoader resourceLoader = mock(ResourceLoader.class);
+        when(resourceLoader.resources(anyString(), eq(".feature"))).thenReturn(asList(resource));
+        ClassFinder classFinder = mock(ClassFinder.class);
+        when(classFinder.getDescendants(Backend.class, "cucumber.runtime")).thenReturn(Arrays.<Class<? extends Backend>>asList(ParallelBackend.class));
+        RuntimeOptions runtimeOptions = new RuntimeOptions(asList("--threads", "4", "--format", "null", "--monochrome", "parallel.feature"));
+        Formatter formatter = mock(Formatter.class);
+        runtimeOptions.addFormatter(formatter);
+
+        Runtime runtime = new Runtime(resourceLoader, classFinder, Thread.currentThread().getContextClassLoader(), runtimeOptions);
+        runtime.run();
+
+        ArgumentCaptor<gherkin.formatter.model.Scenario> scenarios = ArgumentCaptor.forClass(gherkin.formatter.model.Scenario.class);
+        verify(formatter, times(ParallelBackend.SCENARIOS)).scenario(scenarios.capture());
+        List<String> scenarioNames = new ArrayList<String>();
+        for (gherkin.formatter.model.Scenario scenario : scenarios.getAllValues()) {
+            scenarioNames.add(scenario.getName());
+        }
+        assertEquals(asList("scenario 1", "scenario 2", "scenario 3", "scenario 4", "scenario 5", "scenario 6"), scenarioNames);
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        runtime.printStats(new PrintStream(baos));
+        assertThat(baos.toString(), startsWith(String.format(
+                "6 Scenarios (1 failed, 5 passed)%n" +
+                "6 Steps (1 failed, 5 passed)%n")));
+        assertEquals(1, runtime.getErrors().size());
+        assertEquals("scenario 3 failed", runtime.getErrors().get(0).getMessage());
+        assertEquals(6L, ((Map<?, ?>) runtime.statsToMap().get("step_match_cache")).get("misses"));
+    }
+
     private StepDefinitionMatch createExceptionThrowingMatch(Exception exception) throws Throwable {
         StepDefinitionMatch match = mock(StepDefinitionMatch.class);
         doThrow(exception).when(match).runStep((I18n)any());
@@ -434,4 +499,86 @@ public class RuntimeTest {
             when(glue.getAfterHooks()).thenReturn(Arrays.asList(hook));
         }
     }
+
+    /**
+     * Defines one step per scenario. Later scenarios finish first, and scenario 3 fails.
+     */
+    public static class ParallelBackend implements Backend {
+        static final int SCENARIOS = 6;
+
+        public ParallelBackend(ResourceLoader resourceLoader) {
+        }
+
+        @Override
+        public void loadGlue(Glue glue, List<String> gluePaths) {
+            for (int i = 1; i <= SCENARIOS; i++) {
+                glue.addStepDefinition(new ParallelStepDefinition(i));
+            }
+        }
+
+        @Override
+        public void setUnreportedStepExecutor(UnreportedStepExecutor executor) {
+        }
+
+        @Override
+        public void buildWorld() {
+        }
+
+        @Override
+        public void disposeWorld() {
+        }
+
+        @Override
+        public String getSnippet(Step step, FunctionNameGenerator functionNameGenerator) {
+            return null;
+        }
+    }
+
+    private static class ParallelStepDefinition implements StepDefinition {
+        private final int scenario;
+        private final JdkPatternArgumentMatcher argumentMatcher;
+
+        ParallelStepDefinition(int scenario) {
+            this.scenario = scenario;
+            this.argumentMatcher = new JdkPatternArgumentMatcher(Pattern.compile(getPattern()));
+        }
+
+        @Override
+        public List<Argument> matchedArguments(Step step) {
+            return argumentMatcher.argumentsFrom(step.getName());
+        }
+
+        @Override
+        public String getLocation(boolean detail) {
+            return "scenario " + scenario;
+        }
+
+        @Override
+        public Integer getParameterCount() {
+            return 0;
+        }
+
+        @Override
+        public ParameterInfo getParameterType(int n, Type argumentType) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        @Override
+        public void execute(I18n i18n, Object[] args) throws Throwable {
+            Thread.sleep((ParallelBackend.SCENARIOS - scenario) * 20);
+            if (scenario == 3) {
+                throw new RuntimeException("scenario 3 failed");
+            }
+        }
+
+        @Override
+        public boolean isDefinedAt(StackTraceElement stackTraceElement) {
+            return false;
+        }
+
+        @Override
+        public String getPattern() {
+            return "^scenario " + scenario + " runs$";
+        }
+    }
 }
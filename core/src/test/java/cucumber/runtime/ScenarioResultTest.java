@@ -1,14 +1,25 @@
 package cucumber.runtime;
 
+import cucumber.runtime.formatter.Embeddings;
+import cucumber.runtime.formatter.FileEmbeddingReporter;
 import gherkin.formatter.Reporter;
 import gherkin.formatter.model.Result;
 import gherkin.formatter.model.Tag;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.util.Collections;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 public class ScenarioResultTest {
@@ -62,6 +73,48 @@ public class ScenarioResultTest {
         verify(reporter).embedding("bytes/foo", data);
     }
 
+    @Test
+    public void embeds_files_by_reference_with_reporters_that_support_it() throws IOException {
+        FileEmbeddingReporter fileEmbeddingReporter = mock(FileEmbeddingReporter.class);
+        ScenarioImpl scenario = new ScenarioImpl(fileEmbeddingReporter, Collections.<Tag>emptySet(), "test scenario");
+        File file = tempFile(new byte[]{1, 2, 3});
+
+        scenario.embed(file, "bytes/foo");
+
+        verify(fileEmbeddingReporter).embedding("bytes/foo", file);
+        verify(fileEmbeddingReporter, never()).embedding(any(String.class), any(byte[].class));
+    }
+
+    @Test
+    public void reads_embedded_files_for_other_reporters() throws IOException {
+        s.embed(tempFile(new byte[]{1, 2, 3}), "bytes/foo");
+        verify(reporter).embedding("bytes/foo", new byte[]{1, 2, 3});
+    }
+
+    @Test
+    public void embeds_streams_as_files() throws IOException {
+        FileEmbeddingReporter fileEmbeddingReporter = mock(FileEmbeddingReporter.class);
+        ScenarioImpl scenario = new ScenarioImpl(fileEmbeddingReporter, Collections.<Tag>emptySet(), "test scenario");
+
+        scenario.embed(new ByteArrayInputStream(new byte[]{1, 2, 3}), "bytes/foo");
+
+        ArgumentCaptor<File> file = ArgumentCaptor.forClass(File.class);
+        verify(fileEmbeddingReporter).embedding(eq("bytes/foo"), file.capture());
+        assertArrayEquals(new byte[]{1, 2, 3}, Embeddings.read(file.getValue()));
+    }
+
+    private static File tempFile(byte[] data) throws IOException {
+        File file = File.createTempFile("cucumber-embedding", ".bin");
+        file.deleteOnExit();
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(data);
+        } finally {
+            out.close();
+        }
+        return file;
+    }
+
     @Test
     public void prints_output() {
         s.write("Hi");
@@ -1,7 +1,10 @@
 package cucumber.runtime;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.endsWith;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.startsWith;
 
 import gherkin.formatter.ansi.AnsiEscapes;
@@ -10,6 +13,7 @@ import gherkin.formatter.model.Result;
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
 import java.util.Locale;
+import java.util.Map;
 
 import org.junit.Test;
 
@@ -153,6 +157,48 @@ public class StatsTest {
                 "1m1,001s%n")));
     }
 
+    @Test
+    public void should_print_duration_percentiles_of_scenarios_steps_and_hooks() {
+        Stats counter = createMonochromeSummaryCounter();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+        for (int i = 0; i < 9; i++) {
+            counter.addStep(new Result(Result.PASSED, ONE_MILLI_SECOND, null));
+        }
+        counter.addStep(new Result(Result.PASSED, Stats.ONE_SECOND, null));
+        counter.addHookTime(ONE_MILLI_SECOND);
+        counter.addScenario(Result.PASSED, Stats.ONE_SECOND + 10 * ONE_MILLI_SECOND);
+        counter.printStats(new PrintStream(baos));
+
+        assertThat(baos.toString(), containsString(String.format(
+                "Scenario durations: p50 1.010s, p90 1.010s, p99 1.010s, max 1.010s%n" +
+                "Step durations: p50 0.001s, p90 0.001s, p99 1.000s, max 1.000s%n" +
+                "Hook durations: p50 0.001s, p90 0.001s, p99 0.001s, max 0.001s%n")));
+    }
+
+    @Test
+    public void should_not_print_percentiles_if_nothing_has_executed() {
+        Stats counter = createMonochromeSummaryCounter();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+        counter.printStats(new PrintStream(baos));
+
+        assertThat(baos.toString(), not(containsString("durations")));
+    }
+
+    @Test
+    public void should_have_counts_and_percentiles_in_map() {
+        Stats counter = createMonochromeSummaryCounter();
+
+        counter.addStep(new Result(Result.PASSED, ONE_MILLI_SECOND, null));
+        counter.addScenario(Result.PASSED, ONE_MILLI_SECOND);
+
+        Map<String, Object> map = counter.toMap();
+        assertEquals(1, ((Map) map.get("steps")).get(Result.PASSED));
+        assertEquals(ONE_MILLI_SECOND, ((Map) map.get("step_durations")).get("p99"));
+        assertEquals(1L, ((Map) map.get("scenario_durations")).get("count"));
+    }
+
     private void addOneStepScenario(Stats counter, String status) {
         counter.addStep(createResultWithStatus(status));
         counter.addScenario(status);
@@ -0,0 +1,51 @@
+package cucumber.runtime;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class StepDefinitionIndexTest {
+    @Test
+    public void extracts_literal_prefix_of_anchored_patterns() {
+        assertEquals("I have ", StepDefinitionIndex.literalPrefix("^I have (\\d+) cukes$"));
+        assertEquals("I have", StepDefinitionIndex.literalPrefix("^I have\\s(\\d+) cukes$"));
+        assertEquals("the user", StepDefinitionIndex.literalPrefix("^the users? logs? in$"));
+        assertEquals("it's done", StepDefinitionIndex.literalPrefix("^it's done$"));
+    }
+
+    @Test
+    public void has_no_literal_prefix_for_unanchored_or_alternating_patterns() {
+        assertEquals("", StepDefinitionIndex.literalPrefix("I have (\\d+) cukes"));
+        assertEquals("", StepDefinitionIndex.literalPrefix("/^I have (\\d+) cukes$/"));
+        assertEquals("", StepDefinitionIndex.literalPrefix("^I have|you have$"));
+        assertEquals("I ", StepDefinitionIndex.literalPrefix("^I (have|had) cukes$"));
+    }
+
+    @Test
+    public void finds_candidates_whose_prefix_matches_the_step_in_pattern_order() {
+        StepDefinition cukes = stepDefinition("^I have (\\d+) cukes$");
+        StepDefinition cucumbers = stepDefinition("^I have (\\d+) cucumbers$");
+        StepDefinition anything = stepDefinition("(.*)");
+        StepDefinition other = stepDefinition("^you have (\\d+) cukes$");
+
+        StepDefinitionIndex index = new StepDefinitionIndex();
+        index.add(cukes);
+        index.add(cucumbers);
+        index.add(anything);
+        index.add(other);
+
+        List<StepDefinition> candidates = index.candidates("I have 5 cukes");
+        assertEquals(asList(anything, cucumbers, cukes), candidates);
+    }
+
+    private StepDefinition stepDefinition(String pattern) {
+        StepDefinition stepDefinition = mock(StepDefinition.class);
+        when(stepDefinition.getPattern()).thenReturn(pattern);
+        return stepDefinition;
+    }
+}
@@ -47,6 +47,13 @@ public class TimeoutTest {
 
     @Test
     public void doesnt_leak_threads() throws Throwable {
+        // The first timeout starts the shared watchdog thread.
+        Timeout.timeout(new Timeout.Callback<String>() {
+            @Override
+            public String call() throws Throwable {
+                return null;
+            }
+        }, 10);
 
         long initialNumberOfThreads = Thread.getAllStackTraces().size();
         long currentNumberOfThreads = Long.MAX_VALUE;
@@ -71,6 +78,22 @@ public class TimeoutTest {
                    cleanedUp);
     }
 
+    @Test
+    public void doesnt_leave_the_thread_interrupted_after_a_timeout() throws Throwable {
+        final Slow slow = new Slow();
+        try {
+            Timeout.timeout(new Timeout.Callback<String>() {
+                @Override
+                public String call() throws Throwable {
+                    return slow.slower();
+                }
+            }, 10);
+            fail();
+        } catch (TimeoutException expected) {
+            assertFalse(Thread.currentThread().isInterrupted());
+        }
+    }
+
     public static class Slow {
         public String slow() throws InterruptedException {
             sleep(10);
@@ -0,0 +1,128 @@
+package cucumber.runtime.formatter;
+
+import cucumber.runtime.CucumberException;
+import gherkin.formatter.model.Match;
+import gherkin.formatter.model.Result;
+import gherkin.formatter.model.Step;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+public class AsyncFormatterTest {
+
+    @Test
+    public void passes_events_on_in_order_before_done_returns() {
+        Step step = mock(Step.class);
+        Match match = mock(Match.class);
+        Result result = mock(Result.class);
+        CompositeFormatter delegate = mock(CompositeFormatter.class);
+
+        AsyncFormatter formatter = new AsyncFormatter(delegate, 2);
+        formatter.step(step);
+        formatter.match(match);
+        formatter.result(result);
+        formatter.eof();
+        formatter.done();
+
+        InOrder inOrder = inOrder(delegate);
+        inOrder.verify(delegate).step(step);
+        inOrder.verify(delegate).match(match);
+        inOrder.verify(delegate).result(result);
+        inOrder.verify(delegate).eof();
+        inOrder.verify(delegate).done();
+        formatter.close();
+    }
+
+    @Test
+    public void rethrows_the_first_delegate_failure_on_close() {
+        RuntimeException failure = new RuntimeException("disk full");
+        CompositeFormatter delegate = mock(CompositeFormatter.class);
+        doThrow(failure).when(delegate).write("text");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AsyncFormatter formatter = new AsyncFormatter(delegate, 16, new PrintStream(out));
+        formatter.write("text");
+        formatter.write("text");
+        try {
+            formatter.close();
+            fail();
+        } catch (CucumberException e) {
+            assertEquals("2 formatter event(s) failed", e.getMessage());
+            assertSame(failure, e.getCause());
+        }
+        assertEquals(String.format("Asynchronous formatters: 0 event(s) waited for room in the buffer, 2 event(s) failed%n"), out.toString());
+    }
+
+    @Test
+    public void reports_events_that_waited_for_a_slow_delegate() throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        CompositeFormatter delegate = mock(CompositeFormatter.class);
+        doAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                started.countDown();
+                release.await();
+                return null;
+            }
+        }).when(delegate).write("slow");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AsyncFormatter formatter = new AsyncFormatter(delegate, 1, new PrintStream(out));
+        formatter.write("slow");
+        started.await();
+        formatter.write("buffered");
+        final Thread stepThread = Thread.currentThread();
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (stepThread.getState() != Thread.State.TIMED_WAITING) {
+                    Thread.yield();
+                }
+                release.countDown();
+            }
+        }).start();
+        formatter.write("delayed");
+        verify(delegate, timeout(1000)).write("delayed");
+        formatter.close();
+
+        assertEquals(1, formatter.getDelayedEventCount());
+        assertEquals(String.format("Asynchronous formatters: 1 event(s) waited for room in the buffer, 0 event(s) failed%n"), out.toString());
+        InOrder inOrder = inOrder(delegate);
+        inOrder.verify(delegate).write("slow");
+        inOrder.verify(delegate).write("buffered");
+        inOrder.verify(delegate).write("delayed");
+    }
+
+    @Test
+    public void rejects_events_after_close() {
+        CompositeFormatter delegate = mock(CompositeFormatter.class);
+
+        AsyncFormatter formatter = new AsyncFormatter(delegate, 1);
+        formatter.close();
+        formatter.flush();
+        try {
+            formatter.write("text");
+            fail();
+        } catch (CucumberException e) {
+            assertEquals("The formatter is closed", e.getMessage());
+        }
+        verify(delegate, never()).write("text");
+    }
+}
@@ -2,16 +2,14 @@ package cucumber.runtime.formatter;
 
 import org.junit.Test;
 
-import java.util.Arrays;
-import java.util.Collections;
-
+import static cucumber.runtime.formatter.MedianUsageStatisticStrategyTest.histogram;
 import static org.junit.Assert.assertEquals;
 
 public class AverageUsageStatisticStrategyTest {
     @Test
     public void calculate() throws Exception {
         UsageFormatter.AverageUsageStatisticStrategy averageUsageStatisticStrategy = new UsageFormatter.AverageUsageStatisticStrategy();
-        Long result = averageUsageStatisticStrategy.calculate(Arrays.asList(1L, 2L, 3L));
+        Long result = averageUsageStatisticStrategy.calculate(histogram(1L, 2L, 3L));
         assertEquals(result, Long.valueOf(2));
     }
 
@@ -25,14 +23,7 @@ public class AverageUsageStatisticStrategyTest {
     @Test
     public void calculateEmptylist() throws Exception {
         UsageFormatter.AverageUsageStatisticStrategy averageUsageStatisticStrategy = new UsageFormatter.AverageUsageStatisticStrategy();
-        Long result = averageUsageStatisticStrategy.calculate(Collections.<Long>emptyList());
-        assertEquals(result, Long.valueOf(0));
-    }
-
-    @Test
-    public void calculateListWithNulls() throws Exception {
-        UsageFormatter.AverageUsageStatisticStrategy averageUsageStatisticStrategy = new UsageFormatter.AverageUsageStatisticStrategy();
-        Long result = averageUsageStatisticStrategy.calculate(Arrays.<Long>asList(3L, null));
+        Long result = averageUsageStatisticStrategy.calculate(histogram());
         assertEquals(result, Long.valueOf(0));
     }
 }
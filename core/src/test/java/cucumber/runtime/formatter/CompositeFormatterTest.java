@@ -0,0 +1,39 @@
+package cucumber.runtime.formatter;
+
+import gherkin.formatter.Formatter;
+import gherkin.formatter.Reporter;
+import gherkin.formatter.model.Result;
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
+
+public class CompositeFormatterTest {
+
+    @Test
+    public void dispatches_formatter_events_to_all_formatters() {
+        Formatter formatter = mock(Formatter.class);
+        Formatter formatterAndReporter = mock(Formatter.class, withSettings().extraInterfaces(Reporter.class));
+        CompositeFormatter composite = new CompositeFormatter(asList(formatter, formatterAndReporter));
+
+        composite.uri("some.feature");
+
+        verify(formatter).uri("some.feature");
+        verify(formatterAndReporter).uri("some.feature");
+    }
+
+    @Test
+    public void dispatches_reporter_events_to_formatters_that_are_reporters() {
+        Formatter formatter = mock(Formatter.class);
+        Formatter formatterAndReporter = mock(Formatter.class, withSettings().extraInterfaces(Reporter.class));
+        CompositeFormatter composite = new CompositeFormatter(asList(formatter));
+        composite.add(formatterAndReporter);
+        Result result = mock(Result.class);
+
+        composite.result(result);
+
+        verify((Reporter) formatterAndReporter).result(result);
+    }
+}
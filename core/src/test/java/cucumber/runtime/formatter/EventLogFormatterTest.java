@@ -0,0 +1,128 @@
+package cucumber.runtime.formatter;
+
+import gherkin.formatter.Formatter;
+import gherkin.formatter.Reporter;
+import gherkin.formatter.model.Argument;
+import gherkin.formatter.model.Comment;
+import gherkin.formatter.model.DataTableRow;
+import gherkin.formatter.model.Feature;
+import gherkin.formatter.model.Match;
+import gherkin.formatter.model.Result;
+import gherkin.formatter.model.Step;
+import gherkin.formatter.model.Tag;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class EventLogFormatterTest {
+    private static final Object DUMMY_ARG = new Object();
+
+    @Test
+    public void replays_the_recorded_events() {
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        EventLogFormatter eventLogFormatter = new EventLogFormatter(log);
+        Exception error = new Exception("boom");
+        eventLogFormatter.uri("path/test.feature");
+        eventLogFormatter.feature(new Feature(asList(new Comment("# hi", 1)), asList(new Tag("@foo", 2)), "Feature", "Banana party", "", 3, "banana-party"));
+        eventLogFormatter.step(new Step(Collections.<Comment>emptyList(), "Given ", "I have:", 4, asList(new DataTableRow(Collections.<Comment>emptyList(), asList("a", "b"), 5)), null));
+        eventLogFormatter.match(new Match(asList(new Argument(7, "5")), "Stepdefs.java:12"));
+        eventLogFormatter.result(new Result(Result.FAILED, 1234L, error, DUMMY_ARG));
+        eventLogFormatter.embedding("text/plain", "hi".getBytes());
+        eventLogFormatter.write("hello");
+        eventLogFormatter.done();
+        eventLogFormatter.close();
+
+        Formatter formatter = mock(Formatter.class);
+        Reporter reporter = mock(Reporter.class);
+        assertTrue(new EventLogReader(new ByteArrayInputStream(log.toByteArray())).replay(formatter, reporter));
+
+        verify(formatter).uri("path/test.feature");
+        ArgumentCaptor<Feature> feature = ArgumentCaptor.forClass(Feature.class);
+        verify(formatter).feature(feature.capture());
+        assertEquals("Banana party", feature.getValue().getName());
+        assertEquals("@foo", feature.getValue().getTags().get(0).getName());
+        assertEquals("# hi", feature.getValue().getComments().get(0).getValue());
+        assertEquals("banana-party", feature.getValue().getId());
+        ArgumentCaptor<Step> step = ArgumentCaptor.forClass(Step.class);
+        verify(formatter).step(step.capture());
+        assertEquals("I have:", step.getValue().getName());
+        assertEquals(asList("a", "b"), step.getValue().getRows().get(0).getCells());
+        assertNull(step.getValue().getDocString());
+        ArgumentCaptor<Match> match = ArgumentCaptor.forClass(Match.class);
+        verify(reporter).match(match.capture());
+        assertEquals("Stepdefs.java:12", match.getValue().getLocation());
+        assertEquals("5", match.getValue().getArguments().get(0).getVal());
+        ArgumentCaptor<Result> result = ArgumentCaptor.forClass(Result.class);
+        verify(reporter).result(result.capture());
+        assertEquals(Result.FAILED, result.getValue().getStatus());
+        assertEquals(Long.valueOf(1234L), result.getValue().getDuration());
+        assertEquals(new Result(Result.FAILED, 1234L, error, DUMMY_ARG).getErrorMessage(), result.getValue().getErrorMessage());
+        ArgumentCaptor<byte[]> data = ArgumentCaptor.forClass(byte[].class);
+        verify(reporter).embedding(any(String.class), data.capture());
+        assertArrayEquals("hi".getBytes(), data.getValue());
+        verify(reporter).write("hello");
+        verify(formatter, never()).done();
+    }
+
+    @Test
+    public void writes_repeated_strings_once() {
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        EventLogFormatter eventLogFormatter = new EventLogFormatter(log);
+        for (int i = 0; i < 3; i++) {
+            eventLogFormatter.step(new Step(Collections.<Comment>emptyList(), "Given ", "a repeated step", i, null, null));
+        }
+        eventLogFormatter.close();
+
+        assertEquals(1, occurrences(log.toByteArray(), "a repeated step".getBytes()));
+
+        Formatter formatter = mock(Formatter.class);
+        new EventLogReader(new ByteArrayInputStream(log.toByteArray())).replay(formatter, mock(Reporter.class));
+        verify(formatter, times(3)).step(any(Step.class));
+    }
+
+    @Test
+    public void replays_a_truncated_log_up_to_the_last_complete_record() {
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        EventLogFormatter eventLogFormatter = new EventLogFormatter(log);
+        eventLogFormatter.uri("path/test.feature");
+        eventLogFormatter.write("cut short");
+        eventLogFormatter.done();
+        eventLogFormatter.close();
+        byte[] bytes = log.toByteArray();
+        // Drops the done record and the last bytes of the write record.
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 8);
+
+        Formatter formatter = mock(Formatter.class);
+        Reporter reporter = mock(Reporter.class);
+        assertFalse(new EventLogReader(new ByteArrayInputStream(truncated)).replay(formatter, reporter));
+
+        verify(formatter).uri("path/test.feature");
+        verify(reporter, never()).write(any(String.class));
+    }
+
+    private static int occurrences(byte[] bytes, byte[] pattern) {
+        int count = 0;
+        for (int i = 0; i <= bytes.length - pattern.length; i++) {
+            if (Arrays.equals(Arrays.copyOfRange(bytes, i, i + pattern.length), pattern)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
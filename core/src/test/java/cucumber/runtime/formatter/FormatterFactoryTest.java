@@ -32,6 +32,12 @@ public class FormatterFactoryTest {
         assertEquals(JUnitFormatter.class, formatter.getClass());
     }
 
+    @Test
+    public void instantiates_ndjson_formatter_with_file_arg() throws IOException {
+        Formatter formatter = fc.create("ndjson:" + File.createTempFile("cucumber", "ndjson"));
+        assertEquals(NdjsonFormatter.class, formatter.getClass());
+    }
+
     @Test
     public void instantiates_html_formatter_with_dir_arg() throws IOException {
         Formatter formatter = fc.create("html:" + TempDir.createTempDirectory().getAbsolutePath());
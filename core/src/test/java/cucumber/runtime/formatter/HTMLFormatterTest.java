@@ -15,12 +15,15 @@ import org.mozilla.javascript.EcmaError;
 import org.mozilla.javascript.tools.shell.Global;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.URL;
+import java.util.Arrays;
 import java.util.Collections;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -68,6 +71,89 @@ public class HTMLFormatterTest {
         assertContains("formatter.embedding(\"text/plain\", \"dodgy stack trace here\");", reportJs);
     }
 
+    @Test
+    public void writes_identical_embeddings_once() throws IOException {
+        URL dir = Utils.toURL(TempDir.createTempDirectory().getAbsolutePath());
+        HTMLFormatter f = new HTMLFormatter(dir, 0);
+        f.uri("some.feature");
+        f.embedding("image/png", "fakedata".getBytes("US-ASCII"));
+        f.embedding("image/png", "fakedata".getBytes("US-ASCII"));
+        f.embedding("image/png", "otherdata".getBytes("US-ASCII"));
+        f.done();
+        f.close();
+
+        String reportJs = FixJava.readReader(new InputStreamReader(new URL(dir, "report.js").openStream(), "UTF-8"));
+        assertEquals(2, reportJs.split("formatter.embedding\\(\"image/png\", \"embedded0.png\"\\);", -1).length - 1);
+        assertContains("formatter.embedding(\"image/png\", \"embedded1.png\");", reportJs);
+        assertEquals("fakedata", FixJava.readReader(new InputStreamReader(new URL(dir, "embedded0.png").openStream(), "US-ASCII")));
+        assertFalse(new File(new URL(dir, "embedded2.png").getFile()).exists());
+    }
+
+    @Test
+    public void cuts_embeddings_larger_than_the_limit_short() throws IOException {
+        URL dir = Utils.toURL(TempDir.createTempDirectory().getAbsolutePath());
+        HTMLFormatter f = new HTMLFormatter(dir, 4);
+        f.uri("some.feature");
+        f.embedding("text/plain", "0123456789".getBytes("US-ASCII"));
+        f.embedding("image/png", "fakedata".getBytes("US-ASCII"));
+        f.done();
+        f.close();
+
+        String reportJs = FixJava.readReader(new InputStreamReader(new URL(dir, "report.js").openStream(), "UTF-8"));
+        assertContains("formatter.embedding(\"text/plain\", \"0123\\n... 6 more bytes in embedded0.txt\");", reportJs);
+        assertContains("formatter.embedding(\"text/plain\", \"image/png embedding of 8 bytes left out, because it is larger than 4 bytes\");", reportJs);
+        assertEquals("0123456789", FixJava.readReader(new InputStreamReader(new URL(dir, "embedded0.txt").openStream(), "US-ASCII")));
+        assertFalse(new File(new URL(dir, "embedded1.png").getFile()).exists());
+    }
+
+    @Test
+    public void cuts_text_embeddings_at_a_character_boundary() throws IOException {
+        URL dir = Utils.toURL(TempDir.createTempDirectory().getAbsolutePath());
+        HTMLFormatter f = new HTMLFormatter(dir, 2);
+        f.uri("some.feature");
+        f.embedding("text/plain", "a\u00e9b".getBytes("UTF-8"));
+        f.done();
+        f.close();
+
+        String reportJs = FixJava.readReader(new InputStreamReader(new URL(dir, "report.js").openStream(), "UTF-8"));
+        assertContains("formatter.embedding(\"text/plain\", \"a\\n... 3 more bytes in embedded0.txt\");", reportJs);
+    }
+
+    @Test
+    public void writes_the_embedded_bytes_as_they_were_when_embedded() throws IOException {
+        URL dir = Utils.toURL(TempDir.createTempDirectory().getAbsolutePath());
+        HTMLFormatter f = new HTMLFormatter(dir, 0);
+        f.uri("some.feature");
+        byte[] buffer = "fakedata".getBytes("US-ASCII");
+        f.embedding("image/png", buffer);
+        Arrays.fill(buffer, (byte) 'x');
+        f.done();
+        f.close();
+
+        assertEquals("fakedata", FixJava.readReader(new InputStreamReader(new URL(dir, "embedded0.png").openStream(), "US-ASCII")));
+    }
+
+    @Test
+    public void copies_embedded_files() throws IOException {
+        URL dir = Utils.toURL(TempDir.createTempDirectory().getAbsolutePath());
+        File video = File.createTempFile("cucumber-embedding", ".ogg");
+        video.deleteOnExit();
+        FileOutputStream out = new FileOutputStream(video);
+        out.write("fakevideo".getBytes("US-ASCII"));
+        out.close();
+        HTMLFormatter f = new HTMLFormatter(dir, 0);
+        f.uri("some.feature");
+        f.embedding("video/ogg", video);
+        f.embedding("video/ogg", "fakevideo".getBytes("US-ASCII"));
+        f.done();
+        f.close();
+
+        String reportJs = FixJava.readReader(new InputStreamReader(new URL(dir, "report.js").openStream(), "UTF-8"));
+        assertContains("formatter.embedding(\"video/ogg\", \"embedded0.ogg\");", reportJs);
+        assertEquals("fakevideo", FixJava.readReader(new InputStreamReader(new URL(dir, "embedded0.ogg").openStream(), "US-ASCII")));
+        assertFalse(new File(new URL(dir, "embedded1.ogg").getFile()).exists());
+    }
+
     private void assertContains(String substring, String string) {
         if (string.indexOf(substring) == -1) {
             fail(String.format("[%s] not contained in [%s]", substring, string));
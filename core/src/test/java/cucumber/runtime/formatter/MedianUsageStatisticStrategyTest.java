@@ -1,24 +1,22 @@
 package cucumber.runtime.formatter;
 
+import cucumber.runtime.LatencyHistogram;
 import org.junit.Test;
 
-import java.util.Arrays;
-import java.util.Collections;
-
 import static org.junit.Assert.assertEquals;
 
 public class MedianUsageStatisticStrategyTest {
     @Test
     public void calculateOddEntries() throws Exception {
         UsageFormatter.MedianUsageStatisticStrategy medianUsageStatisticStrategy = new UsageFormatter.MedianUsageStatisticStrategy();
-        Long result = medianUsageStatisticStrategy.calculate(Arrays.asList(1L, 2L, 3L));
+        Long result = medianUsageStatisticStrategy.calculate(histogram(1L, 2L, 3L));
         assertEquals(result, Long.valueOf(2));
     }
 
     @Test
     public void calculateEvenEntries() throws Exception {
         UsageFormatter.MedianUsageStatisticStrategy medianUsageStatisticStrategy = new UsageFormatter.MedianUsageStatisticStrategy();
-        Long result = medianUsageStatisticStrategy.calculate(Arrays.asList(1L, 3L, 10L, 5L));
+        Long result = medianUsageStatisticStrategy.calculate(histogram(1L, 3L, 10L, 5L));
         assertEquals(result, Long.valueOf(4));
     }
 
@@ -32,14 +30,15 @@ public class MedianUsageStatisticStrategyTest {
     @Test
     public void calculateEmptylist() throws Exception {
         UsageFormatter.MedianUsageStatisticStrategy medianUsageStatisticStrategy = new UsageFormatter.MedianUsageStatisticStrategy();
-        Long result = medianUsageStatisticStrategy.calculate(Collections.<Long>emptyList());
+        Long result = medianUsageStatisticStrategy.calculate(histogram());
         assertEquals(result, Long.valueOf(0));
     }
 
-    @Test
-    public void calculateListWithNulls() throws Exception {
-        UsageFormatter.MedianUsageStatisticStrategy medianUsageStatisticStrategy = new UsageFormatter.MedianUsageStatisticStrategy();
-        Long result = medianUsageStatisticStrategy.calculate(Arrays.<Long>asList(1L, null, 3L));
-        assertEquals(result, Long.valueOf(0));
+    static LatencyHistogram histogram(long... durations) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long duration : durations) {
+            histogram.add(duration);
+        }
+        return histogram;
     }
 }
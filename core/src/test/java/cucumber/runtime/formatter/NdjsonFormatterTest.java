@@ -0,0 +1,57 @@
+package cucumber.runtime.formatter;
+
+import gherkin.deps.com.google.gson.Gson;
+import gherkin.formatter.model.Result;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class NdjsonFormatterTest {
+
+    @Test
+    public void writes_one_compact_json_line_per_event() {
+        StringBuilder out = new StringBuilder();
+        NdjsonFormatter formatter = new NdjsonFormatter(out);
+
+        formatter.uri("path/test.feature");
+        formatter.result(new Result("passed", 1234L, null));
+        formatter.embedding("text/plain", "hi".getBytes());
+        formatter.done();
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(4, lines.length);
+        Map uri = new Gson().fromJson(lines[0], Map.class);
+        assertEquals("uri", uri.get("event"));
+        assertEquals("path/test.feature", uri.get("uri"));
+        assertTrue(uri.get("timestamp") instanceof Number);
+        Map result = (Map) new Gson().fromJson(lines[1], Map.class).get("result");
+        assertEquals("passed", result.get("status"));
+        assertEquals(1234, ((Number) result.get("duration")).intValue());
+        assertEquals("aGk=", new Gson().fromJson(lines[2], Map.class).get("data"));
+        assertEquals("done", new Gson().fromJson(lines[3], Map.class).get("event"));
+    }
+
+    @Test
+    public void writes_embedded_files_like_embedded_data() throws IOException {
+        File file = File.createTempFile("cucumber-embedding", ".txt");
+        file.deleteOnExit();
+        FileOutputStream data = new FileOutputStream(file);
+        data.write("hi".getBytes());
+        data.close();
+        StringBuilder out = new StringBuilder();
+        NdjsonFormatter formatter = new NdjsonFormatter(out);
+
+        formatter.embedding("text/plain", file);
+
+        Map embedding = new Gson().fromJson(out.toString().trim(), Map.class);
+        assertEquals("embedding", embedding.get("event"));
+        assertEquals("text/plain", embedding.get("mime_type"));
+        assertEquals("aGk=", embedding.get("data"));
+    }
+}
@@ -0,0 +1,43 @@
+package cucumber.runtime.formatter;
+
+import gherkin.formatter.Formatter;
+import gherkin.formatter.Reporter;
+import gherkin.formatter.model.Match;
+import gherkin.formatter.model.Result;
+import gherkin.formatter.model.Step;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class RecordingFormatterTest {
+
+    @Test
+    public void replays_formatter_and_reporter_events_in_recorded_order() {
+        Step step = mock(Step.class);
+        Match match = mock(Match.class);
+        Result result = mock(Result.class);
+        byte[] data = new byte[]{1, 2, 3};
+        Formatter formatter = mock(Formatter.class);
+        Reporter reporter = mock(Reporter.class);
+
+        RecordingFormatter recorder = new RecordingFormatter();
+        recorder.step(step);
+        recorder.match(match);
+        recorder.embedding("image/png", data);
+        recorder.result(result);
+        recorder.eof();
+
+        verifyZeroInteractions(formatter, reporter);
+        recorder.replay(formatter, reporter);
+
+        InOrder inOrder = inOrder(formatter, reporter);
+        inOrder.verify(formatter).step(step);
+        inOrder.verify(reporter).match(match);
+        inOrder.verify(reporter).embedding("image/png", data);
+        inOrder.verify(reporter).result(result);
+        inOrder.verify(formatter).eof();
+    }
+}
@@ -0,0 +1,126 @@
+package cucumber.runtime.formatter;
+
+import cucumber.runtime.Backend;
+import cucumber.runtime.Runtime;
+import cucumber.runtime.RuntimeOptions;
+import cucumber.runtime.Utils;
+import cucumber.runtime.io.ClasspathResourceLoader;
+import cucumber.runtime.snippets.FunctionNameGenerator;
+import gherkin.formatter.model.Feature;
+import gherkin.formatter.model.Result;
+import gherkin.formatter.model.Scenario;
+import gherkin.formatter.model.Step;
+import org.custommonkey.xmlunit.Diff;
+import org.custommonkey.xmlunit.XMLUnit;
+import org.junit.Test;
+import org.xml.sax.SAXException;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class StreamingJUnitFormatterTest {
+
+    @Test
+    public void writes_the_same_report_as_the_junit_formatter() throws Exception {
+        assertXmlEqual("cucumber/runtime/formatter/JUnitFormatterTest_1.report.xml", runFeature("cucumber/runtime/formatter/JUnitFormatterTest_1.feature", false));
+        assertXmlEqual("cucumber/runtime/formatter/JUnitFormatterTest_2.report.xml", runFeature("cucumber/runtime/formatter/JUnitFormatterTest_2.feature", false));
+        assertXmlEqual("cucumber/runtime/formatter/JUnitFormatterTest_3.report.xml", runFeature("cucumber/runtime/formatter/JUnitFormatterTest_3.feature", false));
+        assertXmlEqual("cucumber/runtime/formatter/JUnitFormatterTest_1_strict.report.xml", runFeature("cucumber/runtime/formatter/JUnitFormatterTest_1.feature", true));
+    }
+
+    @Test
+    public void writes_a_dummy_testcase_when_no_scenarios_are_run() throws Exception {
+        File report = File.createTempFile("cucumber-jvm-junit", ".xml");
+        StreamingJUnitFormatter formatter = new StreamingJUnitFormatter(Utils.toURL(report.getAbsolutePath()));
+        formatter.done();
+        formatter.close();
+
+        String expected = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n" +
+                "<testsuite failures=\"0\" name=\"cucumber.runtime.formatter.JUnitFormatter\" skipped=\"0\" time=\"0\">\n" +
+                "    <testcase classname=\"dummy\" name=\"dummy\">\n" +
+                "        <skipped message=\"No features found\" />\n" +
+                "    </testcase>\n" +
+                "</testsuite>\n";
+        assertXmlEqual(expected, read(report));
+    }
+
+    @Test
+    public void splits_cdata_end_markers_in_step_names() throws Exception {
+        File report = File.createTempFile("cucumber-jvm-junit", ".xml");
+        StreamingJUnitFormatter formatter = new StreamingJUnitFormatter(Utils.toURL(report.getAbsolutePath()));
+        Feature feature = mock(Feature.class);
+        when(feature.getName()).thenReturn("feature name");
+        Scenario scenario = mock(Scenario.class);
+        when(scenario.getName()).thenReturn("scenario name");
+        Step step = mock(Step.class);
+        when(step.getKeyword()).thenReturn("Given ");
+        when(step.getName()).thenReturn("a ]]> b");
+        Result result = mock(Result.class);
+        when(result.getStatus()).thenReturn("passed");
+
+        formatter.feature(feature);
+        formatter.scenario(scenario);
+        formatter.step(step);
+        formatter.result(result);
+        formatter.endOfScenarioLifeCycle(scenario);
+        formatter.done();
+        formatter.close();
+
+        String expected = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n" +
+                "<testsuite failures=\"0\" name=\"cucumber.runtime.formatter.JUnitFormatter\" skipped=\"0\" tests=\"1\" time=\"0\">\n" +
+                "    <testcase classname=\"feature name\" name=\"scenario name\" time=\"0\">\n" +
+                "        <system-out><![CDATA[" +
+                "Given a ]]]]><![CDATA[> b...............................................................passed\n" +
+                "]]></system-out>\n" +
+                "    </testcase>\n" +
+                "</testsuite>\n";
+        assertXmlEqual(expected, read(report));
+    }
+
+    private File runFeature(String featurePath, boolean strict) throws IOException {
+        File report = File.createTempFile("cucumber-jvm-junit", ".xml");
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        List<String> args = new ArrayList<String>();
+        if (strict) {
+            args.add("--strict");
+        }
+        args.add("--format");
+        args.add("junit-streaming:" + report.getAbsolutePath());
+        args.add(featurePath);
+
+        RuntimeOptions runtimeOptions = new RuntimeOptions(args);
+        Backend backend = mock(Backend.class);
+        when(backend.getSnippet(any(Step.class), any(FunctionNameGenerator.class))).thenReturn("TEST SNIPPET");
+        new Runtime(new ClasspathResourceLoader(classLoader), classLoader, asList(backend), runtimeOptions).run();
+        return report;
+    }
+
+    private String read(File report) throws IOException {
+        return new Scanner(new FileInputStream(report), "UTF-8").useDelimiter("\\A").next();
+    }
+
+    private void assertXmlEqual(String expectedPath, File actual) throws IOException, SAXException {
+        XMLUnit.setIgnoreWhitespace(true);
+        InputStreamReader control = new InputStreamReader(Thread.currentThread().getContextClassLoader().getResourceAsStream(expectedPath), "UTF-8");
+        Diff diff = new Diff(control, new FileReader(actual));
+        assertTrue("XML files are similar " + diff, diff.identical());
+    }
+
+    private void assertXmlEqual(String expected, String actual) throws SAXException, IOException {
+        XMLUnit.setIgnoreWhitespace(true);
+        Diff diff = new Diff(expected, actual);
+        assertTrue("XML files are similar " + diff + "\nFormatterOutput = " + actual, diff.identical());
+    }
+}
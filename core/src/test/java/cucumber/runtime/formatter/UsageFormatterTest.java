@@ -1,5 +1,6 @@
 package cucumber.runtime.formatter;
 
+import cucumber.runtime.LatencyHistogram;
 import cucumber.runtime.StepDefinitionMatch;
 import gherkin.formatter.model.Result;
 import org.junit.Test;
@@ -7,13 +8,11 @@ import org.mockito.Mockito;
 
 import java.io.Closeable;
 import java.io.IOException;
-import java.math.BigDecimal;
-import java.util.Arrays;
-import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
@@ -54,13 +53,16 @@ public class UsageFormatterTest {
 
         usageFormatter.result(result);
 
-        Map<String, List<UsageFormatter.StepContainer>> usageMap = usageFormatter.usageMap;
+        Map<String, Map<String, UsageFormatter.StepContainer>> usageMap = usageFormatter.usageMap;
         assertEquals(usageMap.size(), 1);
-        List<UsageFormatter.StepContainer> durationEntries = usageMap.get("stepDef");
+        Map<String, UsageFormatter.StepContainer> durationEntries = usageMap.get("stepDef");
         assertEquals(durationEntries.size(), 1);
-        assertEquals(durationEntries.get(0).name, "step");
-        assertEquals(durationEntries.get(0).durations.size(), 1);
-        assertEquals(durationEntries.get(0).durations.get(0).duration, BigDecimal.valueOf(12345));
+        UsageFormatter.StepContainer stepContainer = durationEntries.get("step");
+        assertEquals(stepContainer.name, "step");
+        assertEquals(stepContainer.histogram.getCount(), 1);
+        assertEquals(stepContainer.slowest.size(), 1);
+        assertEquals(stepContainer.slowest.peek().nanos, 12345L);
+        assertEquals(stepContainer.slowest.peek().location, "z:3");
     }
 
     private StepDefinitionMatch mockStepDefinitionMatch() {
@@ -85,13 +87,9 @@ public class UsageFormatterTest {
 
         usageFormatter.result(result);
 
-        Map<String, List<UsageFormatter.StepContainer>> usageMap = usageFormatter.usageMap;
-        assertEquals(usageMap.size(), 1);
-        List<UsageFormatter.StepContainer> durationEntries = usageMap.get("stepDef");
-        assertEquals(durationEntries.size(), 1);
-        assertEquals(durationEntries.get(0).name, "step");
-        assertEquals(durationEntries.get(0).durations.size(), 1);
-        assertEquals(durationEntries.get(0).durations.get(0).duration, BigDecimal.ZERO);
+        UsageFormatter.StepContainer stepContainer = usageFormatter.usageMap.get("stepDef").get("step");
+        assertEquals(stepContainer.histogram.getCount(), 1);
+        assertEquals(stepContainer.slowest.peek().nanos, 0L);
     }
 
     @Test
@@ -108,48 +106,49 @@ public class UsageFormatterTest {
 
         usageFormatter.result(result);
 
-        Map<String, List<UsageFormatter.StepContainer>> usageMap = usageFormatter.usageMap;
-        assertEquals(usageMap.size(), 1);
-        List<UsageFormatter.StepContainer> durationEntries = usageMap.get("stepDef");
-        assertEquals(durationEntries.size(), 1);
-        assertEquals(durationEntries.get(0).name, "step");
-        assertEquals(durationEntries.get(0).durations.size(), 1);
-        assertEquals(durationEntries.get(0).durations.get(0).duration, BigDecimal.ZERO);
+        UsageFormatter.StepContainer stepContainer = usageFormatter.usageMap.get("stepDef").get("step");
+        assertEquals(stepContainer.histogram.getCount(), 1);
+        assertEquals(stepContainer.slowest.peek().nanos, 0L);
     }
 
     @Test
-    public void doneWithoutUsageStatisticStrategies() throws IOException {
-        StringBuffer out = new StringBuffer();
+    public void keepsOnlyTheSlowestDurations() {
+        Appendable out = mock(Appendable.class);
         UsageFormatter usageFormatter = new UsageFormatter(out);
+        usageFormatter.match(mockStepDefinitionMatch());
 
-        UsageFormatter.StepContainer stepContainer = new UsageFormatter.StepContainer();
-        UsageFormatter.StepDuration stepDuration = new UsageFormatter.StepDuration();
-        stepDuration.duration = BigDecimal.valueOf(12345678L);
-        stepDuration.location = "location.feature";
-        stepContainer.durations = Arrays.asList(stepDuration);
+        for (long duration = 1; duration <= 100; duration++) {
+            usageFormatter.result(new Result(Result.PASSED, duration, null));
+        }
 
-        usageFormatter.usageMap.put("aStep", Arrays.asList(stepContainer));
+        UsageFormatter.StepContainer stepContainer = usageFormatter.usageMap.get("stepDef").get("step");
+        assertEquals(stepContainer.histogram.getCount(), 100);
+        assertEquals(stepContainer.slowest.size(), UsageFormatter.MAX_SLOWEST_DURATIONS);
+        assertEquals(stepContainer.slowest.peek().nanos, 100L - UsageFormatter.MAX_SLOWEST_DURATIONS + 1);
+    }
+
+    @Test
+    public void doneWithoutUsageStatisticStrategies() throws IOException {
+        StringBuffer out = new StringBuffer();
+        UsageFormatter usageFormatter = new UsageFormatter(out);
+        usageFormatter.match(mockStepDefinitionMatch());
+        usageFormatter.result(new Result(Result.PASSED, 12345678L, null));
 
         usageFormatter.done();
 
         assertTrue(out.toString().contains("0.012345678"));
+        assertTrue(out.toString().contains("z:3"));
     }
 
     @Test
     public void doneWithUsageStatisticStrategies() throws IOException {
         StringBuffer out = new StringBuffer();
         UsageFormatter usageFormatter = new UsageFormatter(out);
-
-        UsageFormatter.StepContainer stepContainer = new UsageFormatter.StepContainer();
-        UsageFormatter.StepDuration stepDuration = new UsageFormatter.StepDuration();
-        stepDuration.duration = BigDecimal.valueOf(12345678L);
-        stepDuration.location = "location.feature";
-        stepContainer.durations = Arrays.asList(stepDuration);
-
-        usageFormatter.usageMap.put("aStep", Arrays.asList(stepContainer));
+        usageFormatter.match(mockStepDefinitionMatch());
+        usageFormatter.result(new Result(Result.PASSED, 12345678L, null));
 
         UsageFormatter.UsageStatisticStrategy usageStatisticStrategy = mock(UsageFormatter.UsageStatisticStrategy.class);
-        when(usageStatisticStrategy.calculate(Arrays.asList(12345678L))).thenReturn(23456L);
+        when(usageStatisticStrategy.calculate(any(LatencyHistogram.class))).thenReturn(23456L);
         usageFormatter.addUsageStatisticStrategy("average", usageStatisticStrategy);
 
         usageFormatter.done();
@@ -3,6 +3,8 @@ package cucumber.runtime.io;
 import org.junit.Test;
 
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
 
 import static org.junit.Assert.assertEquals;
 
@@ -25,4 +27,17 @@ public class FileResourceTest {
         // test
         assertEquals("test.feature", toTest.getPath());
     }
+
+    @Test
+    public void get_bytes_reads_the_whole_file() throws IOException {
+        File file = File.createTempFile("test", ".feature");
+        file.deleteOnExit();
+        FileOutputStream out = new FileOutputStream(file);
+        out.write("Feature: bytes".getBytes("UTF-8"));
+        out.close();
+
+        FileResource toTest = new FileResource(file.getParentFile(), file);
+
+        assertEquals("Feature: bytes", new String(toTest.getBytes(), "UTF-8"));
+    }
 }
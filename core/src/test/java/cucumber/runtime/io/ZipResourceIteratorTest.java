@@ -0,0 +1,133 @@
+package cucumber.runtime.io;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class ZipResourceIteratorTest {
+
+    @Test
+    public void finds_entries_with_path_prefix_and_suffix() throws IOException {
+        File zip = createZip("b/x.feature", "a/z.txt", "ab/w.feature", "a/y.feature", "a/c/v.feature");
+
+        assertEquals(asList("a/c/v.feature", "a/y.feature"), paths(new ZipResourceIterator(zip.getPath(), "a/", ".feature")));
+        assertEquals(asList("a/c/v.feature", "a/y.feature", "a/z.txt"), paths(new ZipResourceIterator(zip.getPath(), "a/", null)));
+        assertEquals(asList("a/c/v.feature", "a/y.feature", "ab/w.feature", "b/x.feature"), paths(new ZipResourceIterator(zip.getPath(), "", ".feature")));
+        assertEquals(asList(), paths(new ZipResourceIterator(zip.getPath(), "c/", ".feature")));
+    }
+
+    @Test
+    public void shares_the_index_until_the_zip_file_changes() throws IOException {
+        File zip = createZip("a/y.feature");
+        ZipIndexes zipIndexes = new ZipIndexes();
+        ZipIndex index = zipIndexes.get(zip.getPath());
+        assertSame(index, zipIndexes.get(zip.getPath()));
+
+        writeZip(zip, "a/y.feature", "a/z.feature");
+        zip.setLastModified(zip.lastModified() + 2000);
+
+        assertNotSame(index, zipIndexes.get(zip.getPath()));
+        assertEquals(2, zipIndexes.get(zip.getPath()).size());
+        assertClosed(index);
+        zipIndexes.close();
+    }
+
+    @Test
+    public void closing_the_indexes_closes_their_zip_files() throws IOException {
+        File zip = createZip("a/y.feature");
+        ZipIndexes zipIndexes = new ZipIndexes();
+        ZipIndex index = zipIndexes.get(zip.getPath());
+
+        zipIndexes.close();
+
+        assertClosed(index);
+    }
+
+    @Test
+    public void reads_the_bytes_of_an_entry() throws IOException {
+        File zip = createZip("a/y.feature");
+
+        ZipResourceIterator resources = new ZipResourceIterator(zip.getPath(), "a/", ".feature");
+        BytesResource resource = (BytesResource) resources.next();
+
+        assertEquals("a/y.feature", new String(resource.getBytes(), "UTF-8"));
+        resources.close();
+    }
+
+    @Test
+    public void closes_the_zip_file_it_opened() throws IOException {
+        File zip = createZip("a/y.feature");
+        ZipResourceIterator resources = new ZipResourceIterator(zip.getPath(), "a/", ".feature");
+        Resource resource = resources.next();
+
+        resources.close();
+
+        try {
+            resource.getInputStream();
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    @Test
+    public void does_not_close_zip_files_shared_with_the_owner() throws IOException {
+        File zip = createZip("a/y.feature");
+        ZipIndexes zipIndexes = new ZipIndexes();
+        ZipResourceIteratorFactory factory = new ZipResourceIteratorFactory(zipIndexes);
+        ZipIndex index = zipIndexes.get(zip.getPath());
+
+        factory.close();
+
+        assertEquals(1, index.getZipFile().size());
+        zipIndexes.close();
+    }
+
+    private void assertClosed(ZipIndex index) {
+        try {
+            index.getZipFile().size();
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    private List<String> paths(ZipResourceIterator resources) throws IOException {
+        List<String> paths = new ArrayList<String>();
+        while (resources.hasNext()) {
+            paths.add(resources.next().getPath());
+        }
+        resources.close();
+        return paths;
+    }
+
+    private File createZip(String... entryNames) throws IOException {
+        File zip = File.createTempFile("resources", ".zip");
+        zip.deleteOnExit();
+        writeZip(zip, entryNames);
+        return zip;
+    }
+
+    private void writeZip(File zip, String... entryNames) throws IOException {
+        ZipOutputStream out = new ZipOutputStream(new FileOutputStream(zip));
+        try {
+            for (String entryName : entryNames) {
+                out.putNextEntry(new ZipEntry(entryName));
+                out.write(entryName.getBytes("UTF-8"));
+                out.closeEntry();
+            }
+        } finally {
+            out.close();
+        }
+    }
+}
@@ -16,6 +16,7 @@ import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 public class DataTableTest {
 
@@ -108,6 +109,36 @@ public class DataTableTest {
         assertNotSame(createSimpleTable().transpose().hashCode(), createTable(asList("one")).transpose().hashCode());
     }
 
+    @Test
+    public void transposed_rows_are_the_columns_of_the_table() {
+        DataTable transposed = createSimpleTable().transpose();
+        assertEquals(asList(asList("one", "4444"), asList("four", "55555"), asList("seven", "666666")), transposed.raw());
+        assertEquals(asList(asList("four", "55555"), asList("seven", "666666")), transposed.cells(1));
+        assertEquals(createSimpleTable(), transposed.transpose());
+    }
+
+    @Test
+    public void converts_to_the_same_type_once() {
+        DataTable table = createSimpleTable();
+        List<Map<String, String>> maps = table.asMaps(String.class, String.class);
+        assertSame(maps, table.asMaps(String.class, String.class));
+        assertSame(table.raw(), table.raw());
+    }
+
+    @Test
+    public void converts_to_new_objects_of_mutable_types_every_time() {
+        DataTable table = createSimpleTable();
+        List<Simple> items = table.asList(Simple.class);
+        items.get(0).one = "changed";
+        assertEquals("4444", table.asList(Simple.class).get(0).one);
+    }
+
+    public static class Simple {
+        public String one;
+        public String four;
+        public String seven;
+    }
+
     public DataTable createSimpleTable() {
         return createTable(asList("one", "four", "seven"), asList("4444", "55555", "666666"));
     }
@@ -0,0 +1,32 @@
+package cucumber.runtime.table;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+public class TableCellsTest {
+    private final TableCells cells = new TableCells(asList(
+            asList("a", "b", "c"),
+            asList("d", "e", "f")
+    ));
+
+    @Test
+    public void views_rows_below_a_row() {
+        assertEquals(asList(asList("d", "e", "f")), cells.from(1).rows());
+        assertEquals(0, cells.from(2).rows().size());
+    }
+
+    @Test
+    public void views_rows_below_a_row_of_the_transposed_cells() {
+        List<List<String>> rows = cells.transpose().from(1).rows();
+        assertEquals(asList(asList("b", "e"), asList("c", "f")), rows);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void rows_are_unmodifiable() {
+        cells.rows().get(0).set(0, "x");
+    }
+}
@@ -4,6 +4,7 @@ import cucumber.api.DataTable;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static java.util.Arrays.asList;
@@ -246,4 +247,138 @@ public class TableDifferTest {
         actual.add(new TestPojo(3, "jdoe", 34545));
         expected.diff(actual);
     }
+
+    @Test
+    public void unordered_diff_considers_shuffled_table_as_equal() {
+        List<List<String>> shuffled = new ArrayList<List<String>>(table().raw());
+        Collections.reverse(shuffled.subList(1, shuffled.size()));
+        table().unorderedDiff(shuffled);
+    }
+
+    @Test(expected = TableDiffException.class)
+    public void unordered_diff_compares_the_top_row_by_position() {
+        try {
+            List<List<String>> shuffled = new ArrayList<List<String>>(table().raw());
+            Collections.reverse(shuffled);
+            table().unorderedDiff(shuffled);
+        } catch (TableDiffException e) {
+            String expected = "" +
+                    "Tables were not identical:\n" +
+                    "    - | Aslak | aslak@email.com | 123 |\n" +
+                    "    + | Ni    | ni@email.com    | 654 |\n" +
+                    "      | Joe   | joe@email.com   | 234 |\n" +
+                    "      | Bryan | bryan@email.org | 456 |\n" +
+                    "    - | Ni    | ni@email.com    | 654 |\n" +
+                    "    + | Aslak | aslak@email.com | 123 |\n";
+            assertEquals(expected, e.getMessage());
+            throw e;
+        }
+    }
+
+    @Test(expected = TableDiffException.class)
+    public void unordered_diff_reports_missing_rows_in_place_and_new_rows_at_end() {
+        try {
+            List<List<String>> other = new ArrayList<List<String>>(otherTableWithDeletedAndInserted().raw());
+            Collections.reverse(other.subList(1, other.size()));
+            table().unorderedDiff(other);
+        } catch (TableDiffException e) {
+            String expected = "" +
+                    "Tables were not identical:\n" +
+                    "      | Aslak | aslak@email.com      | 123 |\n" +
+                    "    - | Joe   | joe@email.com        | 234 |\n" +
+                    "      | Bryan | bryan@email.org      | 456 |\n" +
+                    "    - | Ni    | ni@email.com         | 654 |\n" +
+                    "    + | Foo   | schnickens@email.net | 789 |\n" +
+                    "    + | Doe   | joe@email.com        | 234 |\n";
+            assertEquals(expected, e.getMessage());
+            throw e;
+        }
+    }
+
+    @Test(expected = TableDiffException.class)
+    public void keyed_diff_reports_changed_missing_and_new_rows() {
+        DataTable expected = TableParser.parse("" +
+                "| Name  | Email           |\n" +
+                "| Aslak | aslak@email.com |\n" +
+                "| Joe   | joe@email.com   |\n" +
+                "| Ni    | ni@email.com    |\n", null);
+        DataTable actual = TableParser.parse("" +
+                "| Name  | Email           |\n" +
+                "| Doe   | doe@email.com   |\n" +
+                "| Joe   | joe@NOSPAM.com  |\n" +
+                "| Aslak | aslak@email.com |\n", null);
+        try {
+            expected.keyedDiff(actual, "Name");
+        } catch (TableDiffException e) {
+            assertEquals("" +
+                    "Tables were not identical:\n" +
+                    "      | Name  | Email           |\n" +
+                    "      | Aslak | aslak@email.com |\n" +
+                    "    - | Joe   | joe@email.com   |\n" +
+                    "    + | Joe   | joe@NOSPAM.com  |\n" +
+                    "    - | Ni    | ni@email.com    |\n" +
+                    "    + | Doe   | doe@email.com   |\n", e.getMessage());
+            throw e;
+        }
+    }
+
+    @Test(expected = TableDiffException.class)
+    public void keyed_diff_finds_the_key_column_in_each_tables_own_top_row() {
+        DataTable expected = TableParser.parse("" +
+                "| Name  | Email           |\n" +
+                "| Aslak | aslak@email.com |\n" +
+                "| Joe   | joe@email.com   |\n", null);
+        DataTable actual = TableParser.parse("" +
+                "| Email           | Name  |\n" +
+                "| joe@email.com   | Joe   |\n" +
+                "| aslak@email.com | Aslak |\n", null);
+        try {
+            expected.keyedDiff(actual, "Name");
+        } catch (TableDiffException e) {
+            assertEquals("" +
+                    "Tables were not identical:\n" +
+                    "    - | Name            | Email           |\n" +
+                    "    + | Email           | Name            |\n" +
+                    "    - | Aslak           | aslak@email.com |\n" +
+                    "    + | aslak@email.com | Aslak           |\n" +
+                    "    - | Joe             | joe@email.com   |\n" +
+                    "    + | joe@email.com   | Joe             |\n", e.getMessage());
+            throw e;
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void keyed_diff_rejects_a_key_column_missing_from_the_other_table() {
+        DataTable expected = TableParser.parse("" +
+                "| Name  | Email           |\n" +
+                "| Joe   | joe@email.com   |\n", null);
+        DataTable actual = TableParser.parse("" +
+                "| Login | Email           |\n" +
+                "| Joe   | joe@email.com   |\n", null);
+        expected.keyedDiff(actual, "Name");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void keyed_diff_rejects_duplicate_keys_in_the_expected_table() {
+        DataTable expected = TableParser.parse("" +
+                "| Name  | Email           |\n" +
+                "| Joe   | joe@email.com   |\n" +
+                "| Joe   | joe@NOSPAM.com  |\n", null);
+        DataTable actual = TableParser.parse("" +
+                "| Name  | Email           |\n" +
+                "| Joe   | joe@email.com   |\n", null);
+        expected.keyedDiff(actual, "Name");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void keyed_diff_rejects_duplicate_keys_in_the_actual_table() {
+        DataTable expected = TableParser.parse("" +
+                "| Name  | Email           |\n" +
+                "| Joe   | joe@email.com   |\n", null);
+        DataTable actual = TableParser.parse("" +
+                "| Name  | Email           |\n" +
+                "| Joe   | joe@email.com   |\n" +
+                "| Joe   | joe@NOSPAM.com  |\n", null);
+        expected.keyedDiff(actual, "Name");
+    }
 }
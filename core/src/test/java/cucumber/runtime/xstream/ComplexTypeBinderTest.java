@@ -0,0 +1,64 @@
+package cucumber.runtime.xstream;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ComplexTypeBinderTest {
+    private LocalizedXStreams.LocalizedXStream xStream;
+
+    @Before
+    public void createXStream() {
+        xStream = new LocalizedXStreams(Thread.currentThread().getContextClassLoader()).get(Locale.US);
+    }
+
+    public static class Person {
+        private String name;
+        private int credits;
+        private transient String ignored;
+    }
+
+    public static class Team {
+        private String name;
+        private List<Person> members;
+    }
+
+    @Test
+    public void binds_rows_to_fields() {
+        ComplexTypeBinder<Person> binder = xStream.getComplexTypeBinder(Person.class, asList("Name", "Credits", "Ignored"), null);
+        List<Person> people = binder.bind(asList(asList("Sid Vicious", "1,000", "x"), asList("Frank Zappa", "3,000", "y")));
+
+        assertEquals("Frank Zappa", people.get(1).name);
+        assertEquals(3000, people.get(1).credits);
+        assertNull(people.get(1).ignored);
+    }
+
+    @Test
+    public void creates_one_binder_per_header() {
+        ComplexTypeBinder<Person> binder = xStream.getComplexTypeBinder(Person.class, asList("Name", "Credits"), null);
+
+        assertSame(binder, xStream.getComplexTypeBinder(Person.class, asList("Name", "Credits"), null));
+    }
+
+    @Test
+    public void does_not_keep_the_callers_header() {
+        List<String> header = new ArrayList<String>(asList("Name", "Credits"));
+        ComplexTypeBinder<Person> binder = xStream.getComplexTypeBinder(Person.class, header, null);
+        header.set(1, "Ignored");
+
+        assertSame(binder, xStream.getComplexTypeBinder(Person.class, asList("Name", "Credits"), null));
+    }
+
+    @Test
+    public void leaves_fields_without_single_value_converters_to_xstream() {
+        assertNull(xStream.getComplexTypeBinder(Team.class, asList("Name", "Members"), null));
+    }
+}
@@ -0,0 +1,70 @@
+package cucumber.runtime.xstream;
+
+import cucumber.runtime.ParameterInfo;
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class LocalizedXStreamsTest {
+    private final LocalizedXStreams localizedXStreams = new LocalizedXStreams(Thread.currentThread().getContextClassLoader());
+
+    @Test
+    public void gives_each_thread_its_own_xstream() throws Exception {
+        LocalizedXStreams.LocalizedXStream mine = localizedXStreams.get(Locale.US);
+        assertSame(mine, localizedXStreams.get(Locale.US));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            LocalizedXStreams.LocalizedXStream theirs = executor.submit(new Callable<LocalizedXStreams.LocalizedXStream>() {
+                @Override
+                public LocalizedXStreams.LocalizedXStream call() {
+                    return localizedXStreams.get(Locale.US);
+                }
+            }).get();
+            assertNotSame(mine, theirs);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void converts_parameters_with_different_formats_on_several_threads() throws Exception {
+        final ParameterInfo withFormat = new ParameterInfo(Date.class, "yyyy-MM-dd", null, null);
+        final ParameterInfo withoutFormat = new ParameterInfo(Date.class, null, null, null);
+        final Date expected = new SimpleDateFormat("yyyy-MM-dd", Locale.US).parse("2011-11-29");
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Void>> futures = new ArrayList<Future<Void>>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        for (int j = 0; j < 500; j++) {
+                            assertEquals(expected, withFormat.convert("2011-11-29", localizedXStreams.get(Locale.US)));
+                            assertEquals(expected, withoutFormat.convert("11/29/2011", localizedXStreams.get(Locale.US)));
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package cucumber.runtime.java;
+
+import cucumber.runtime.CucumberException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The step definitions and hooks found by {@link GlueIndexProcessor} at compile time. Each line of
+ * {@value #RESOURCE} is either one step definition or hook, with tab separated fields, or a
+ * {@value #PACKAGE} line naming a package whose classes were all compiled with the processor.
+ */
+class GlueIndex {
+    static final String RESOURCE = "META-INF/cucumber/glue.index";
+    static final String PACKAGE = "package";
+
+    private final List<Entry> entries;
+    private final Set<String> packageNames;
+
+    GlueIndex(List<Entry> entries, Set<String> packageNames) {
+        this.entries = entries;
+        this.packageNames = packageNames;
+    }
+
+    /**
+     * @param classLoader where to look for index resources.
+     * @return the entries of all index resources on the classpath.
+     */
+    static GlueIndex load(ClassLoader classLoader) {
+        List<Entry> entries = new ArrayList<Entry>();
+        Set<String> packageNames = new HashSet<String>();
+        try {
+            Enumeration<URL> resources = classLoader.getResources(RESOURCE);
+            while (resources.hasMoreElements()) {
+                URL resource = resources.nextElement();
+                BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openStream(), "UTF-8"));
+                try {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (line.startsWith(PACKAGE + "\t")) {
+                            packageNames.add(line.substring(PACKAGE.length() + 1));
+                        } else if (line.length() > 0) {
+                            entries.add(Entry.parse(line));
+                        }
+                    }
+                } finally {
+                    reader.close();
+                }
+            }
+        } catch (IOException e) {
+            throw new CucumberException("Failed to read " + RESOURCE, e);
+        }
+        return new GlueIndex(entries, packageNames);
+    }
+
+    /**
+     * @param packageName a glue package.
+     * @return whether the classes of the package were compiled with the processor, so the package
+     * doesn't need to be scanned.
+     */
+    boolean covers(String packageName) {
+        return packageNames.contains(packageName);
+    }
+
+    /**
+     * @param packageName a glue package.
+     * @return the entries for classes in the package or one of its sub packages.
+     */
+    List<Entry> entries(String packageName) {
+        if (packageName.length() == 0) {
+            return Collections.unmodifiableList(entries);
+        }
+        List<Entry> result = new ArrayList<Entry>();
+        for (Entry entry : entries) {
+            if (entry.className.startsWith(packageName + ".")) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    static class Entry {
+        static final String STEP = "step";
+        static final String BEFORE = "before";
+        static final String AFTER = "after";
+
+        final String kind;
+        final String className;
+        final String methodName;
+        final List<String> parameterTypes;
+        final long timeoutMillis;
+        /**
+         * The regular expression of a step definition, or the tag expressions of a hook.
+         */
+        final List<String> expressions;
+        final int order;
+
+        Entry(String kind, String className, String methodName, List<String> parameterTypes, long timeoutMillis, List<String> expressions, int order) {
+            this.kind = kind;
+            this.className = className;
+            this.methodName = methodName;
+            this.parameterTypes = parameterTypes;
+            this.timeoutMillis = timeoutMillis;
+            this.expressions = expressions;
+            this.order = order;
+        }
+
+        /**
+         * @param glueCodeClass the class named by this entry.
+         * @return the method named by this entry.
+         */
+        Method method(Class<?> glueCodeClass) {
+            for (Method method : glueCodeClass.getMethods()) {
+                if (method.getName().equals(methodName) && method.getParameterTypes().length == parameterTypes.size()) {
+                    List<String> methodParameterTypes = new ArrayList<String>();
+                    for (Class<?> parameterType : method.getParameterTypes()) {
+                        methodParameterTypes.add(parameterType.getCanonicalName());
+                    }
+                    if (methodParameterTypes.equals(parameterTypes)) {
+                        return method;
+                    }
+                }
+            }
+            throw new CucumberException(String.format("%s doesn't match %s. Recompile the glue code to update %s.", glueCodeClass, this, RESOURCE));
+        }
+
+        static Entry parse(String line) {
+            String[] fields = line.split("\t", -1);
+            if (fields.length < 6) {
+                throw new CucumberException("Malformed line in " + RESOURCE + ": " + line);
+            }
+            List<String> parameterTypes = fields[3].length() == 0 ? Collections.<String>emptyList() : Arrays.asList(fields[3].split(","));
+            List<String> expressions = new ArrayList<String>();
+            for (int i = 6; i < fields.length; i++) {
+                expressions.add(unescape(fields[i]));
+            }
+            return new Entry(fields[0], fields[1], fields[2], parameterTypes, Long.parseLong(fields[4]), expressions, Integer.parseInt(fields[5]));
+        }
+
+        String toLine() {
+            StringBuilder line = new StringBuilder();
+            line.append(kind).append('\t').append(className).append('\t').append(methodName).append('\t');
+            for (int i = 0; i < parameterTypes.size(); i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                line.append(parameterTypes.get(i));
+            }
+            line.append('\t').append(timeoutMillis).append('\t').append(order);
+            for (String expression : expressions) {
+                line.append('\t').append(escape(expression));
+            }
+            return line.toString();
+        }
+
+        @Override
+        public String toString() {
+            return className + "." + methodName + parameterTypes;
+        }
+
+        private static String escape(String s) {
+            return s.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+        }
+
+        private static String unescape(String s) {
+            if (s.indexOf('\\') == -1) {
+                return s;
+            }
+            StringBuilder result = new StringBuilder(s.length());
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (c == '\\' && i + 1 < s.length()) {
+                    char next = s.charAt(++i);
+                    switch (next) {
+                        case 't':
+                            result.append('\t');
+                            break;
+                        case 'n':
+                            result.append('\n');
+                            break;
+                        case 'r':
+                            result.append('\r');
+                            break;
+                        default:
+                            result.append(next);
+                    }
+                } else {
+                    result.append(c);
+                }
+            }
+            return result.toString();
+        }
+    }
+}
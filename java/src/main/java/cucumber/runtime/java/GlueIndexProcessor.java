@@ -0,0 +1,163 @@
+package cucumber.runtime.java;
+
+import cucumber.api.java.After;
+import cucumber.api.java.Before;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Writes the step definitions and hooks of the classes being compiled to {@value GlueIndex#RESOURCE},
+ * so that {@link MethodScanner} doesn't have to look for their annotations by reflection. Enable it with
+ * {@code javac -processor cucumber.runtime.java.GlueIndexProcessor}.
+ * <p/>
+ * The index also lists the packages of the classes compiled together. A glue path whose package is listed is
+ * registered from the index alone, without scanning the classpath, so a glue package and its sub packages
+ * have to be compiled in one run. Glue paths whose package isn't listed in any index are still scanned.
+ */
+@SupportedAnnotationTypes("*")
+public class GlueIndexProcessor extends AbstractProcessor {
+    private final List<GlueIndex.Entry> entries = new ArrayList<GlueIndex.Entry>();
+    private final Set<String> packageNames = new TreeSet<String>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            if (!packageNames.isEmpty()) {
+                writeIndex();
+            }
+            return false;
+        }
+        for (Element element : roundEnv.getRootElements()) {
+            packageNames.add(processingEnv.getElementUtils().getPackageOf(element).getQualifiedName().toString());
+        }
+        for (TypeElement annotation : annotations) {
+            String kind = kind(annotation);
+            if (kind == null) {
+                continue;
+            }
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.METHOD && isScannable((ExecutableElement) element)) {
+                    entries.add(entry(kind, annotation, (ExecutableElement) element));
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Only index what {@link MethodScanner} would find by reflection: public methods of classes
+     * that {@link cucumber.runtime.Utils#isInstantiable(Class)}.
+     */
+    private boolean isScannable(ExecutableElement method) {
+        TypeElement glueCodeClass = (TypeElement) method.getEnclosingElement();
+        Set<Modifier> classModifiers = glueCodeClass.getModifiers();
+        boolean isNonStaticInnerClass = glueCodeClass.getNestingKind() == NestingKind.MEMBER && !classModifiers.contains(Modifier.STATIC);
+        return method.getModifiers().contains(Modifier.PUBLIC)
+                && glueCodeClass.getKind() == ElementKind.CLASS
+                && classModifiers.contains(Modifier.PUBLIC)
+                && !classModifiers.contains(Modifier.ABSTRACT)
+                && !isNonStaticInnerClass;
+    }
+
+    private String kind(TypeElement annotation) {
+        String name = annotation.getQualifiedName().toString();
+        if (name.equals(Before.class.getName())) {
+            return GlueIndex.Entry.BEFORE;
+        } else if (name.equals(After.class.getName())) {
+            return GlueIndex.Entry.AFTER;
+        } else if (annotation.getAnnotation(StepDefAnnotation.class) != null) {
+            return GlueIndex.Entry.STEP;
+        }
+        return null;
+    }
+
+    private GlueIndex.Entry entry(String kind, TypeElement annotation, ExecutableElement method) {
+        TypeElement glueCodeClass = (TypeElement) method.getEnclosingElement();
+        String className = processingEnv.getElementUtils().getBinaryName(glueCodeClass).toString();
+        List<String> parameterTypes = new ArrayList<String>();
+        for (VariableElement parameter : method.getParameters()) {
+            parameterTypes.add(processingEnv.getTypeUtils().erasure(parameter.asType()).toString());
+        }
+
+        long timeoutMillis = 0;
+        int order = 0;
+        List<String> expressions = new ArrayList<String>();
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value : values(annotation, method).entrySet()) {
+            String name = value.getKey().getSimpleName().toString();
+            Object v = value.getValue().getValue();
+            if (name.equals("timeout")) {
+                timeoutMillis = (Long) v;
+            } else if (name.equals("order")) {
+                order = (Integer) v;
+            } else if (name.equals("value")) {
+                if (v instanceof List) {
+                    for (Object tagExpression : (List<?>) v) {
+                        expressions.add((String) ((AnnotationValue) tagExpression).getValue());
+                    }
+                } else {
+                    expressions.add((String) v);
+                }
+            }
+        }
+        return new GlueIndex.Entry(kind, className, method.getSimpleName().toString(), parameterTypes, timeoutMillis, expressions, order);
+    }
+
+    private Map<? extends ExecutableElement, ? extends AnnotationValue> values(TypeElement annotation, ExecutableElement method) {
+        for (AnnotationMirror mirror : method.getAnnotationMirrors()) {
+            if (mirror.getAnnotationType().asElement().equals(annotation)) {
+                return processingEnv.getElementUtils().getElementValuesWithDefaults(mirror);
+            }
+        }
+        return Collections.emptyMap();
+    }
+
+    private void writeIndex() {
+        try {
+            FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", GlueIndex.RESOURCE);
+            Writer writer = new OutputStreamWriter(resource.openOutputStream(), "UTF-8");
+            try {
+                for (String packageName : packageNames) {
+                    writer.write(GlueIndex.PACKAGE + "\t" + packageName);
+                    writer.write('\n');
+                }
+                for (GlueIndex.Entry entry : entries) {
+                    writer.write(entry.toLine());
+                    writer.write('\n');
+                }
+            } finally {
+                writer.close();
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write " + GlueIndex.RESOURCE + ": " + e.getMessage());
+        }
+    }
+}
@@ -19,15 +19,20 @@ import cucumber.runtime.snippets.FunctionNameGenerator;
 import cucumber.runtime.snippets.SnippetGenerator;
 import gherkin.formatter.model.Step;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.util.Collection;
 import java.util.List;
 import java.util.regex.Pattern;
 
-public class JavaBackend implements Backend {
+public class JavaBackend implements Backend, Closeable {
     private SnippetGenerator snippetGenerator = new SnippetGenerator(new JavaSnippet());
     private final ObjectFactory objectFactory;
     private final ClassFinder classFinder;
+    // Only set when this backend created its own resource loader.
+    private final MultiLoader ownResourceLoader;
 
     private final MethodScanner methodScanner;
     private Glue glue;
@@ -40,15 +45,22 @@ public class JavaBackend implements Backend {
     public JavaBackend(ResourceLoader resourceLoader) {
         ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
         classFinder = new ResourceLoaderClassFinder(resourceLoader, classLoader);
-        methodScanner = new MethodScanner(classFinder);
-        objectFactory = loadObjectFactory(classFinder);
+        methodScanner = new MethodScanner(classFinder, classLoader);
+        objectFactory = loadObjectFactory(classFinder, classLoader);
+        ownResourceLoader = null;
     }
 
+    /**
+     * Creates a backend that scans the classpath with a resource loader of its own. {@link #close()}
+     * closes the jars it read.
+     *
+     * @param objectFactory
+     */
     public JavaBackend(ObjectFactory objectFactory) {
         ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
-        ResourceLoader resourceLoader = new MultiLoader(classLoader);
-        classFinder = new ResourceLoaderClassFinder(resourceLoader, classLoader);
-        methodScanner = new MethodScanner(classFinder);
+        ownResourceLoader = new MultiLoader(classLoader);
+        classFinder = new ResourceLoaderClassFinder(ownResourceLoader, classLoader);
+        methodScanner = new MethodScanner(classFinder, classLoader);
         this.objectFactory = objectFactory;
     }
 
@@ -56,13 +68,34 @@ public class JavaBackend implements Backend {
         this.objectFactory = objectFactory;
         this.classFinder = classFinder;
         methodScanner = new MethodScanner(classFinder);
+        ownResourceLoader = null;
     }
 
     public static ObjectFactory loadObjectFactory(ClassFinder classFinder) {
+        return loadObjectFactory(classFinder, Thread.currentThread().getContextClassLoader());
+    }
+
+    /**
+     * Loads the object factory registered in {@code META-INF/services/cucumber.runtime.java.ObjectFactory},
+     * or the only one in the {@code cucumber.runtime} package if none is registered. A custom object factory
+     * must be registered as soon as any other one on the classpath is, otherwise it isn't found.
+     *
+     * @param classFinder used to find object factories when none is registered.
+     * @param classLoader where to look for registered object factories.
+     * @return the object factory, or a {@link DefaultJavaObjectFactory} if there isn't exactly one.
+     */
+    public static ObjectFactory loadObjectFactory(ClassFinder classFinder, ClassLoader classLoader) {
         ObjectFactory objectFactory;
         try {
             Reflections reflections = new Reflections(classFinder);
-            objectFactory = reflections.instantiateExactlyOneSubclass(ObjectFactory.class, "cucumber.runtime", new Class[0], new Object[0]);
+            Collection<? extends ObjectFactory> registered = reflections.instantiateServices(ObjectFactory.class, classLoader, new Class[0], new Object[0]);
+            if (registered.size() == 1) {
+                objectFactory = registered.iterator().next();
+            } else if (registered.size() > 1) {
+                throw new TooManyInstancesException(registered);
+            } else {
+                objectFactory = reflections.instantiateExactlyOneSubclass(ObjectFactory.class, "cucumber.runtime", new Class[0], new Object[0]);
+            }
         } catch (TooManyInstancesException e) {
             System.out.println(getMultipleObjectFactoryLogMessage());
             objectFactory = new DefaultJavaObjectFactory();
@@ -96,6 +129,16 @@ public class JavaBackend implements Backend {
         //Not used here yet
     }
 
+    /**
+     * Closes the resource loader this backend created, if any.
+     */
+    @Override
+    public void close() throws IOException {
+        if (ownResourceLoader != null) {
+            ownResourceLoader.close();
+        }
+    }
+
     @Override
     public void buildWorld() {
         objectFactory.start();
@@ -112,9 +155,21 @@ public class JavaBackend implements Backend {
     }
 
     void addStepDefinition(Annotation annotation, Method method) {
+        try {
+            addStepDefinition(method, regexp(annotation), timeoutMillis(annotation));
+        } catch (DuplicateStepDefinitionException e) {
+            throw e;
+        } catch (CucumberException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new CucumberException(e);
+        }
+    }
+
+    void addStepDefinition(Method method, String regexp, long timeoutMillis) {
         try {
             objectFactory.addClass(method.getDeclaringClass());
-            glue.addStepDefinition(new JavaStepDefinition(method, pattern(annotation), timeoutMillis(annotation), objectFactory));
+            glue.addStepDefinition(new JavaStepDefinition(method, Pattern.compile(regexp), timeoutMillis, objectFactory));
         } catch (DuplicateStepDefinitionException e) {
             throw e;
         } catch (Throwable e) {
@@ -122,10 +177,9 @@ public class JavaBackend implements Backend {
         }
     }
 
-    private Pattern pattern(Annotation annotation) throws Throwable {
+    private String regexp(Annotation annotation) throws Throwable {
         Method regexpMethod = annotation.getClass().getMethod("value");
-        String regexpString = (String) Utils.invoke(annotation, regexpMethod, 0);
-        return Pattern.compile(regexpString);
+        return (String) Utils.invoke(annotation, regexpMethod, 0);
     }
 
     private long timeoutMillis(Annotation annotation) throws Throwable {
@@ -134,16 +188,22 @@ public class JavaBackend implements Backend {
     }
 
     void addHook(Annotation annotation, Method method) {
+        if (annotation.annotationType().equals(Before.class)) {
+            Before before = (Before) annotation;
+            addHook(Before.class, method, before.value(), before.order(), before.timeout());
+        } else {
+            After after = (After) annotation;
+            addHook(After.class, method, after.value(), after.order(), after.timeout());
+        }
+    }
+
+    void addHook(Class<? extends Annotation> hookType, Method method, String[] tagExpressions, int order, long timeoutMillis) {
         objectFactory.addClass(method.getDeclaringClass());
 
-        if (annotation.annotationType().equals(Before.class)) {
-            String[] tagExpressions = ((Before) annotation).value();
-            long timeout = ((Before) annotation).timeout();
-            glue.addBeforeHook(new JavaHookDefinition(method, tagExpressions, ((Before) annotation).order(), timeout, objectFactory));
+        if (hookType.equals(Before.class)) {
+            glue.addBeforeHook(new JavaHookDefinition(method, tagExpressions, order, timeoutMillis, objectFactory));
         } else {
-            String[] tagExpressions = ((After) annotation).value();
-            long timeout = ((After) annotation).timeout();
-            glue.addAfterHook(new JavaHookDefinition(method, tagExpressions, ((After) annotation).order(), timeout, objectFactory));
+            glue.addAfterHook(new JavaHookDefinition(method, tagExpressions, order, timeoutMillis, objectFactory));
         }
     }
 
@@ -4,7 +4,7 @@ import cucumber.api.Scenario;
 import cucumber.runtime.CucumberException;
 import cucumber.runtime.HookDefinition;
 import cucumber.runtime.MethodFormat;
-import cucumber.runtime.Utils;
+import cucumber.runtime.MethodInvoker;
 import gherkin.TagExpression;
 import gherkin.formatter.model.Tag;
 
@@ -14,16 +14,21 @@ import java.util.Collection;
 import static java.util.Arrays.asList;
 
 class JavaHookDefinition implements HookDefinition {
+    private static final Object[] NO_ARGS = new Object[0];
 
     private final Method method;
-    private final long timeoutMillis;
+    private final Class<?> declaringClass;
+    private final Class<?>[] parameterTypes;
+    private final MethodInvoker invoker;
     private final TagExpression tagExpression;
     private final int order;
     private final ObjectFactory objectFactory;
 
     public JavaHookDefinition(Method method, String[] tagExpressions, int order, long timeoutMillis, ObjectFactory objectFactory) {
         this.method = method;
-        this.timeoutMillis = timeoutMillis;
+        this.declaringClass = method.getDeclaringClass();
+        this.parameterTypes = method.getParameterTypes();
+        this.invoker = new MethodInvoker(method, timeoutMillis);
         tagExpression = new TagExpression(asList(tagExpressions));
         this.order = order;
         this.objectFactory = objectFactory;
@@ -42,12 +47,12 @@ class JavaHookDefinition implements HookDefinition {
     @Override
     public void execute(Scenario scenario) throws Throwable {
         Object[] args;
-        switch (method.getParameterTypes().length) {
+        switch (parameterTypes.length) {
             case 0:
-                args = new Object[0];
+                args = NO_ARGS;
                 break;
             case 1:
-                if (!Scenario.class.equals(method.getParameterTypes()[0])) {
+                if (!Scenario.class.equals(parameterTypes[0])) {
                     throw new CucumberException("When a hook declares an argument it must be of type " + Scenario.class.getName() + ". " + method.toString());
                 }
                 args = new Object[]{scenario};
@@ -56,7 +61,7 @@ class JavaHookDefinition implements HookDefinition {
                 throw new CucumberException("Hooks must declare 0 or 1 arguments. " + method.toString());
         }
 
-        Utils.invoke(objectFactory.getInstance(method.getDeclaringClass()), method, timeoutMillis, args);
+        invoker.invoke(objectFactory.getInstance(declaringClass), args);
     }
 
     @Override
@@ -2,9 +2,9 @@ package cucumber.runtime.java;
 
 import cucumber.runtime.JdkPatternArgumentMatcher;
 import cucumber.runtime.MethodFormat;
+import cucumber.runtime.MethodInvoker;
 import cucumber.runtime.ParameterInfo;
 import cucumber.runtime.StepDefinition;
-import cucumber.runtime.Utils;
 import gherkin.I18n;
 import gherkin.formatter.Argument;
 import gherkin.formatter.model.Step;
@@ -16,23 +16,25 @@ import java.util.regex.Pattern;
 
 class JavaStepDefinition implements StepDefinition {
     private final Method method;
+    private final Class<?> declaringClass;
+    private final MethodInvoker invoker;
     private final Pattern pattern;
-    private final long timeout;
     private final JdkPatternArgumentMatcher argumentMatcher;
     private final ObjectFactory objectFactory;
     private List<ParameterInfo> parameterInfos;
 
     public JavaStepDefinition(Method method, Pattern pattern, long timeoutMillis, ObjectFactory objectFactory) {
         this.method = method;
+        this.declaringClass = method.getDeclaringClass();
+        this.invoker = new MethodInvoker(method, timeoutMillis);
         this.parameterInfos = ParameterInfo.fromMethod(method);
         this.pattern = pattern;
         this.argumentMatcher = new JdkPatternArgumentMatcher(pattern);
-        this.timeout = timeoutMillis;
         this.objectFactory = objectFactory;
     }
 
     public void execute(I18n i18n, Object[] args) throws Throwable {
-        Utils.invoke(objectFactory.getInstance(method.getDeclaringClass()), method, timeout, args);
+        invoker.invoke(objectFactory.getInstance(declaringClass), args);
     }
 
     public List<Argument> matchedArguments(Step step) {
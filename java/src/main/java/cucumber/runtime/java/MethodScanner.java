@@ -14,24 +14,38 @@ import java.util.List;
 import static cucumber.runtime.io.MultiLoader.packageName;
 
 class MethodScanner {
-    private final Collection<Class<? extends Annotation>> cucumberAnnotationClasses;
+    private Collection<Class<? extends Annotation>> cucumberAnnotationClasses;
+    private GlueIndex glueIndex;
 
     private final ClassFinder classFinder;
+    private final ClassLoader classLoader;
 
     public MethodScanner(ClassFinder classFinder) {
+        this(classFinder, Thread.currentThread().getContextClassLoader());
+    }
+
+    public MethodScanner(ClassFinder classFinder, ClassLoader classLoader) {
         this.classFinder = classFinder;
-        cucumberAnnotationClasses = findCucumberAnnotationClasses();
+        this.classLoader = classLoader;
     }
 
     /**
-     * Registers step definitions and hooks.
+     * Registers step definitions and hooks. Glue paths covered by a {@link GlueIndex} are registered
+     * from the index, the others are scanned.
      *
      * @param javaBackend the backend where stepdefs and hooks will be registered
      * @param gluePaths   where to look
      */
     public void scan(JavaBackend javaBackend, List<String> gluePaths) {
         for (String gluePath : gluePaths) {
-            for (Class<?> glueCodeClass : classFinder.getDescendants(Object.class, packageName(gluePath))) {
+            String packageName = packageName(gluePath);
+            if (glueIndex().covers(packageName)) {
+                for (GlueIndex.Entry indexEntry : glueIndex().entries(packageName)) {
+                    scan(javaBackend, indexEntry, loadClass(indexEntry));
+                }
+                continue;
+            }
+            for (Class<?> glueCodeClass : classFinder.getDescendants(Object.class, packageName)) {
                 while (glueCodeClass != null && glueCodeClass != Object.class && !Utils.isInstantiable(glueCodeClass)) {
                     // those can't be instantiated without container class present.
                     glueCodeClass = glueCodeClass.getSuperclass();
@@ -53,7 +67,7 @@ class MethodScanner {
      * @param glueCodeClass the class where the method is declared.
      */
     public void scan(JavaBackend javaBackend, Method method, Class<?> glueCodeClass) {
-        for (Class<? extends Annotation> cucumberAnnotationClass : cucumberAnnotationClasses) {
+        for (Class<? extends Annotation> cucumberAnnotationClass : cucumberAnnotationClasses()) {
             Annotation annotation = method.getAnnotation(cucumberAnnotationClass);
             if (annotation != null) {
                 if (!method.getDeclaringClass().isAssignableFrom(glueCodeClass)) {
@@ -71,8 +85,40 @@ class MethodScanner {
         }
     }
 
-    private Collection<Class<? extends Annotation>> findCucumberAnnotationClasses() {
-        return classFinder.getDescendants(Annotation.class, "cucumber.api");
+    private Class<?> loadClass(GlueIndex.Entry indexEntry) {
+        try {
+            return classLoader.loadClass(indexEntry.className);
+        } catch (ClassNotFoundException e) {
+            throw new CucumberException(String.format("%s lists %s, but it isn't on the classpath", GlueIndex.RESOURCE, indexEntry.className), e);
+        }
+    }
+
+    private void scan(JavaBackend javaBackend, GlueIndex.Entry indexEntry, Class<?> glueCodeClass) {
+        if (!Utils.isInstantiable(glueCodeClass)) {
+            return;
+        }
+        Method method = indexEntry.method(glueCodeClass);
+        if (indexEntry.kind.equals(GlueIndex.Entry.STEP)) {
+            javaBackend.addStepDefinition(method, indexEntry.expressions.get(0), indexEntry.timeoutMillis);
+        } else {
+            Class<? extends Annotation> hookType = indexEntry.kind.equals(GlueIndex.Entry.BEFORE) ? Before.class : After.class;
+            String[] tagExpressions = indexEntry.expressions.toArray(new String[indexEntry.expressions.size()]);
+            javaBackend.addHook(hookType, method, tagExpressions, indexEntry.order, indexEntry.timeoutMillis);
+        }
+    }
+
+    private GlueIndex glueIndex() {
+        if (glueIndex == null) {
+            glueIndex = GlueIndex.load(classLoader);
+        }
+        return glueIndex;
+    }
+
+    private Collection<Class<? extends Annotation>> cucumberAnnotationClasses() {
+        if (cucumberAnnotationClasses == null) {
+            cucumberAnnotationClasses = classFinder.getDescendants(Annotation.class, "cucumber.api");
+        }
+        return cucumberAnnotationClasses;
     }
 
     private boolean isHookAnnotation(Annotation annotation) {
@@ -0,0 +1,83 @@
+package cucumber.runtime.java;
+
+import cucumber.runtime.ClassFinder;
+import cucumber.runtime.Glue;
+import cucumber.runtime.HookDefinition;
+import cucumber.runtime.StepDefinition;
+import cucumber.runtime.io.MultiLoader;
+import cucumber.runtime.io.ResourceLoaderClassFinder;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.internal.util.reflection.Whitebox;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeNotNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class GlueIndexProcessorTest {
+
+    @Test
+    public void registers_glue_from_the_generated_index_without_scanning() throws IOException {
+        ClassLoader classLoader = compileIndex();
+        ClassFinder classFinder = mock(ClassFinder.class);
+        Glue glue = mock(Glue.class);
+        JavaBackend backend = new JavaBackend(mock(ObjectFactory.class));
+        Whitebox.setInternalState(backend, "glue", glue);
+
+        new MethodScanner(classFinder, classLoader).scan(backend, asList("cucumber/runtime/java/indexed"));
+
+        ArgumentCaptor<StepDefinition> stepDefinition = ArgumentCaptor.forClass(StepDefinition.class);
+        verify(glue).addStepDefinition(stepDefinition.capture());
+        assertEquals("^I have (\\d+) cukes\\t in my belly$", stepDefinition.getValue().getPattern());
+        ArgumentCaptor<HookDefinition> hookDefinition = ArgumentCaptor.forClass(HookDefinition.class);
+        verify(glue).addBeforeHook(hookDefinition.capture());
+        assertEquals(5, hookDefinition.getValue().getOrder());
+        verifyZeroInteractions(classFinder);
+        backend.close();
+    }
+
+    @Test
+    public void scans_glue_paths_that_no_index_covers() throws IOException {
+        ClassLoader classLoader = compileIndex();
+        MultiLoader resourceLoader = new MultiLoader(classLoader);
+        ClassFinder classFinder = new ResourceLoaderClassFinder(resourceLoader, classLoader);
+        Glue glue = mock(Glue.class);
+        JavaBackend backend = new JavaBackend(mock(ObjectFactory.class));
+        Whitebox.setInternalState(backend, "glue", glue);
+
+        new MethodScanner(classFinder, classLoader).scan(backend, asList("cucumber/runtime/java/unindexed"));
+
+        ArgumentCaptor<StepDefinition> stepDefinition = ArgumentCaptor.forClass(StepDefinition.class);
+        verify(glue).addStepDefinition(stepDefinition.capture());
+        assertEquals("^I have no index$", stepDefinition.getValue().getPattern());
+        resourceLoader.close();
+        backend.close();
+    }
+
+    private ClassLoader compileIndex() throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assumeNotNull(compiler);
+        File outputDir = File.createTempFile("glue-index", "");
+        outputDir.delete();
+        outputDir.mkdir();
+
+        int status = compiler.run(null, null, null,
+                "-proc:only",
+                "-processor", GlueIndexProcessor.class.getName(),
+                "-classpath", System.getProperty("java.class.path"),
+                "-d", outputDir.getAbsolutePath(),
+                "src/test/java/cucumber/runtime/java/indexed/IndexedStepdefs.java");
+        assertEquals(0, status);
+        return new URLClassLoader(new URL[]{outputDir.toURI().toURL()}, Thread.currentThread().getContextClassLoader());
+    }
+}
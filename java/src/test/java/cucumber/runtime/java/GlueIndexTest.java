@@ -0,0 +1,66 @@
+package cucumber.runtime.java;
+
+import cucumber.api.Scenario;
+import cucumber.runtime.CucumberException;
+import cucumber.runtime.java.indexed.IndexedStepdefs;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class GlueIndexTest {
+    @Test
+    public void entries_survive_a_round_trip_through_a_line() {
+        GlueIndex.Entry entry = new GlueIndex.Entry(GlueIndex.Entry.STEP, "a.B$C", "m", asList("int", "java.lang.String[]"), 10, asList("^a\\tb\tc$"), 0);
+
+        GlueIndex.Entry parsed = GlueIndex.Entry.parse(entry.toLine());
+
+        assertEquals(entry.toLine(), parsed.toLine());
+        assertEquals("^a\\tb\tc$", parsed.expressions.get(0));
+        assertEquals(asList("int", "java.lang.String[]"), parsed.parameterTypes);
+        assertEquals(10, parsed.timeoutMillis);
+    }
+
+    @Test
+    public void finds_entries_in_package_and_sub_packages() {
+        GlueIndex.Entry entry = new GlueIndex.Entry(GlueIndex.Entry.AFTER, "a.b.C", "m", Collections.<String>emptyList(), 0, Collections.<String>emptyList(), 0);
+        GlueIndex glueIndex = new GlueIndex(asList(entry), Collections.<String>emptySet());
+
+        assertEquals(1, glueIndex.entries("a").size());
+        assertEquals(1, glueIndex.entries("a.b").size());
+        assertEquals(0, glueIndex.entries("a.b.C").size());
+        assertEquals(0, glueIndex.entries("a.bb").size());
+    }
+
+    @Test
+    public void covers_only_the_listed_packages() {
+        GlueIndex glueIndex = new GlueIndex(Collections.<GlueIndex.Entry>emptyList(), Collections.singleton("a.b"));
+
+        assertTrue(glueIndex.covers("a.b"));
+        assertFalse(glueIndex.covers("a"));
+        assertFalse(glueIndex.covers("a.b.c"));
+    }
+
+    @Test
+    public void finds_the_method_of_an_entry() throws NoSuchMethodException {
+        GlueIndex.Entry entry = new GlueIndex.Entry(GlueIndex.Entry.BEFORE, IndexedStepdefs.class.getName(), "before", asList(Scenario.class.getName()), 0, Collections.<String>emptyList(), 0);
+
+        assertEquals(IndexedStepdefs.class.getMethod("before", Scenario.class), entry.method(IndexedStepdefs.class));
+    }
+
+    @Test
+    public void fails_when_the_method_of_an_entry_is_gone() {
+        GlueIndex.Entry entry = new GlueIndex.Entry(GlueIndex.Entry.BEFORE, IndexedStepdefs.class.getName(), "before", Arrays.<String>asList(), 0, Collections.<String>emptyList(), 0);
+        try {
+            entry.method(IndexedStepdefs.class);
+            fail();
+        } catch (CucumberException expected) {
+        }
+    }
+}
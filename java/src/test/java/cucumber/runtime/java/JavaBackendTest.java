@@ -11,6 +11,7 @@ import gherkin.I18n;
 import gherkin.formatter.model.Step;
 import org.junit.Test;
 
+import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
@@ -20,31 +21,37 @@ import static org.junit.Assert.assertEquals;
 
 public class JavaBackendTest {
     @Test
-    public void finds_step_definitions_by_classpath_url() {
+    public void finds_step_definitions_by_classpath_url() throws IOException {
         ObjectFactory factory = new DefaultJavaObjectFactory();
         JavaBackend backend = new JavaBackend(factory);
         GlueStub glue = new GlueStub();
         backend.loadGlue(glue, asList("classpath:cucumber/runtime/java/stepdefs"));
         backend.buildWorld();
         assertEquals(Stepdefs.class, factory.getInstance(Stepdefs.class).getClass());
+        backend.close();
     }
 
     @Test
-    public void finds_step_definitions_by_package_name() {
+    public void finds_step_definitions_by_package_name() throws IOException {
         ObjectFactory factory = new DefaultJavaObjectFactory();
         JavaBackend backend = new JavaBackend(factory);
         GlueStub glue = new GlueStub();
         backend.loadGlue(glue, asList("cucumber.runtime.java.stepdefs"));
         backend.buildWorld();
         assertEquals(Stepdefs.class, factory.getInstance(Stepdefs.class).getClass());
+        backend.close();
     }
 
     @Test(expected = CucumberException.class)
-    public void detects_subclassed_glue_and_throws_exception() {
+    public void detects_subclassed_glue_and_throws_exception() throws IOException {
         ObjectFactory factory = new DefaultJavaObjectFactory();
         JavaBackend backend = new JavaBackend(factory);
         GlueStub glue = new GlueStub();
-        backend.loadGlue(glue, asList("cucumber.runtime.java.stepdefs", "cucumber.runtime.java.incorrectlysubclassedstepdefs"));
+        try {
+            backend.loadGlue(glue, asList("cucumber.runtime.java.stepdefs", "cucumber.runtime.java.incorrectlysubclassedstepdefs"));
+        } finally {
+            backend.close();
+        }
     }
 
     private class GlueStub implements Glue {
@@ -0,0 +1,25 @@
+package cucumber.runtime.java.indexed;
+
+import cucumber.api.Scenario;
+import cucumber.api.java.Before;
+import cucumber.api.java.en.Given;
+
+public class IndexedStepdefs {
+    @Given("^I have (\\d+) cukes\\t in my belly$")
+    public void I_have_cukes_in_my_belly(int cukes) {
+    }
+
+    @Before(value = {"@foo", "~@bar"}, order = 5, timeout = 100)
+    public void before(Scenario scenario) {
+    }
+
+    @Given("^I am not public$")
+    void I_am_not_public() {
+    }
+
+    public class Inner {
+        @Given("^I can't be instantiated$")
+        public void I_cant_be_instantiated() {
+        }
+    }
+}
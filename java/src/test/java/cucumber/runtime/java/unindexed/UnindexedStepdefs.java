@@ -0,0 +1,9 @@
+package cucumber.runtime.java.unindexed;
+
+import cucumber.api.java.en.Given;
+
+public class UnindexedStepdefs {
+    @Given("^I have no index$")
+    public void I_have_no_index() {
+    }
+}
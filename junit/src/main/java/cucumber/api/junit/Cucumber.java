@@ -7,7 +7,6 @@ import cucumber.runtime.Runtime;
 import cucumber.runtime.RuntimeOptions;
 import cucumber.runtime.RuntimeOptionsFactory;
 import cucumber.runtime.io.MultiLoader;
-import cucumber.runtime.io.ResourceLoader;
 import cucumber.runtime.io.ResourceLoaderClassFinder;
 import cucumber.runtime.junit.Assertions;
 import cucumber.runtime.junit.FeatureRunner;
@@ -41,6 +40,7 @@ public class Cucumber extends ParentRunner<FeatureRunner> {
     private final JUnitReporter jUnitReporter;
     private final List<FeatureRunner> children = new ArrayList<FeatureRunner>();
     private final Runtime runtime;
+    private final MultiLoader resourceLoader;
 
     /**
      * Constructor called by JUnit.
@@ -58,7 +58,7 @@ public class Cucumber extends ParentRunner<FeatureRunner> {
         RuntimeOptionsFactory runtimeOptionsFactory = new RuntimeOptionsFactory(clazz, new Class[]{CucumberOptions.class, Options.class});
         RuntimeOptions runtimeOptions = runtimeOptionsFactory.create();
 
-        ResourceLoader resourceLoader = new MultiLoader(classLoader);
+        resourceLoader = new MultiLoader(classLoader);
         ClassFinder classFinder = new ResourceLoaderClassFinder(resourceLoader, classLoader);
         runtime = new Runtime(resourceLoader, classFinder, classLoader, runtimeOptions);
 
@@ -88,6 +88,10 @@ public class Cucumber extends ParentRunner<FeatureRunner> {
         jUnitReporter.done();
         jUnitReporter.close();
         runtime.printSummary();
+        try {
+            resourceLoader.close();
+        } catch (IOException ignore) {
+        }
     }
 
     private void addChildren(List<CucumberFeature> cucumberFeatures) throws InitializationError {
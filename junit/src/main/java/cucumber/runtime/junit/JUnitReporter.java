@@ -1,6 +1,8 @@
 package cucumber.runtime.junit;
 
 import cucumber.api.PendingException;
+import cucumber.runtime.formatter.Embeddings;
+import cucumber.runtime.formatter.FileEmbeddingReporter;
 import gherkin.formatter.Formatter;
 import gherkin.formatter.Reporter;
 import gherkin.formatter.model.Background;
@@ -14,12 +16,13 @@ import org.junit.internal.runners.model.EachTestNotifier;
 import org.junit.runner.Description;
 import org.junit.runner.notification.RunNotifier;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 
 import static cucumber.runtime.Runtime.isPending;
 
-public class JUnitReporter implements Reporter, Formatter {
+public class JUnitReporter implements FileEmbeddingReporter, Formatter {
     private final List<Step> steps = new ArrayList<Step>();
 
     private final Reporter reporter;
@@ -66,6 +69,11 @@ public class JUnitReporter implements Reporter, Formatter {
         reporter.embedding(mimeType, data);
     }
 
+    @Override
+    public void embedding(String mimeType, File file) {
+        Embeddings.embed(reporter, mimeType, file);
+    }
+
     @Override
     public void write(String text) {
         reporter.write(text);
@@ -6,7 +6,6 @@ import cucumber.runtime.CucumberException;
 import cucumber.runtime.RuntimeOptions;
 import cucumber.runtime.RuntimeOptionsFactory;
 import cucumber.runtime.io.MultiLoader;
-import cucumber.runtime.io.ResourceLoader;
 import cucumber.runtime.io.ResourceLoaderClassFinder;
 
 import java.io.IOException;
@@ -20,6 +19,7 @@ import java.util.List;
 public class TestNGCucumberRunner {
 
     private final cucumber.runtime.Runtime runtime;
+    private final MultiLoader resourceLoader;
 
     /**
      * Bootstrap the cucumber runtime
@@ -28,7 +28,7 @@ public class TestNGCucumberRunner {
      */
     public TestNGCucumberRunner(Class clazz) {
         ClassLoader classLoader = clazz.getClassLoader();
-        ResourceLoader resourceLoader = new MultiLoader(classLoader);
+        resourceLoader = new MultiLoader(classLoader);
 
         RuntimeOptionsFactory runtimeOptionsFactory = new RuntimeOptionsFactory(clazz, new Class[]{CucumberOptions.class});
         RuntimeOptions runtimeOptions = runtimeOptionsFactory.create();
@@ -49,7 +49,11 @@ public class TestNGCucumberRunner {
      */
     public void runCukes() {
         try {
-            runtime.run();
+            try {
+                runtime.run();
+            } finally {
+                resourceLoader.close();
+            }
         } catch (IOException ex) {
             throw new RuntimeException(ex);
         }